@@ -0,0 +1,32 @@
+package localsearching.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Entry point of {@code benchmarks.jar}.  Accepts the usual JMH command line (e.g. a benchmark regex,
+ *      {@code -p cityCount=1000}, {@code -prof jfr}) and always attaches the GC profiler, whose
+ *      {@code gc.alloc.rate.norm} column is the number of bytes allocated per benchmark operation.
+ *
+ **/
+
+public class BenchmarkRunner {
+
+    /** seed shared by every benchmark so all of them measure the same graphs and tours. */
+    static final long SEED = 20190415L;
+
+    public static void main(String[] args) throws Exception
+    {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,68 @@
+package localsearching.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import localsearching.City;
+import localsearching.CostGraph;
+import localsearching.CostGraphGenerator;
+import localsearching.SearchRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Benchmarks the per-move {@code City} operations the searches call in their inner loops.
+ *
+ **/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CityBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int cityCount;
+
+    City city;
+    int[] startingTour;
+
+    @Setup
+    public void createCity()
+    {
+        CostGraph graph = new CostGraphGenerator(BenchmarkRunner.SEED).generate(cityCount);
+        city = new City(graph, new SearchRandom(BenchmarkRunner.SEED));
+        startingTour = city.getStartingTourArrangement();
+    }
+
+    @Benchmark
+    public int calculateTourCost()
+    {
+        return city.calculateTourCost(startingTour);
+    }
+
+    @Benchmark
+    public int[] citySwap()
+    {
+        return city.citySwap(1, cityCount - 1);
+    }
+
+    @Benchmark
+    public int[] randomCitySwap()
+    {
+        return city.randomCitySwap();
+    }
+}
@@ -0,0 +1,60 @@
+package localsearching.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import localsearching.CostDistribution;
+import localsearching.CostGraph;
+import localsearching.CostGraphGenerator;
+import localsearching.MatrixLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Benchmarks filling a whole random graph with {@code CostGraphGenerator}, per distribution and layout.
+ *
+ **/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class GraphGenerationBenchmark {
+
+    @Param({"1000", "5000"})
+    int cityCount;
+
+    @Param({"UNIFORM", "CLUSTERED", "NEAR_SYMMETRIC"})
+    CostDistribution distribution;
+
+    @Param({"FLAT_INT", "FLAT_SHORT"})
+    MatrixLayout layout;
+
+    CostGraphGenerator generator;
+
+    @Setup
+    public void createGenerator()
+    {
+        generator = new CostGraphGenerator(BenchmarkRunner.SEED);
+        generator.setDistribution(distribution);
+    }
+
+    @Benchmark
+    public CostGraph generate()
+    {
+        return generator.generate(cityCount, layout);
+    }
+}
@@ -0,0 +1,71 @@
+package localsearching.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import localsearching.City;
+import localsearching.CostGraph;
+import localsearching.CostGraphGenerator;
+import localsearching.DescentStrategy;
+import localsearching.HillClimbing;
+import localsearching.SearchRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Benchmarks one {@code HillClimbing.getBestCostTour} sweep of the pairwise swap neighbourhood, followed by the
+ *      random restart that precedes the next sweep.  The full descents are benchmarked with
+ *      {@code -p strategy=FIRST_IMPROVEMENT} or {@code -p strategy=STEEPEST_DESCENT}, optionally with
+ *      {@code -p dontLookBits=true}; a descent from a random 10000 city tour takes minutes, so restrict
+ *      {@code cityCount} with them.
+ *
+ **/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HillClimbingBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int cityCount;
+
+    @Param({"SINGLE_PASS"})
+    DescentStrategy strategy;
+
+    @Param({"false"})
+    boolean dontLookBits;
+
+    City city;
+    HillClimbing search;
+
+    @Setup
+    public void createSearch()
+    {
+        CostGraph graph = new CostGraphGenerator(BenchmarkRunner.SEED).generate(cityCount);
+        city = new City(graph, new SearchRandom(BenchmarkRunner.SEED));
+        search = new HillClimbing(city);
+        search.setDescentStrategy(strategy);
+        search.setDontLookBits(dontLookBits);
+    }
+
+    @Benchmark
+    public void getBestCostTour()
+    {
+        search.getBestCostTour(city);
+        city.generateRandomRestartTour();
+    }
+}
@@ -0,0 +1,101 @@
+package localsearching.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import localsearching.CostGraph;
+import localsearching.CostGraphFile;
+import localsearching.CostGraphGenerator;
+import localsearching.MatrixLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Benchmarks opening the same instance from a binary graph file, by mapping it, and from a TSPLIB
+ *      {@code .atsp} file, by parsing it; the mapped graph is priced with one tour so its pages are actually read.
+ *
+ **/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class InstanceLoadBenchmark {
+
+    @Param({"1000", "5000"})
+    int cityCount;
+
+    Path binary;
+    Path atsp;
+    int[] tour;
+
+    @Setup(Level.Trial)
+    public void writeInstances() throws IOException
+    {
+        CostGraph graph = new CostGraphGenerator(BenchmarkRunner.SEED).generate(cityCount);
+        binary = Files.createTempFile("instance", ".lscg");
+        atsp = Files.createTempFile("instance", ".atsp");
+        CostGraphFile.write(graph, binary);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(atsp)))
+        {
+            out.println("NAME: benchmark");
+            out.println("TYPE: ATSP");
+            out.println("DIMENSION: " + cityCount);
+            out.println("EDGE_WEIGHT_TYPE: EXPLICIT");
+            out.println("EDGE_WEIGHT_FORMAT: FULL_MATRIX");
+            out.println("EDGE_WEIGHT_SECTION");
+            for (int from = 0; from < cityCount; from++)
+            {
+                for (int to = 0; to < cityCount; to++)
+                {
+                    out.print(from == to ? 9999999 : graph.getCost(from, to));
+                    out.print(to + 1 < cityCount ? ' ' : '\n');
+                }
+            }
+            out.println("EOF");
+        }
+        tour = new int[cityCount];
+        for (int i = 0; i < cityCount; i++)
+        {
+            tour[i] = i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteInstances() throws IOException
+    {
+        Files.deleteIfExists(binary);
+        Files.deleteIfExists(atsp);
+    }
+
+    @Benchmark
+    public int mapBinary() throws IOException
+    {
+        return CostGraphFile.map(binary).calculateTourCost(tour);
+    }
+
+    @Benchmark
+    public int readAtsp() throws IOException
+    {
+        return CostGraphFile.readAtsp(atsp, MatrixLayout.FLAT_INT).calculateTourCost(tour);
+    }
+}
@@ -0,0 +1,56 @@
+package localsearching.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import localsearching.City;
+import localsearching.CostGraph;
+import localsearching.CostGraphGenerator;
+import localsearching.SearchRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Benchmarks building the pairwise swap move set.  At 10k cities one move set is ~50 million
+ *      {@code int[2]} pairs (well over 1GB), so the fork is given a larger heap than the other benchmarks.
+ *
+ **/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MoveSetBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int cityCount;
+
+    City city;
+
+    @Setup
+    public void createCity()
+    {
+        CostGraph graph = new CostGraphGenerator(BenchmarkRunner.SEED).generate(cityCount);
+        city = new City(graph, new SearchRandom(BenchmarkRunner.SEED));
+    }
+
+    @Benchmark
+    public ArrayList<int[]> generateHillClimbingMoveSet()
+    {
+        return city.generateHillClimbingMoveSet();
+    }
+}
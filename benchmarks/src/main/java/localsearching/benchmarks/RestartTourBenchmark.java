@@ -0,0 +1,61 @@
+package localsearching.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import localsearching.City;
+import localsearching.CostGraph;
+import localsearching.CostGraphGenerator;
+import localsearching.SearchRandom;
+import localsearching.StartMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Benchmarks {@code City.generateRandomRestartTour} for each {@code StartMode}.  The graph's candidate lists
+ *      are built during setup, as they would be by the first construction of a search.
+ *
+ **/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestartTourBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int cityCount;
+
+    @Param({"RANDOM", "NEAREST_NEIGHBOUR", "GREEDY_EDGE", "RANDOMIZED_NEAREST_NEIGHBOUR"})
+    StartMode restartMode;
+
+    City city;
+
+    @Setup
+    public void createCity()
+    {
+        CostGraph graph = new CostGraphGenerator(BenchmarkRunner.SEED).generate(cityCount);
+        city = new City(graph, new SearchRandom(BenchmarkRunner.SEED), restartMode);
+        city.setRestartMode(restartMode);
+    }
+
+    @Benchmark
+    public int generateRestartTour()
+    {
+        city.generateRandomRestartTour();
+        return city.getRestartedTourCost();
+    }
+}
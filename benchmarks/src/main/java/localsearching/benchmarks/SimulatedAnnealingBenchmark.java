@@ -0,0 +1,65 @@
+package localsearching.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import localsearching.City;
+import localsearching.CostGraph;
+import localsearching.CostGraphGenerator;
+import localsearching.SearchRandom;
+import localsearching.SimulatedAnnealing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Benchmarks a complete {@code SimulatedAnnealing.runAnnealingSearch} run from a fresh random starting tour.
+ *      A new search is created per invocation so the recorded runs do not pile up across invocations.
+ *
+ **/
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulatedAnnealingBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int cityCount;
+
+    City city;
+    SimulatedAnnealing search;
+
+    @Setup
+    public void createCity()
+    {
+        CostGraph graph = new CostGraphGenerator(BenchmarkRunner.SEED).generate(cityCount);
+        city = new City(graph, new SearchRandom(BenchmarkRunner.SEED));
+    }
+
+    @Setup(Level.Invocation)
+    public void createSearch()
+    {
+        city.generateRandomStartingTour();
+        search = new SimulatedAnnealing(city);
+    }
+
+    @Benchmark
+    public void runAnnealingSearch()
+    {
+        search.runAnnealingSearch();
+    }
+}
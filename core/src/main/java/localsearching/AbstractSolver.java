@@ -0,0 +1,142 @@
+package localsearching;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The shared machinery of the {@code Solver}s.  The search calls back into its solver: {@code bestImproved}
+ *      whenever its best tour improves, and {@code shouldStop} periodically, which is where the budget, cancellation,
+ *      target cost and the progress listener are checked with a single clock read.  Snapshots of the best tour are
+ *      published at most once per {@code SNAPSHOT_INTERVAL_NANOS}; a later improvement is published at the next check,
+ *      by copying the search's best tour buffer, which always holds the latest best, so {@code getBestSoFar} is never
+ *      more than one check behind.
+ *
+ **/
+
+public abstract class AbstractSolver implements Solver
+{
+    static final long SNAPSHOT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private volatile Solution bestSoFar;
+    private volatile boolean cancelled;
+    private ProgressListener listener;
+    private long progressIntervalNanos;
+    private int targetCost = Integer.MIN_VALUE;
+    private boolean targetReached;
+
+    private SearchBudget budget;
+    private long startNanos;
+    private long nextProgressNanos;
+    private long lastSnapshotNanos;
+    private int[] pendingTour;          //the search's best tour buffer when an improvement is not yet published
+    private int pendingCost;
+    private long pendingIteration;
+
+    public final Solution solve(CostGraph graph, SearchBudget budget)
+    {
+        this.budget = budget;
+        startNanos = System.nanoTime();
+        nextProgressNanos = progressIntervalNanos;
+        lastSnapshotNanos = Long.MIN_VALUE / 2;
+        pendingTour = null;
+        bestSoFar = null;
+        targetReached = false;
+
+        search(graph);
+
+        publishPending();
+        return bestSoFar;
+    }
+
+    /**
+     * Runs the search on {@code graph}, calling {@code bestImproved} and {@code shouldStop} as it goes.
+     * @param graph the {@code CostGraph} to tour.
+     */
+    protected abstract void search(CostGraph graph);
+
+    /**
+     * Tells the solver the search's best tour improved.
+     * @param bestTour the search's best tour buffer, now holding the new best tour
+     * @param cost the {@code int} cost of {@code bestTour}
+     * @param iteration the {@code long} move at which it was found.
+     */
+    void bestImproved(int[] bestTour, int cost, long iteration)
+    {
+        pendingTour = bestTour;
+        pendingCost = cost;
+        pendingIteration = iteration;
+        if (cost <= targetCost)
+        {
+            targetReached = true;
+        }
+        if (System.nanoTime() - startNanos - lastSnapshotNanos >= SNAPSHOT_INTERVAL_NANOS)
+        {
+            publishPending();
+        }
+    }
+
+    /**
+     * Publishes any pending improvement, calls the progress listener if it is due, and checks the budget.
+     * @param iterations the {@code long} number of moves evaluated so far
+     * @param iterationsSinceImprovement the {@code long} number of those since the best tour last improved
+     * @return whether the search should stop now.
+     */
+    boolean shouldStop(long iterations, long iterationsSinceImprovement)
+    {
+        if (cancelled || targetReached)
+        {
+            return true;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        publishPending();
+        if (listener != null && elapsedNanos >= nextProgressNanos)
+        {
+            listener.progress(bestSoFar, iterations, elapsedNanos);
+            nextProgressNanos = elapsedNanos + progressIntervalNanos;
+        }
+        return budget.isExhaustedAfter(iterations, iterationsSinceImprovement, elapsedNanos);
+    }
+
+    private void publishPending()
+    {
+        if (pendingTour != null)
+        {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            bestSoFar = new Solution(PackedTour.of(pendingTour), pendingCost, pendingIteration, elapsedNanos);
+            lastSnapshotNanos = elapsedNanos;
+            pendingTour = null;
+        }
+    }
+
+    public Solution getBestSoFar()
+    {
+        return bestSoFar;
+    }
+
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    /**
+     * @param cost the {@code int} best cost at which a solve stops, checked with the budget, e.g.
+     *             {@code LowerBound.targetCost(LowerBound.assignment(graph), 0.01)} to stop within 1% of optimal.
+     */
+    public void setTargetCost(int cost)
+    {
+        targetCost = cost;
+    }
+
+    public void setProgressListener(ProgressListener progressListener, long interval, TimeUnit unit)
+    {
+        listener = progressListener;
+        progressIntervalNanos = unit.toNanos(interval);
+    }
+}
@@ -0,0 +1,102 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Steers the temperature so that the fraction of worsening moves accepted follows a target that decays
+ *      geometrically from {@code initialAcceptanceRate} towards zero.  After every window of moves the observed
+ *      acceptance rate is compared with the target and the temperature is nudged down (too many accepted) or up
+ *      (too few); the schedule freezes once the target drops below {@code finalAcceptanceRate}.
+ *
+ **/
+
+public class AdaptiveCoolingSchedule implements CoolingSchedule {
+
+    private static final double COOLING_FACTOR = 0.9;
+    private static final double HEATING_FACTOR = 1.05;
+
+    private final double initialTemperature;
+    private final double initialAcceptanceRate;
+    private final double finalAcceptanceRate;
+    private final double targetDecay;
+    private final int windowSize;
+
+    private double temperature;
+    private double targetAcceptanceRate;
+    private int movesInWindow = 0;
+    private int worseningInWindow = 0;
+    private int acceptedWorseningInWindow = 0;
+
+    /**
+     * @param initialTemperature the {@code double} starting temperature
+     * @param initialAcceptanceRate the {@code double} fraction of worsening moves to accept at first, e.g. 0.5
+     * @param finalAcceptanceRate the {@code double} target fraction at which the schedule freezes, e.g. 0.001
+     * @param targetDecay the {@code double} factor the target is multiplied by after every window, e.g. 0.95
+     * @param windowSize the {@code int} number of moves between temperature adjustments.
+     */
+    public AdaptiveCoolingSchedule(double initialTemperature, double initialAcceptanceRate,
+                                   double finalAcceptanceRate, double targetDecay, int windowSize)
+    {
+        if (targetDecay <= 0 || targetDecay >= 1)
+        {
+            throw new IllegalArgumentException("targetDecay must be between 0 and 1: " + targetDecay);
+        }
+        this.initialTemperature = initialTemperature;
+        this.initialAcceptanceRate = initialAcceptanceRate;
+        this.finalAcceptanceRate = finalAcceptanceRate;
+        this.targetDecay = targetDecay;
+        this.windowSize = Math.max(1, windowSize);
+        reset();
+    }
+
+    public double getTemperature()
+    {
+        return temperature;
+    }
+
+    public void update(boolean worsening, boolean accepted)
+    {
+        if (worsening)
+        {
+            worseningInWindow++;
+            if (accepted)
+            {
+                acceptedWorseningInWindow++;
+            }
+        }
+
+        if (++movesInWindow == windowSize)
+        {
+            if (worseningInWindow > 0)
+            {
+                double acceptanceRate = (double) acceptedWorseningInWindow / worseningInWindow;
+                temperature *= acceptanceRate > targetAcceptanceRate ? COOLING_FACTOR : HEATING_FACTOR;
+            }
+            targetAcceptanceRate *= targetDecay;
+            movesInWindow = 0;
+            worseningInWindow = 0;
+            acceptedWorseningInWindow = 0;
+        }
+    }
+
+    public boolean isFrozen()
+    {
+        return targetAcceptanceRate < finalAcceptanceRate;
+    }
+
+    public void reset()
+    {
+        temperature = initialTemperature;
+        targetAcceptanceRate = initialAcceptanceRate;
+        movesInWindow = 0;
+        worseningInWindow = 0;
+        acceptedWorseningInWindow = 0;
+    }
+
+    public String toString()
+    {
+        return String.format("Adaptive T0=%.2f acceptance %.3f -> %.4f", initialTemperature, initialAcceptanceRate,
+                finalAcceptanceRate);
+    }
+}
@@ -0,0 +1,73 @@
+package localsearching;
+
+import java.util.function.Supplier;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Simulated Annealing as a {@code Solver}: one annealing run that ends when the budget is used up, the solver
+ *      is cancelled, or the cooling schedule freezes, so an anytime caller wants a schedule that cools slowly enough
+ *      for its budget.  Each solve anneals a new {@code City} over the given graph, with a fresh cooling schedule and
+ *      its own random stream split from the solver's seed.
+ *
+ **/
+
+public class AnnealingSolver extends AbstractSolver
+{
+    private final SearchRandom seedSource;
+    private Supplier<CoolingSchedule> schedules = () -> new StepCoolingSchedule(20);
+    private MoveGenerator moveGenerator = new SwapMoveGenerator();
+    private StartMode startMode = StartMode.RANDOM;
+    private Results recorder;
+
+    /**
+     * @param seed the {@code long} seed the random stream of every solve is split from.
+     */
+    public AnnealingSolver(long seed)
+    {
+        seedSource = new SearchRandom(seed);
+    }
+
+    protected void search(CostGraph graph)
+    {
+        SimulatedAnnealing search = new SimulatedAnnealing(new City(graph, seedSource.split(), startMode));
+        search.setCoolingSchedule(schedules.get());
+        search.setMoveGenerator(moveGenerator.copy());
+        recorder = search.getRecorder();
+        search.solveWith(this);
+    }
+
+    /**
+     * @param newSchedules the {@code Supplier} of the {@code CoolingSchedule} each solve cools with; schedules keep
+     *                     state, so it should return a new one every time.
+     */
+    public void setCoolingSchedules(Supplier<CoolingSchedule> newSchedules)
+    {
+        schedules = newSchedules;
+    }
+
+    /**
+     * @param generator the {@code MoveGenerator} each solve copies and draws random moves from.
+     */
+    public void setMoveGenerator(MoveGenerator generator)
+    {
+        moveGenerator = generator;
+    }
+
+    /**
+     * @param mode the {@code StartMode} the starting tour of each solve is built with.
+     */
+    public void setStartMode(StartMode mode)
+    {
+        startMode = mode;
+    }
+
+    /**
+     * @return the {@code Results} holding the {@code RunRecord} of the last solve, or {@code null} before the first.
+     */
+    public Results getRecorder()
+    {
+        return recorder;
+    }
+}
@@ -0,0 +1,36 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      {@code CostMatrix} stored as an {@code int[][]}, one array per row.
+ *
+ **/
+
+public final class ArrayCostMatrix implements CostMatrix {
+
+    private final int numOfCities;
+    private final int[][] cityCostGraph;
+
+    public ArrayCostMatrix(int cityNumber)
+    {
+        numOfCities = cityNumber;
+        cityCostGraph = new int[cityNumber][cityNumber];
+    }
+
+    public int getCityNumber()
+    {
+        return numOfCities;
+    }
+
+    public int getCost(int fromCity, int toCity)
+    {
+        return cityCostGraph[fromCity][toCity];
+    }
+
+    public void setCost(int fromCity, int toCity, int cost)
+    {
+        cityCostGraph[fromCity][toCity] = cost;
+    }
+}
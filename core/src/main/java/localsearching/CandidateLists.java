@@ -0,0 +1,129 @@
+package localsearching;
+
+import java.util.stream.IntStream;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The k-nearest candidate lists of a {@code CostGraph}: for every city, its k cheapest outgoing successors and
+ *      its k cheapest incoming predecessors, cheapest first (ties go to the lower city number).  The lists are two
+ *      flat {@code int[]} of N*k cities, so the index costs 8*N*k bytes however the matrix itself is stored, and
+ *      restricting a neighbourhood to them cuts it from O(N^2) moves to O(N*k).  Instances are immutable; get them
+ *      from {@code CostGraph.getCandidateLists} so each graph builds its lists once.
+ *
+ **/
+
+public final class CandidateLists
+{
+    private final int numOfCities;
+    private final int neighbourCount;
+    private final int[] outgoing;       //outgoing[city * k + i] is the i-th cheapest city to travel to from city
+    private final int[] incoming;       //incoming[city * k + i] is the i-th cheapest city to travel from to city
+
+    /**
+     * Builds the lists of every city in parallel on the common {@code ForkJoinPool}; each city's lists take one
+     * O(N*k) pass over its row and column of the matrix, or, for a {@code CoordinateCostMatrix}, a search of its
+     * {@code SpatialGrid} around the city.
+     * @param graph the {@code CostGraph} to index
+     * @param neighbourCount the {@code int} k of cities kept per list; capped at N - 1.
+     */
+    CandidateLists(CostGraph graph, int neighbourCount)
+    {
+        if (neighbourCount < 1)
+        {
+            throw new IllegalArgumentException("neighbourCount must be at least 1: " + neighbourCount);
+        }
+        numOfCities = graph.getCityNumber();
+        this.neighbourCount = Math.min(neighbourCount, Math.max(1, numOfCities - 1));
+        outgoing = new int[numOfCities * this.neighbourCount];
+        incoming = new int[numOfCities * this.neighbourCount];
+
+        if (graph.getCostMatrix() instanceof CoordinateCostMatrix coordinates)
+        {
+            IntStream.range(0, numOfCities).parallel().forEach(city ->
+            {
+                int[] list = new int[this.neighbourCount];
+                int[] costs = new int[this.neighbourCount];
+                coordinates.nearest(city, true, list, costs);
+                System.arraycopy(list, 0, outgoing, city * this.neighbourCount, this.neighbourCount);
+                coordinates.nearest(city, false, list, costs);
+                System.arraycopy(list, 0, incoming, city * this.neighbourCount, this.neighbourCount);
+            });
+            return;
+        }
+        IntStream.range(0, numOfCities).parallel().forEach(city ->
+        {
+            int[] costs = new int[this.neighbourCount];
+            selectNearest(graph, city, true, costs);
+            selectNearest(graph, city, false, costs);
+        });
+    }
+
+    /**
+     * Fills {@code city}'s outgoing or incoming list by insertion into the sorted list of the k cheapest cities
+     * seen so far.
+     * @param costs an {@code int[]} of k elements to hold the costs of the listed cities.
+     */
+    private void selectNearest(CostGraph graph, int city, boolean outgoingList, int[] costs)
+    {
+        int[] list = outgoingList ? outgoing : incoming;
+        int offset = city * neighbourCount;
+        int size = 0;
+        for (int other = 0; other < numOfCities; other++)
+        {
+            if (other == city)
+            {
+                continue;
+            }
+            int cost = outgoingList ? graph.getCost(city, other) : graph.getCost(other, city);
+            if (size == neighbourCount && cost >= costs[size - 1])
+            {
+                continue;
+            }
+
+            int i = size < neighbourCount ? size++ : size - 1;
+            while (i > 0 && costs[i - 1] > cost)
+            {
+                costs[i] = costs[i - 1];
+                list[offset + i] = list[offset + i - 1];
+                i--;
+            }
+            costs[i] = cost;
+            list[offset + i] = other;
+        }
+    }
+
+    /**
+     * @return the {@code int} number of cities in each list, k.
+     */
+    public int getNeighbourCount()
+    {
+        return neighbourCount;
+    }
+
+    /**
+     * @param city the {@code int} city travelled from
+     * @param rank the {@code int} position in the list, 0 being the cheapest
+     * @return the {@code int} city that is the {@code rank}-th cheapest to travel to from {@code city}.
+     */
+    public int outgoing(int city, int rank)
+    {
+        return outgoing[city * neighbourCount + rank];
+    }
+
+    /**
+     * @param city the {@code int} city travelled to
+     * @param rank the {@code int} position in the list, 0 being the cheapest
+     * @return the {@code int} city that is the {@code rank}-th cheapest to travel from to {@code city}.
+     */
+    public int incoming(int city, int rank)
+    {
+        return incoming[city * neighbourCount + rank];
+    }
+
+    public String toString()
+    {
+        return neighbourCount + " nearest candidates";
+    }
+}
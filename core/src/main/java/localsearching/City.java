@@ -0,0 +1,409 @@
+package localsearching;
+
+import java.util.ArrayList;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      {@code City} holds a reference to a shared {@code CostGraph} as well as the mutable tours of one search,
+ *      and contains all methods for creating and manipulating the cities of a random search tour.
+ *
+ **/
+
+public class City {
+
+    private final CostGraph costGraph;
+    private final int numOfCities;
+    private int[] startingTourArrangement;
+    private int[] currentTourArrangement;
+    private int[] restartedTourArrangement;
+    private int currentTourCost;
+    private int restartedTourCost;
+    private SearchRandom random;
+    private StartMode restartMode = StartMode.RANDOM;
+    private TourConstruction construction;          //created on first use; holds scratch arrays
+    private int lastSwapA;
+    private int lastSwapB;
+    private int lastSwapDelta;
+
+
+    private int[] bestTourArrangement;
+    private int bestCost;
+
+    /**
+     * Creates a new random {@code CostGraph} for N cities (see {@code CostGraph(int)}) and a random starting tour
+     * over it.
+     * @param cityNumber an {@code int} that determines how large the graph is.
+     */
+    public City(int cityNumber)
+    {
+        this(new CostGraph(cityNumber));
+    }
+
+    /**
+     * Creates a new set of tours, starting from a random starting tour, over an existing {@code CostGraph}.  Each
+     * search should own its {@code City}; the graph itself may be shared by as many of them as needed.
+     * @param graph the shared {@code CostGraph} to tour.
+     */
+    public City(CostGraph graph)
+    {
+        this(graph, new SearchRandom());
+    }
+
+    /**
+     * Creates a new set of tours over an existing {@code CostGraph}, as {@code City(CostGraph)}, drawing the starting
+     * tour and everything random afterwards from {@code random} so that a seeded search can be repeated exactly.
+     * @param graph the shared {@code CostGraph} to tour
+     * @param random the {@code SearchRandom} this search draws from.
+     */
+    public City(CostGraph graph, SearchRandom random)
+    {
+        this(graph, random, StartMode.RANDOM);
+    }
+
+    /**
+     * Creates a new set of tours over an existing {@code CostGraph}, as {@code City(CostGraph, SearchRandom)}, with
+     * the starting tour built by {@code startMode}.
+     * @param graph the shared {@code CostGraph} to tour
+     * @param random the {@code SearchRandom} this search draws from
+     * @param startMode the {@code StartMode} the starting tour is built with.
+     */
+    public City(CostGraph graph, SearchRandom random, StartMode startMode)
+    {
+        costGraph = graph;
+        numOfCities = graph.getCityNumber();
+        this.random = random;
+        generateStartingTour(startMode);
+    }
+
+    /**
+     * Creates a second, independent set of tours over the same cost graph as {@code source}, starting from the same
+     * starting tour.  The immutable {@code CostGraph} is shared rather than copied; only the tour arrangements and a
+     * random stream split from {@code source} are private to the new {@code City}, which lets separate threads search
+     * the same graph.
+     * @param source the {@code City} whose cost graph and starting tour are reused.
+     */
+    public City(City source)
+    {
+        this(source, source.random.split());
+    }
+
+    /**
+     * As {@code City(City)}, drawing from {@code random} instead of a stream split from {@code source}, so the
+     * random state of {@code source} is left untouched.
+     * @param source the {@code City} whose cost graph and starting tour are reused
+     * @param random the {@code SearchRandom} the new {@code City} draws from.
+     */
+    public City(City source, SearchRandom random)
+    {
+        costGraph = source.costGraph;
+        numOfCities = source.numOfCities;
+        this.random = random;
+        restartMode = source.restartMode;
+        startingTourArrangement = source.startingTourArrangement.clone();
+        currentTourArrangement = startingTourArrangement.clone();
+        restartedTourArrangement = startingTourArrangement.clone();
+        currentTourCost = calculateTourCost(currentTourArrangement);
+        restartedTourCost = currentTourCost;
+    }
+
+    /**
+     *  Once the {@code City} constructor is called to generate the N-by-N
+     *  city cost graph, an initial random
+     *  search tour is generated as a {@code int[]} of length N.  It then
+     *  initializes {@code currentTourArrangment} and {@code restartedTourArrangement}
+     *  to keep references available for {@code HillClimbing} and {@code SimulatedAnnealing}
+     *  to use.
+     */
+    public void generateRandomStartingTour()
+    {
+        generateStartingTour(StartMode.RANDOM);
+    }
+
+    /**
+     * As {@code generateRandomStartingTour}, with the starting tour built by {@code mode} instead of shuffled.
+     * @param mode the {@code StartMode} to build the starting tour with.
+     */
+    public void generateStartingTour(StartMode mode)
+    {
+        int[] tourArrangement = new int[numOfCities];
+        if (mode == StartMode.RANDOM)
+        {
+            for (int i = 0; i < numOfCities; i++)
+            {
+                tourArrangement[i] = i;
+            }
+            random.shuffle(tourArrangement, 0, numOfCities);
+        }
+        else
+        {
+            getConstruction().build(mode, random, tourArrangement);
+        }
+
+        startingTourArrangement = tourArrangement;
+        currentTourArrangement = startingTourArrangement.clone();   //create separate copy of startingTour so we can manipulate currentTour and then always return to initial conditions
+        restartedTourArrangement = startingTourArrangement.clone();
+        currentTourCost = calculateTourCost(currentTourArrangement);
+        restartedTourCost = currentTourCost;
+    }
+
+
+    /**
+     * The {@code HillClimbing} needs to know what its available move set is for a given city size;
+     * this will go through and generate the possible combination of pairwise city swapping that can occur
+     * (ignoring starting city).
+     * @return an {@code ArrayList} that holds a listing of {@code int[2]} pairs that
+     *          reference the indices of the {@code int[] tour} array that will be swapped.
+     */
+    public ArrayList<int[]> generateHillClimbingMoveSet()
+    {
+
+        ArrayList<int[]> cityPairList = new ArrayList<>();
+
+        for (int first = 1; first < numOfCities; first++)
+        {
+            for (int second = first+1; second < numOfCities; second++)
+            {
+                cityPairList.add(new int[]{first, second});
+            }
+
+        }
+
+        return cityPairList;
+    }
+
+    /**
+     * Randomly rearranges all cities in the tour array except for the starting tour.  The shuffle is done in place
+     * on the existing {@code restartedTourArrangement} buffer so that a restart allocates nothing.  With a
+     * construction {@code StartMode} set by {@code setRestartMode}, the restart tour is built by it instead (from a
+     * random first city, which is how the non-randomized heuristics still vary) and rotated so that the starting
+     * city stays first.
+     */
+    public void generateRandomRestartTour()
+    {
+        if (restartMode == StartMode.RANDOM)
+        {
+            System.arraycopy(startingTourArrangement, 0, restartedTourArrangement, 0, numOfCities);
+            random.shuffle(restartedTourArrangement, 1, numOfCities);       //ignore starting city
+        }
+        else
+        {
+            getConstruction().build(restartMode, random, restartedTourArrangement);
+            TourConstruction.rotateToFront(restartedTourArrangement, startingTourArrangement[0]);
+        }
+
+        restartedTourCost = calculateTourCost(restartedTourArrangement);
+    }
+
+    private TourConstruction getConstruction()
+    {
+        if (construction == null)
+        {
+            construction = new TourConstruction(costGraph);
+        }
+        return construction;
+    }
+
+
+    /**
+     * Randomly swaps two cities in the tour array.  For use in {@code SimulatedAnnealing}
+     * @return an {@code int[]} of the new tour arrangement.
+     */
+    public int[] randomCitySwap()
+    {
+        int cityA = random.nextInt(numOfCities - 1) + 1; //do not allow start city to be swapped.
+        int cityB = random.nextInt(numOfCities - 1) + 1;
+        while(cityB == cityA)
+        {
+            cityB = random.nextInt(numOfCities -1 ) + 1; //make sure different cities are selected.
+        }
+
+        lastSwapA = cityA;
+        lastSwapB = cityB;
+        lastSwapDelta = calculateSwapDelta(currentTourArrangement, cityA, cityB);
+        currentTourCost += lastSwapDelta;
+        int tourTemp = currentTourArrangement[cityA];
+        currentTourArrangement[cityA] = currentTourArrangement[cityB];
+        currentTourArrangement[cityB] = tourTemp;
+
+        return currentTourArrangement;
+    }
+
+    /**
+     * Puts back the two cities swapped by the last {@code randomCitySwap}, restoring the current tour and its cost;
+     * used by {@code SimulatedAnnealing} to reject a move.
+     */
+    public void undoRandomCitySwap()
+    {
+        swapInPlace(currentTourArrangement, lastSwapA, lastSwapB);
+        currentTourCost -= lastSwapDelta;
+    }
+
+    /**
+     * Makes the move selected by {@code move} on the current tour and keeps the running cost up to date.  For use
+     * in {@code SimulatedAnnealing}; the generator must be bound to {@code getCurrentTourArrangement()}.
+     * @param move the {@code MoveGenerator} holding the selected move
+     * @param delta the {@code int} change in cost of the move, as returned by {@code move.delta()} beforehand.
+     */
+    public void applyMove(MoveGenerator move, int delta)
+    {
+        move.apply();
+        currentTourCost += delta;
+    }
+
+    /**
+     * Swaps the two specified cities in the tour array. For use in {@code HillClimbing}
+     * @param cityAIndex the first {@code int} index of the tour array to swap
+     * @param cityBIndex the second {@code int} index of the tour array to swap
+     * @return the {@code int[]} of the swapped tour arrangement.
+     */
+    public int[] citySwap(int cityAIndex, int cityBIndex)
+    {
+
+        //for hill-climbing, we need to reset currentTourArrangement back to a starting point
+        // so that the tour doesn't become jumbled out of order
+        currentTourArrangement = restartedTourArrangement.clone();
+
+        int tourTemp = currentTourArrangement[cityAIndex];
+        currentTourArrangement[cityAIndex] = currentTourArrangement[cityBIndex];
+        currentTourArrangement[cityBIndex] = tourTemp;
+        currentTourCost = restartedTourCost + calculateSwapDelta(restartedTourArrangement, cityAIndex, cityBIndex);
+
+        return currentTourArrangement;
+    }
+
+    /**
+     * Swaps the two specified cities of the given tour array in place; calling it a second time with the same
+     * indices undoes the swap.  Nothing is cloned, so it is safe to use in allocation-free search loops.
+     * @param tour the {@code int[]} tour to modify
+     * @param cityAIndex the first {@code int} index of the tour array to swap
+     * @param cityBIndex the second {@code int} index of the tour array to swap
+     */
+    public static void swapInPlace(int[] tour, int cityAIndex, int cityBIndex)
+    {
+        int tourTemp = tour[cityAIndex];
+        tour[cityAIndex] = tour[cityBIndex];
+        tour[cityBIndex] = tourTemp;
+    }
+
+    /**
+     * Calculates the cost of travelling the given {@code tour}; see {@code CostGraph.calculateTourCost}.
+     * @param tour an {@code int[]} of length N
+     * @return the {@code int} cost of travelling the given {@code tour}.
+     */
+    public int calculateTourCost(int[] tour)
+    {
+        return costGraph.calculateTourCost(tour);
+    }
+
+    /**
+     * Calculates the change in tour cost of swapping two cities; see {@code CostGraph.calculateSwapDelta}.
+     * @param tour an {@code int[]} of length N
+     * @param cityAIndex the first {@code int} index of the tour array to swap
+     * @param cityBIndex the second {@code int} index of the tour array to swap
+     * @return the {@code int} difference between the swapped tour cost and the current tour cost.
+     */
+    public int calculateSwapDelta(int[] tour, int cityAIndex, int cityBIndex)
+    {
+        return costGraph.calculateSwapDelta(tour, cityAIndex, cityBIndex);
+    }
+
+
+    ////---------DISPLAY METHODS------//////////
+
+    public String toString()
+    {
+        return costGraph.toString();
+    }
+
+    public static void printTour(int[] inputTour)
+    {
+        StringBuilder tour = new StringBuilder();
+        for (int i = 0; i < inputTour.length; i++)
+        {
+            tour.append(" " + (inputTour[i] + 1) + " ");      //making sure indices match graph indices
+        }
+        // tour.append("\n");
+        System.out.print(tour.toString());
+    }
+
+    public static String tourToString(int[] inputTour)
+    {
+        StringBuilder tour = new StringBuilder();
+        for (int i = 0; i < inputTour.length; i++)
+        {
+            int tourIndex = inputTour[i] + 1;
+            tour.append(String.format(" %2d ", tourIndex));      //making sure indices match graph indices
+        }
+        return tour.toString();
+    }
+
+
+    ///-------------GETTERS------------///////
+
+    public int getCityNumber()
+    {
+        return numOfCities;
+    }
+
+    public CostGraph getCostGraph()
+    {
+        return costGraph;
+    }
+
+    public int[] getStartingTourArrangement() {
+        return startingTourArrangement;
+    }
+
+    /**
+     * Replaces the random source this {@code City} draws restarts and random swaps from, e.g. with a seeded one or
+     * one split off for a parallel worker.
+     * @param newRandom the {@code SearchRandom} to draw from.
+     */
+    public void setRandom(SearchRandom newRandom) {
+        random = newRandom;
+    }
+
+    /**
+     * @return the {@code SearchRandom} of the search using this {@code City}.
+     */
+    public SearchRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * @param mode the {@code StartMode} that {@code generateRandomRestartTour} builds restart tours with.
+     */
+    public void setRestartMode(StartMode mode) {
+        restartMode = mode;
+    }
+
+    public StartMode getRestartMode() {
+        return restartMode;
+    }
+
+    public int[] getCurrentTourArrangement() {
+        return currentTourArrangement;
+    }
+
+    public int[] getRestartedTourArrangement() {
+        return restartedTourArrangement;
+    }
+
+    /**
+     * @return the running {@code int} cost of {@code currentTourArrangement}, kept up to date by
+     *          {@code randomCitySwap} and {@code citySwap} without re-walking the tour.
+     */
+    public int getCurrentTourCost() {
+        return currentTourCost;
+    }
+
+    /**
+     * @return the {@code int} cost of {@code restartedTourArrangement}, calculated once per restart.
+     */
+    public int getRestartedTourCost() {
+        return restartedTourCost;
+    }
+
+}
@@ -0,0 +1,307 @@
+package localsearching;
+
+import java.io.IOException;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      An anytime-quality curve of one search run: (elapsed nanoseconds, iteration, current cost, best cost) samples
+ *      in four preallocated primitive arrays.  A search offers a sample every iteration, but only one every
+ *      {@code sampleInterval} iterations is taken, so the usual cost in the search loop is one comparison; the clock
+ *      is only read for the samples taken.  When the arrays are full, a ring buffer overwrites the oldest samples,
+ *      while a downsampling trace drops every other sample and doubles its interval, keeping the whole run at a
+ *      resolution that adapts to its length.  The last sample of a run is always recorded by {@code finish}.
+ *      Annealing also samples its accepted move count and temperature, so the acceptance rate between any two
+ *      samples shows how acceptance falls as the schedule cools; searches without them record -1 and NaN.
+ *
+ **/
+
+public final class ConvergenceTrace
+{
+    private final boolean ring;
+    private final long initialInterval;
+    private final long[] elapsedNanos;
+    private final long[] iterations;
+    private final int[] currentCosts;
+    private final int[] bestCosts;
+    private final long[] movesAccepted;
+    private final double[] temperatures;
+
+    private long startNanos;
+    private long sampleInterval;
+    private long nextSample;
+    private int first;                  //index of the oldest sample
+    private int size;
+
+    private ConvergenceTrace(boolean ring, int capacity, long sampleInterval)
+    {
+        if (capacity < 2)
+        {
+            throw new IllegalArgumentException("capacity must be at least 2: " + capacity);
+        }
+        if (sampleInterval < 1)
+        {
+            throw new IllegalArgumentException("sampleInterval must be at least 1: " + sampleInterval);
+        }
+        this.ring = ring;
+        initialInterval = sampleInterval;
+        elapsedNanos = new long[capacity];
+        iterations = new long[capacity];
+        currentCosts = new int[capacity];
+        bestCosts = new int[capacity];
+        movesAccepted = new long[capacity];
+        temperatures = new double[capacity];
+        start(System.nanoTime());
+    }
+
+    /**
+     * @param capacity the {@code int} number of samples kept
+     * @param sampleInterval the {@code long} number of iterations between samples
+     * @return a {@code ConvergenceTrace} that keeps the latest {@code capacity} samples.
+     */
+    public static ConvergenceTrace ringBuffer(int capacity, long sampleInterval)
+    {
+        return new ConvergenceTrace(true, capacity, sampleInterval);
+    }
+
+    /**
+     * @param capacity the {@code int} most samples kept; an even number keeps the halving exact
+     * @return a {@code ConvergenceTrace} that samples every iteration at first and halves its resolution whenever
+     * it fills up.
+     */
+    public static ConvergenceTrace downsampling(int capacity)
+    {
+        return new ConvergenceTrace(false, capacity, 1);
+    }
+
+    /**
+     * Clears the trace for a new run.
+     * @param runStartNanos the {@code long} {@code System.nanoTime} the run started at.
+     */
+    public void start(long runStartNanos)
+    {
+        startNanos = runStartNanos;
+        sampleInterval = initialInterval;
+        nextSample = 0;
+        first = 0;
+        size = 0;
+    }
+
+    /**
+     * Offers the state of the search after {@code iteration}; it is recorded if a sample is due.
+     * @param iteration the {@code long} iteration number, never decreasing within a run
+     * @param currentCost the {@code int} cost of the search's current tour
+     * @param bestCost the {@code int} best cost found so far.
+     */
+    public void sample(long iteration, int currentCost, int bestCost)
+    {
+        sample(iteration, currentCost, bestCost, -1, Double.NaN);
+    }
+
+    /**
+     * As {@code sample}, for a search that also counts accepted moves and has a temperature.
+     * @param accepted the {@code long} number of moves accepted so far
+     * @param temperature the {@code double} current temperature
+     * @return whether a sample was recorded.
+     */
+    public boolean sample(long iteration, int currentCost, int bestCost, long accepted, double temperature)
+    {
+        if (iteration >= nextSample)
+        {
+            record(iteration, currentCost, bestCost, accepted, temperature);
+            nextSample = (iteration / sampleInterval + 1) * sampleInterval;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records the final state of a run, whether or not a sample is due.
+     */
+    public void finish(long iteration, int currentCost, int bestCost)
+    {
+        finish(iteration, currentCost, bestCost, -1, Double.NaN);
+    }
+
+    /**
+     * As {@code finish}, with the accepted move count and temperature of the five-argument {@code sample}.
+     */
+    public void finish(long iteration, int currentCost, int bestCost, long accepted, double temperature)
+    {
+        if (size == 0 || iterations[index(size - 1)] != iteration)
+        {
+            record(iteration, currentCost, bestCost, accepted, temperature);
+        }
+    }
+
+    private void record(long iteration, int currentCost, int bestCost, long accepted, double temperature)
+    {
+        if (size == elapsedNanos.length)
+        {
+            if (ring)
+            {
+                first = (first + 1) % elapsedNanos.length;
+                size--;
+            }
+            else
+            {
+                halve();
+            }
+        }
+        int i = index(size++);
+        elapsedNanos[i] = System.nanoTime() - startNanos;
+        iterations[i] = iteration;
+        currentCosts[i] = currentCost;
+        bestCosts[i] = bestCost;
+        movesAccepted[i] = accepted;
+        temperatures[i] = temperature;
+    }
+
+    /**
+     * Keeps every other sample (a downsampling trace always starts at index 0) and doubles the interval.
+     */
+    private void halve()
+    {
+        int kept = 0;
+        for (int i = 0; i < size; i += 2)
+        {
+            elapsedNanos[kept] = elapsedNanos[i];
+            iterations[kept] = iterations[i];
+            currentCosts[kept] = currentCosts[i];
+            bestCosts[kept] = bestCosts[i];
+            movesAccepted[kept] = movesAccepted[i];
+            temperatures[kept] = temperatures[i];
+            kept++;
+        }
+        size = kept;
+        sampleInterval *= 2;
+    }
+
+    private int index(int sample)
+    {
+        return (first + sample) % elapsedNanos.length;
+    }
+
+    /**
+     * @return a new {@code ConvergenceTrace} holding just this trace's samples, for keeping after the run while this
+     * one is reused for the next.
+     */
+    public ConvergenceTrace copy()
+    {
+        ConvergenceTrace copy = new ConvergenceTrace(ring, Math.max(2, size), initialInterval);
+        for (int i = 0; i < size; i++)
+        {
+            int from = index(i);
+            copy.elapsedNanos[i] = elapsedNanos[from];
+            copy.iterations[i] = iterations[from];
+            copy.currentCosts[i] = currentCosts[from];
+            copy.bestCosts[i] = bestCosts[from];
+            copy.movesAccepted[i] = movesAccepted[from];
+            copy.temperatures[i] = temperatures[from];
+        }
+        copy.size = size;
+        copy.sampleInterval = sampleInterval;
+        return copy;
+    }
+
+    /**
+     * @return the {@code int} number of samples held.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param sample the {@code int} sample, 0 being the oldest held
+     * @return the {@code long} nanoseconds from the start of the run to the sample.
+     */
+    public long getElapsedNanos(int sample)
+    {
+        return elapsedNanos[checkedIndex(sample)];
+    }
+
+    public long getIteration(int sample)
+    {
+        return iterations[checkedIndex(sample)];
+    }
+
+    public int getCurrentCost(int sample)
+    {
+        return currentCosts[checkedIndex(sample)];
+    }
+
+    public int getBestCost(int sample)
+    {
+        return bestCosts[checkedIndex(sample)];
+    }
+
+    /**
+     * @return the {@code long} moves accepted from the start of the run to the sample, or -1 if not counted.
+     */
+    public long getMovesAccepted(int sample)
+    {
+        return movesAccepted[checkedIndex(sample)];
+    }
+
+    /**
+     * @return the {@code double} temperature at the sample, or NaN for a search without one.
+     */
+    public double getTemperature(int sample)
+    {
+        return temperatures[checkedIndex(sample)];
+    }
+
+    /**
+     * @param sample the {@code int} sample, 0 being the oldest held
+     * @return the {@code double} fraction of the moves since the previous sample (since the start of the run for
+     * sample 0) that were accepted, or NaN if accepted moves are not counted.
+     */
+    public double getAcceptanceRate(int sample)
+    {
+        int at = checkedIndex(sample);
+        if (movesAccepted[at] < 0)
+        {
+            return Double.NaN;
+        }
+        long accepted = movesAccepted[at];
+        long moves = iterations[at];
+        if (sample > 0)
+        {
+            int previous = index(sample - 1);
+            accepted -= movesAccepted[previous];
+            moves -= iterations[previous];
+        }
+        return moves == 0 ? 0 : (double) accepted / moves;
+    }
+
+    private int checkedIndex(int sample)
+    {
+        if (sample < 0 || sample >= size)
+        {
+            throw new IndexOutOfBoundsException("sample " + sample + " out of bounds for size " + size);
+        }
+        return index(sample);
+    }
+
+    /**
+     * Appends the samples as CSV lines
+     * {@code prefix,elapsedNanos,iteration,currentCost,bestCost,movesAccepted,temperature}.
+     * @param out the {@code Appendable} to write to
+     * @param prefix the {@code String} leading columns of every line, e.g. the run number.
+     * @throws IOException if {@code out} does.
+     */
+    public void appendCsv(Appendable out, String prefix) throws IOException
+    {
+        for (int i = 0; i < size; i++)
+        {
+            int at = index(i);
+            out.append(prefix).append(',').append(Long.toString(elapsedNanos[at])).append(',')
+                    .append(Long.toString(iterations[at])).append(',').append(Integer.toString(currentCosts[at]))
+                    .append(',').append(Integer.toString(bestCosts[at])).append(',')
+                    .append(Long.toString(movesAccepted[at])).append(',').append(Double.toString(temperatures[at]))
+                    .append('\n');
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      A temperature schedule for {@code SimulatedAnnealing}.  The search asks for the temperature before pricing
+ *      each worsening move and reports the outcome of every evaluated move through {@code update}, so schedules may
+ *      cool by move count, by outcome, or by how often worsening moves are being accepted.
+ *
+ **/
+
+public interface CoolingSchedule {
+
+    /**
+     * @return the current {@code double} temperature; worsening moves are never accepted at or below zero.
+     */
+    double getTemperature();
+
+    /**
+     * Reports the outcome of one evaluated move.
+     * @param worsening {@code true} if the move increased the tour cost
+     * @param accepted {@code true} if the search kept the move.
+     */
+    void update(boolean worsening, boolean accepted);
+
+    /**
+     * @return {@code true} once the schedule has nothing left to offer and the search should stop, regardless of
+     *          any remaining {@code SearchBudget}.
+     */
+    boolean isFrozen();
+
+    /**
+     * Returns the schedule to its initial temperature for a new run.
+     */
+    void reset();
+}
@@ -0,0 +1,167 @@
+package localsearching;
+
+import java.util.SplittableRandom;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      {@code CostMatrix} of cities at points in the plane, whose costs are computed when asked for rather than
+ *      stored: the Euclidean distance rounded to the nearest {@code int}, optionally weighted by direction, as if
+ *      travelling against a wind.  With an asymmetry a and a wind blowing along the unit vector w, the cost from i to
+ *      j is {@code round(d * (1 - a * cos(t)))}, where d is their distance and t the angle between the edge and w;
+ *      travelling with the wind is cheaper than against it.  Only the coordinates are kept, so the matrix takes
+ *      O(N) memory instead of O(N^2) and graphs of a million cities fit easily, e.g.
+ *      {@code new City(new CostGraph(CoordinateCostMatrix.random(1_000_000, seed, 1_000_000)))}.  Anything that
+ *      scans whole rows of the matrix is still O(N^2) time, so {@code CandidateLists} are built from the
+ *      {@code SpatialGrid} of the points instead.  The matrix cannot be modified.
+ *
+ **/
+
+public final class CoordinateCostMatrix implements CostMatrix
+{
+    private final double[] x;
+    private final double[] y;
+    private final double asymmetry;
+    private final double windX;
+    private final double windY;
+    private volatile SpatialGrid grid;
+    private final IntBinaryOperator outgoingCost = this::getCost;   //made once, so grid searches allocate nothing
+    private final IntBinaryOperator incomingCost = (city, other) -> getCost(other, city);
+
+    /**
+     * Symmetric Euclidean costs.
+     * @param x the {@code double[]} x coordinate of every city
+     * @param y the {@code double[]} y coordinate of every city.
+     */
+    public CoordinateCostMatrix(double[] x, double[] y)
+    {
+        this(x, y, 0, 0);
+    }
+
+    /**
+     * Direction-weighted Euclidean costs.  Coordinates should keep every distance well below
+     * {@code Integer.MAX_VALUE}.
+     * @param x the {@code double[]} x coordinate of every city
+     * @param y the {@code double[]} y coordinate of every city
+     * @param asymmetry the {@code double} a, from 0 (symmetric) up to but not including 1
+     * @param windDirection the {@code double} angle of the wind from the x axis, in radians.
+     */
+    public CoordinateCostMatrix(double[] x, double[] y, double asymmetry, double windDirection)
+    {
+        if (x.length != y.length)
+        {
+            throw new IllegalArgumentException("x and y must have the same length: " + x.length + " and " + y.length);
+        }
+        if (!(asymmetry >= 0 && asymmetry < 1))
+        {
+            throw new IllegalArgumentException("asymmetry must be in [0, 1): " + asymmetry);
+        }
+        this.x = x.clone();
+        this.y = y.clone();
+        this.asymmetry = asymmetry;
+        windX = Math.cos(windDirection);
+        windY = Math.sin(windDirection);
+    }
+
+    /**
+     * @param cityNumber the {@code int} number of cities N
+     * @param seed the {@code long} seed the points are drawn from
+     * @param side the {@code double} side of the square the points are uniformly spread over
+     * @return a new symmetric {@code CoordinateCostMatrix} of N random points.
+     */
+    public static CoordinateCostMatrix random(int cityNumber, long seed, double side)
+    {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] x = new double[cityNumber];
+        double[] y = new double[cityNumber];
+        for (int city = 0; city < cityNumber; city++)
+        {
+            x[city] = random.nextDouble() * side;
+            y[city] = random.nextDouble() * side;
+        }
+        return new CoordinateCostMatrix(x, y);
+    }
+
+    public int getCityNumber()
+    {
+        return x.length;
+    }
+
+    public int getCost(int fromCity, int toCity)
+    {
+        if (fromCity == toCity)
+        {
+            return -1;
+        }
+        double dx = x[toCity] - x[fromCity];
+        double dy = y[toCity] - y[fromCity];
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        //d * cos(t) is the projection of the edge on the wind
+        return (int) Math.round(distance - asymmetry * (dx * windX + dy * windY));
+    }
+
+    /**
+     * @throws UnsupportedOperationException always; the costs come from the coordinates.
+     */
+    public void setCost(int fromCity, int toCity, int cost)
+    {
+        throw new UnsupportedOperationException(
+                "the costs of a CoordinateCostMatrix are computed from its coordinates");
+    }
+
+    /**
+     * @return the {@code SpatialGrid} of the cities, built on first use.
+     */
+    public SpatialGrid getSpatialGrid()
+    {
+        SpatialGrid index = grid;
+        if (index == null)
+        {
+            synchronized (this)
+            {
+                index = grid;
+                if (index == null)
+                {
+                    index = new SpatialGrid(x, y);
+                    grid = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Fills {@code list} with the cheapest cities to travel to from {@code city}, or from to {@code city}, using the
+     * spatial grid; every cost is at least (1 - a) times the distance.
+     * @param city the {@code int} city whose list is wanted
+     * @param outgoing whether the list is of successors rather than predecessors
+     * @param list the {@code int[]} of k cities to fill, cheapest first
+     * @param costs an {@code int[]} of k elements for their costs.
+     */
+    void nearest(int city, boolean outgoing, int[] list, int[] costs)
+    {
+        nearest(city, outgoing, null, list, costs);
+    }
+
+    /**
+     * As {@code nearest}, among the cities {@code include} accepts.
+     * @param include the {@code IntPredicate} cities must pass, or {@code null} for all.
+     */
+    void nearest(int city, boolean outgoing, IntPredicate include, int[] list, int[] costs)
+    {
+        getSpatialGrid().nearest(city, outgoing ? outgoingCost : incomingCost, 1 - asymmetry, include, list, costs);
+    }
+
+    public double getX(int city)
+    {
+        return x[city];
+    }
+
+    public double getY(int city)
+    {
+        return y[city];
+    }
+}
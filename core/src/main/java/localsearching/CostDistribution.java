@@ -0,0 +1,21 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The random cost distributions {@code CostGraphGenerator} can fill a graph with.  All costs are between
+ *      [$100, $2500], with -1 on the diagonal.
+ *
+ **/
+
+public enum CostDistribution {
+
+    /** every cost independently uniform; the original {@code CostGraph} graphs. */
+    UNIFORM,
+    /** cities fall into about sqrt(N) random clusters; costs within a cluster are in the cheapest tenth of the
+     *  range and costs between clusters in the dearest half, so good tours visit a cluster at a time. */
+    CLUSTERED,
+    /** the cost from i to j and from j to i share one uniform base cost and differ by at most 5% noise each. */
+    NEAR_SYMMETRIC
+}
@@ -0,0 +1,237 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      {@code CostGraph} holds the N-by-N random city cost graph, stored in any {@code CostMatrix} layout, and the
+ *      methods that price tours on it.  It is immutable once constructed, so any number of {@code City} tours and
+ *      searches may share one instance across threads without copying it; the {@code CandidateLists} index is built
+ *      the first time it is asked for and then shared the same way.
+ *
+ **/
+
+public final class CostGraph {
+
+    private final int numOfCities;
+    private final CostMatrix cityCostGraph;
+    private volatile CandidateLists candidateLists;
+
+    /**
+     * Creates a random graph of travel costs for N cities.  The graph is read as
+     * row = From City and col = To City; i.e., graph[i][j] is the cost of travelling from
+     * city i to city j.  The diagonal is set to -1 to represent N/A. The travel costs
+     * are between [$100, $2500] dollars.
+     * @param cityNumber an {@code int} that determines how large the graph is.
+     */
+    public CostGraph(int cityNumber)
+    {
+        this(cityNumber, MatrixLayout.FLAT_INT);
+    }
+
+    /**
+     * Creates a random graph of travel costs for N cities, as {@code CostGraph(int)}, stored in the given layout.
+     * The costs are filled in parallel by a {@code CostGraphGenerator} with a random seed; use one directly for a
+     * graph that can be generated again.
+     * @param cityNumber an {@code int} that determines how large the graph is
+     * @param layout the {@code MatrixLayout} to store the costs in.
+     */
+    public CostGraph(int cityNumber, MatrixLayout layout)
+    {
+        this(new CostGraphGenerator(new SearchRandom().nextLong()).fill(layout.create(cityNumber)));
+    }
+
+    /**
+     * Wraps an already filled {@code CostMatrix}.  The matrix must not be modified afterwards.
+     * @param costs the {@code CostMatrix} holding the travel costs.
+     */
+    public CostGraph(CostMatrix costs)
+    {
+        numOfCities = costs.getCityNumber();
+        cityCostGraph = costs;
+    }
+
+    /**
+     * Calculates from the {@code CostGraph} instance this function is called on the cost
+     * of travelling from {@code tour[i]} to {@code tour[i+1]} for each {@code i} from 0 to N, where
+     * the last index is calculated {@code tour[N]} to {@code tour[0]}.
+     * @param tour an {@code int[]} of length N
+     * @return the {@code int} cost of travelling the given {@code tour}.
+     */
+    public int calculateTourCost(int[] tour)
+    {
+        int cost = 0;
+        for (int i = 0; i < tour.length; i++)
+        {
+
+            if (i == tour.length - 1) {
+                cost += cityCostGraph.getCost(tour[i], tour[0]);         //add cost for returning to initial city.
+            } else
+            {
+                cost += cityCostGraph.getCost(tour[i], tour[i + 1]);
+            }
+          //  System.out.println(cost);
+        }
+
+        return cost;
+    }
+
+    /**
+     * Calculates the change in tour cost that swapping the cities at {@code tour[cityAIndex]} and
+     * {@code tour[cityBIndex]} would cause, without modifying or re-walking the tour.  Only the edges into and out
+     * of the two positions change, so at most four edges are compared (fewer when the positions are adjacent).
+     * Edges are directed, so the asymmetric {@code cityCostGraph} is respected.
+     * @param tour an {@code int[]} of length N
+     * @param cityAIndex the first {@code int} index of the tour array to swap
+     * @param cityBIndex the second {@code int} index of the tour array to swap
+     * @return the {@code int} difference between the swapped tour cost and the current tour cost.
+     */
+    public int calculateSwapDelta(int[] tour, int cityAIndex, int cityBIndex)
+    {
+        if (cityAIndex == cityBIndex)
+        {
+            return 0;
+        }
+
+        int length = tour.length;
+        //an edge is named by the tour index it leaves from; these are the only edges touching either index.
+        int edgeBeforeA = (cityAIndex + length - 1) % length;
+        int edgeBeforeB = (cityBIndex + length - 1) % length;
+
+        int delta = swapEdgeDelta(tour, edgeBeforeA, cityAIndex, cityBIndex);
+        if (cityAIndex != edgeBeforeA)
+        {
+            delta += swapEdgeDelta(tour, cityAIndex, cityAIndex, cityBIndex);
+        }
+        if (edgeBeforeB != edgeBeforeA && edgeBeforeB != cityAIndex)
+        {
+            delta += swapEdgeDelta(tour, edgeBeforeB, cityAIndex, cityBIndex);
+        }
+        if (cityBIndex != edgeBeforeA && cityBIndex != edgeBeforeB)
+        {
+            delta += swapEdgeDelta(tour, cityBIndex, cityAIndex, cityBIndex);
+        }
+        return delta;
+    }
+
+    /**
+     * helper method for {@code calculateSwapDelta}; the change in cost of the single edge leaving {@code tour[edge]}
+     * once the cities at {@code cityAIndex} and {@code cityBIndex} have been swapped.
+     */
+    private int swapEdgeDelta(int[] tour, int edge, int cityAIndex, int cityBIndex)
+    {
+        int next = (edge + 1) % tour.length;
+        int swappedFrom = tour[swappedIndex(edge, cityAIndex, cityBIndex)];
+        int swappedTo = tour[swappedIndex(next, cityAIndex, cityBIndex)];
+        return cityCostGraph.getCost(swappedFrom, swappedTo) - cityCostGraph.getCost(tour[edge], tour[next]);
+    }
+
+    private static int swappedIndex(int index, int cityAIndex, int cityBIndex)
+    {
+        if (index == cityAIndex)
+        {
+            return cityBIndex;
+        }
+        if (index == cityBIndex)
+        {
+            return cityAIndex;
+        }
+        return index;
+    }
+
+
+    /**
+     * @param fromCity the {@code int} city travelled from
+     * @param toCity the {@code int} city travelled to
+     * @return the {@code int} cost of travelling from {@code fromCity} to {@code toCity}; -1 when they are the same.
+     */
+    public int getCost(int fromCity, int toCity)
+    {
+        return cityCostGraph.getCost(fromCity, toCity);
+    }
+
+    public int getCityNumber()
+    {
+        return numOfCities;
+    }
+
+    public CostMatrix getCostMatrix()
+    {
+        return cityCostGraph;
+    }
+
+    /**
+     * Returns the k-nearest candidate lists of this graph, building them on first use.  The longest lists built so
+     * far are kept, so the result may hold more than {@code neighbourCount} cities per list; being sorted, their
+     * first {@code neighbourCount} are the lists asked for.
+     * @param neighbourCount the {@code int} least number of cities wanted per list; capped at N - 1
+     * @return the shared {@code CandidateLists} of this graph.
+     */
+    public CandidateLists getCandidateLists(int neighbourCount)
+    {
+        int wanted = Math.min(neighbourCount, Math.max(1, numOfCities - 1));
+        CandidateLists lists = candidateLists;
+        if (lists == null || lists.getNeighbourCount() < wanted)
+        {
+            synchronized (this)
+            {
+                lists = candidateLists;
+                if (lists == null || lists.getNeighbourCount() < wanted)
+                {
+                    lists = new CandidateLists(this, neighbourCount);
+                    candidateLists = lists;
+                }
+            }
+        }
+        return lists;
+    }
+
+    ////---------DISPLAY METHODS------//////////
+
+    public String toString()
+    {
+        StringBuilder display = new StringBuilder();
+        display.append("     |");
+        int entryWidth = 6;
+        for (int col = 0; col < numOfCities; col++)
+        {
+            if(col != (numOfCities-1))
+                display.append(String.format("%5d|", (col+1)));
+            else
+                display.append(String.format("%5d", (col+1)));
+        }
+        int lineWidth = ((numOfCities + 1) * entryWidth);
+        display.append("\n");
+
+        for (int i = 0; i < lineWidth; i++)
+        {
+            if( i % 6 != 0)
+                display.append("-");
+            else if (i != 0)
+                display.append("+");
+        }
+        display.append("\n");
+
+        for (int row = 0; row < numOfCities; row++)
+        {
+            display.append(String.format("%5d|", (row+1)));
+            for (int col = 0; col< numOfCities; col++)
+            {
+                if(col != (numOfCities-1))
+                    display.append(String.format("%5d|", cityCostGraph.getCost(row, col)));
+                else
+                    display.append(String.format("%5d", cityCostGraph.getCost(row, col)));
+            }
+            display.append("\n");
+            for (int i = 0; i < lineWidth; i++)
+            {
+                if( i % 6 != 0)
+                    display.append("-");
+                else if (i != 0)
+                    display.append("+");
+            }
+            display.append("\n");
+        }
+        return display.toString();
+    }
+}
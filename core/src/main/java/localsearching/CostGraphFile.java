@@ -0,0 +1,421 @@
+package localsearching;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Reading and writing {@code CostGraph} instances, so the same graphs can be searched again across runs and
+ *      builds.  The binary format is a 16 byte header (the magic bytes "LSCG", then little-endian {@code int}s for
+ *      the format version, N and the bytes per cost) followed by the N-by-N costs row-major as 2 or 4 byte
+ *      little-endian values, which is exactly the layout of an {@code OffHeapCostMatrix}: {@code map} opens a file
+ *      of any size without reading or copying it, and the operating system pages costs in as the search touches them.
+ *      TSPLIB {@code .atsp} files (explicit {@code FULL_MATRIX} weights) are parsed a byte at a time from a reused
+ *      64KB buffer straight into the matrix, with no line or token strings, so only the matrix itself is held.
+ *
+ **/
+
+public final class CostGraphFile
+{
+    public static final int HEADER_BYTES = 16;
+    private static final int MAGIC = 0x4743534C;                //"LSCG" read as a little-endian int
+    private static final int VERSION = 1;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    private static final int READ_BUFFER_BYTES = 1 << 16;
+
+    private CostGraphFile()
+    {
+    }
+
+    /**
+     * Writes {@code graph} in the binary format, as 2 byte costs if every cost fits in a {@code short} and 4 byte
+     * costs otherwise.  An existing file is replaced.
+     * @param graph the {@code CostGraph} to write
+     * @param file the {@code Path} to write to.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(CostGraph graph, Path file) throws IOException
+    {
+        write(graph, file, fitsInShort(graph) ? Short.BYTES : Integer.BYTES);
+    }
+
+    /**
+     * Writes {@code graph} in the binary format.
+     * @param graph the {@code CostGraph} to write
+     * @param file the {@code Path} to write to
+     * @param bytesPerCost {@code Short.BYTES} or {@code Integer.BYTES}.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(CostGraph graph, Path file, int bytesPerCost) throws IOException
+    {
+        if (bytesPerCost != Short.BYTES && bytesPerCost != Integer.BYTES)
+        {
+            throw new IllegalArgumentException("bytesPerCost must be 2 or 4: " + bytesPerCost);
+        }
+        int n = graph.getCityNumber();
+        if (bytesPerCost == Short.BYTES && !fitsInShort(graph))
+        {
+            throw new IllegalArgumentException("the graph has costs that do not fit in a short");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(HEADER_BYTES,
+                    (int) Math.min(WRITE_BUFFER_BYTES, (long) n * bytesPerCost))).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(bytesPerCost);
+            for (int from = 0; from < n; from++)
+            {
+                for (int to = 0; to < n; to++)
+                {
+                    if (buffer.remaining() < bytesPerCost)
+                    {
+                        drain(channel, buffer);
+                    }
+                    if (bytesPerCost == Short.BYTES)
+                    {
+                        buffer.putShort((short) graph.getCost(from, to));
+                    }
+                    else
+                    {
+                        buffer.putInt(graph.getCost(from, to));
+                    }
+                }
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Maps a binary graph file read-only.  The mapping outlives the file being closed, and costs are only read from
+     * disk when first used.
+     * @param file the {@code Path} of a file written by {@code write}
+     * @return the {@code CostGraph} over an {@code OffHeapCostMatrix} mapping the file.
+     * @throws IOException if the file cannot be read or is not a binary graph file.
+     */
+    public static CostGraph map(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            Header header = readHeader(channel, file);
+            long expected = HEADER_BYTES + (long) header.cityNumber() * header.cityNumber() * header.bytesPerCost();
+            if (channel.size() < expected)
+            {
+                throw new IOException(file + " is truncated: " + channel.size() + " of " + expected + " bytes");
+            }
+            return new CostGraph(OffHeapCostMatrix.map(channel, HEADER_BYTES, header.cityNumber(),
+                    header.bytesPerCost(), FileChannel.MapMode.READ_ONLY));
+        }
+    }
+
+    /**
+     * Reads a TSPLIB {@code .atsp} file with {@code EDGE_WEIGHT_TYPE: EXPLICIT} and
+     * {@code EDGE_WEIGHT_FORMAT: FULL_MATRIX}.  The diagonal, which TSPLIB fills with a large placeholder, is read
+     * as -1 like that of a generated graph.
+     * @param file the {@code Path} of the TSPLIB file
+     * @param layout the {@code MatrixLayout} to store the costs in
+     * @return the {@code CostGraph} read.
+     * @throws IOException if the file cannot be read or is not a supported TSPLIB file.
+     */
+    public static CostGraph readAtsp(Path file, MatrixLayout layout) throws IOException
+    {
+        try (InputStream in = Files.newInputStream(file))
+        {
+            AtspReader reader = new AtspReader(in, file);
+            int n = reader.readHeader();
+            CostMatrix costs = layout.create(n);
+            for (int from = 0; from < n; from++)
+            {
+                for (int to = 0; to < n; to++)
+                {
+                    int cost = reader.nextInt();
+                    costs.setCost(from, to, from == to ? -1 : cost);
+                }
+            }
+            return new CostGraph(costs);
+        }
+    }
+
+    /**
+     * Opens an instance by its extension: {@code .atsp} files are read with {@code readAtsp} into {@code layout},
+     * anything else is mapped with {@code map}.
+     * @param file the {@code Path} of the instance
+     * @param layout the {@code MatrixLayout} TSPLIB costs are stored in
+     * @return the {@code CostGraph} of the instance.
+     * @throws IOException if the file cannot be read.
+     */
+    public static CostGraph load(Path file, MatrixLayout layout) throws IOException
+    {
+        if (isAtsp(file))
+        {
+            return readAtsp(file, layout);
+        }
+        return map(file);
+    }
+
+    /**
+     * Reads only the number of cities of an instance, from the binary header or the TSPLIB {@code DIMENSION}.
+     * @param file the {@code Path} of the instance
+     * @return the {@code int} number of cities N.
+     * @throws IOException if the file cannot be read.
+     */
+    public static int readCityNumber(Path file) throws IOException
+    {
+        if (isAtsp(file))
+        {
+            try (InputStream in = Files.newInputStream(file))
+            {
+                return new AtspReader(in, file).readHeader();
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            return readHeader(channel, file).cityNumber();
+        }
+    }
+
+    /**
+     * The fields of a binary graph file header after the magic bytes and version.
+     */
+    private record Header(int cityNumber, int bytesPerCost)
+    {
+    }
+
+    /**
+     * Reads and checks the header at the start of {@code channel}.
+     * @throws IOException if the file is not a binary graph file of this version.
+     */
+    private static Header readHeader(FileChannel channel, Path file) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header) >= 0)
+        {
+            //read until the header is complete or the file ends
+        }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC)
+        {
+            throw new IOException(file + " is not a binary graph file");
+        }
+        int version = header.getInt();
+        int n = header.getInt();
+        int bytesPerCost = header.getInt();
+        if (version != VERSION)
+        {
+            throw new IOException(file + " has unsupported format version " + version);
+        }
+        if (n < 1 || (bytesPerCost != Short.BYTES && bytesPerCost != Integer.BYTES))
+        {
+            throw new IOException(file + " has a corrupt header: " + n + " cities, " + bytesPerCost
+                    + " bytes per cost");
+        }
+        return new Header(n, bytesPerCost);
+    }
+
+    private static boolean isAtsp(Path file)
+    {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".atsp");
+    }
+
+    private static boolean fitsInShort(CostGraph graph)
+    {
+        int n = graph.getCityNumber();
+        for (int from = 0; from < n; from++)
+        {
+            for (int to = 0; to < n; to++)
+            {
+                int cost = graph.getCost(from, to);
+                if (cost < Short.MIN_VALUE || cost > Short.MAX_VALUE)
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * A TSPLIB tokenizer over a stream, buffered here rather than by a {@code BufferedInputStream}, whose
+     * synchronized {@code read} would be paid on every byte.  Header lines are short and read into one reused
+     * {@code StringBuilder}; the weights are parsed digit by digit.
+     */
+    private static final class AtspReader
+    {
+        private final InputStream in;
+        private final Path file;
+        private final StringBuilder line = new StringBuilder();
+        private final byte[] buffer = new byte[READ_BUFFER_BYTES];
+        private int position;
+        private int limit;
+
+        private AtspReader(InputStream in, Path file)
+        {
+            this.in = in;
+            this.file = file;
+        }
+
+        /**
+         * Reads the specification part up to {@code EDGE_WEIGHT_SECTION}.
+         * @return the {@code int} DIMENSION.
+         */
+        private int readHeader() throws IOException
+        {
+            int dimension = -1;
+            while (readLine())
+            {
+                int colon = line.indexOf(":");
+                String key = (colon < 0 ? line.toString() : line.substring(0, colon)).trim().toUpperCase(Locale.ROOT);
+                String value = colon < 0 ? "" : line.substring(colon + 1).trim();
+                switch (key)
+                {
+                    case "DIMENSION":
+                        dimension = parseDimension(value);
+                        break;
+                    case "TYPE":
+                        if (!value.equalsIgnoreCase("ATSP") && !value.equalsIgnoreCase("TSP"))
+                        {
+                            throw new IOException(file + ": unsupported TYPE " + value);
+                        }
+                        break;
+                    case "EDGE_WEIGHT_TYPE":
+                        if (!value.equalsIgnoreCase("EXPLICIT"))
+                        {
+                            throw new IOException(file + ": unsupported EDGE_WEIGHT_TYPE " + value);
+                        }
+                        break;
+                    case "EDGE_WEIGHT_FORMAT":
+                        if (!value.equalsIgnoreCase("FULL_MATRIX"))
+                        {
+                            throw new IOException(file + ": unsupported EDGE_WEIGHT_FORMAT " + value);
+                        }
+                        break;
+                    case "EDGE_WEIGHT_SECTION":
+                        if (dimension < 0)
+                        {
+                            throw new IOException(file + ": EDGE_WEIGHT_SECTION before DIMENSION");
+                        }
+                        return dimension;
+                    case "EOF":
+                        throw new IOException(file + ": no EDGE_WEIGHT_SECTION");
+                    default:
+                        break;                          //NAME, COMMENT, ...
+                }
+            }
+            throw new IOException(file + ": no EDGE_WEIGHT_SECTION");
+        }
+
+        private int parseDimension(String value) throws IOException
+        {
+            try
+            {
+                int dimension = Integer.parseInt(value);
+                if (dimension >= 1)
+                {
+                    return dimension;
+                }
+            }
+            catch (NumberFormatException e)
+            {
+                //reported below
+            }
+            throw new IOException(file + ": invalid DIMENSION " + value);
+        }
+
+        /**
+         * Reads the next line, without its terminator, into {@code line}.
+         * @return whether there was a line.
+         */
+        private boolean readLine() throws IOException
+        {
+            line.setLength(0);
+            int c = read();
+            if (c < 0)
+            {
+                return false;
+            }
+            while (c >= 0 && c != '\n')
+            {
+                if (c != '\r')
+                {
+                    line.append((char) c);
+                }
+                c = read();
+            }
+            return true;
+        }
+
+        /**
+         * @return the next whitespace separated {@code int} of the weight section.
+         */
+        private int nextInt() throws IOException
+        {
+            int c = read();
+            while (c == ' ' || c == '\n' || c == '\r' || c == '\t')
+            {
+                c = read();
+            }
+            boolean negative = c == '-';
+            if (negative)
+            {
+                c = read();
+            }
+            if (c < '0' || c > '9')
+            {
+                throw new IOException(file + ": expected a weight but found "
+                        + (c < 0 ? "the end of the file" : "'" + (char) c + "'"));
+            }
+            long value = 0;
+            while (c >= '0' && c <= '9')
+            {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE + 1L)
+                {
+                    throw new IOException(file + ": weight out of int range");
+                }
+                c = read();
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE)
+            {
+                throw new IOException(file + ": weight out of int range");
+            }
+            return (int) value;
+        }
+
+        /**
+         * @return the next byte of the file, or -1 at its end.
+         */
+        private int read() throws IOException
+        {
+            if (position == limit)
+            {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0)
+                {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package localsearching;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Fills cost matrices with random costs from a seed, a row per task in parallel on the common
+ *      {@code ForkJoinPool}.  Every row has its own random stream, seeded in row order from the generator's seed
+ *      before any row is filled, and everything a row shares with other rows (the clusters, the base costs of a
+ *      near-symmetric pair) is either drawn up front the same way or hashed from the seed and the city numbers.  So
+ *      the same seed always gives the same graph, however many threads fill it.  The costs are written straight into
+ *      the {@code CostMatrix}, whatever its layout, so no temporary N-by-N copy is ever made.
+ *
+ **/
+
+public final class CostGraphGenerator
+{
+    static final int LOWER_COST = 100;
+    static final int UPPER_COST = 2500;
+    private static final double NEAR_SYMMETRIC_NOISE = 0.05;
+
+    private final long seed;
+    private CostDistribution distribution = CostDistribution.UNIFORM;
+
+    /**
+     * @param seed the {@code long} seed every graph of this generator is drawn from.
+     */
+    public CostGraphGenerator(long seed)
+    {
+        this.seed = seed;
+    }
+
+    /**
+     * @param cityNumber the {@code int} number of cities N
+     * @return a new {@code CostGraph} of N cities in the {@code FLAT_INT} layout.
+     */
+    public CostGraph generate(int cityNumber)
+    {
+        return generate(cityNumber, MatrixLayout.FLAT_INT);
+    }
+
+    /**
+     * @param cityNumber the {@code int} number of cities N
+     * @param layout the {@code MatrixLayout} to store the costs in
+     * @return a new {@code CostGraph} of N cities.
+     */
+    public CostGraph generate(int cityNumber, MatrixLayout layout)
+    {
+        return new CostGraph(fill(layout.create(cityNumber)));
+    }
+
+    /**
+     * Fills every cost of {@code matrix}, e.g. a memory-mapped {@code OffHeapCostMatrix}.  Rows are written by
+     * different threads, which every layout allows since no two rows share any storage that is written.
+     * @param matrix the {@code CostMatrix} to fill
+     * @return {@code matrix}, for wrapping in a {@code CostGraph}.
+     */
+    public CostMatrix fill(CostMatrix matrix)
+    {
+        int cityNumber = matrix.getCityNumber();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long[] rowSeeds = new long[cityNumber];
+        for (int row = 0; row < cityNumber; row++)
+        {
+            rowSeeds[row] = seeds.nextLong();
+        }
+        long pairKey = seeds.nextLong();
+        int[] clusters = distribution == CostDistribution.CLUSTERED ? assignClusters(cityNumber, seeds) : null;
+
+        IntStream.range(0, cityNumber).parallel()
+                .forEach(row -> fillRow(matrix, row, new SplittableRandom(rowSeeds[row]), pairKey, clusters));
+        return matrix;
+    }
+
+    private void fillRow(CostMatrix matrix, int row, SplittableRandom random, long pairKey, int[] clusters)
+    {
+        int cityNumber = matrix.getCityNumber();
+        int span = UPPER_COST - LOWER_COST;
+        for (int col = 0; col < cityNumber; col++)
+        {
+            int cost;
+            if (row == col)
+            {
+                cost = -1;
+            }
+            else if (distribution == CostDistribution.UNIFORM)
+            {
+                cost = random.nextInt(LOWER_COST, UPPER_COST + 1);
+            }
+            else if (distribution == CostDistribution.CLUSTERED)
+            {
+                cost = clusters[row] == clusters[col] ? random.nextInt(LOWER_COST, LOWER_COST + span / 10 + 1)
+                        : random.nextInt(LOWER_COST + span / 2, UPPER_COST + 1);
+            }
+            else
+            {
+                long pair = mix(pairKey + Math.min(row, col) * 0x9E3779B97F4A7C15L + Math.max(row, col));
+                int base = LOWER_COST + (int) Long.remainderUnsigned(pair, span + 1);
+                double noise = (random.nextDouble() * 2 - 1) * NEAR_SYMMETRIC_NOISE;
+                cost = Math.max(LOWER_COST, Math.min(UPPER_COST, (int) Math.round(base * (1 + noise))));
+            }
+            matrix.setCost(row, col, cost);
+        }
+    }
+
+    /**
+     * @return the cluster of every city, about sqrt(N) clusters in all.
+     */
+    private static int[] assignClusters(int cityNumber, SplittableRandom seeds)
+    {
+        int clusterCount = Math.max(1, (int) Math.round(Math.sqrt(cityNumber)));
+        SplittableRandom random = seeds.split();
+        int[] clusters = new int[cityNumber];
+        for (int city = 0; city < cityNumber; city++)
+        {
+            clusters[city] = random.nextInt(clusterCount);
+        }
+        return clusters;
+    }
+
+    /**
+     * The SplitMix64 finalizer: spreads a pair's key over all 64 bits.
+     */
+    private static long mix(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @param newDistribution the {@code CostDistribution} of the graphs generated from now on.
+     */
+    public void setDistribution(CostDistribution newDistribution)
+    {
+        distribution = newDistribution;
+    }
+
+    public CostDistribution getDistribution()
+    {
+        return distribution;
+    }
+}
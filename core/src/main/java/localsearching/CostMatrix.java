@@ -0,0 +1,35 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      {@code CostMatrix} is the storage behind a {@code CostGraph}: an N-by-N table of travel costs read as
+ *      row = From City and col = To City.  Implementations differ only in memory layout (see {@code MatrixLayout}),
+ *      so everything that prices tours works unchanged on any of them.
+ *
+ **/
+
+public interface CostMatrix {
+
+    /**
+     * @return the {@code int} number of cities N.
+     */
+    int getCityNumber();
+
+    /**
+     * @param fromCity the {@code int} city travelled from
+     * @param toCity the {@code int} city travelled to
+     * @return the {@code int} cost of travelling from {@code fromCity} to {@code toCity}.
+     */
+    int getCost(int fromCity, int toCity);
+
+    /**
+     * Stores a cost.  Only meant to be called while the matrix is being filled, before it is handed to a
+     * {@code CostGraph}; a graph's matrix is never modified afterwards.
+     * @param fromCity the {@code int} city travelled from
+     * @param toCity the {@code int} city travelled to
+     * @param cost the {@code int} cost of travelling from {@code fromCity} to {@code toCity}.
+     */
+    void setCost(int fromCity, int toCity, int cost);
+}
@@ -0,0 +1,19 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      How {@code HillClimbing} searches the neighbourhood of each restarted tour.
+ *
+ **/
+
+public enum DescentStrategy {
+
+    /** evaluate every neighbour of the restart tour once, without moving; the original behaviour. */
+    SINGLE_PASS,
+    /** apply the first improving move found and keep scanning, until a full scan finds no improvement. */
+    FIRST_IMPROVEMENT,
+    /** scan the whole neighbourhood, apply the best improving move, and repeat until none improves. */
+    STEEPEST_DESCENT
+}
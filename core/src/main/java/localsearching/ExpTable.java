@@ -0,0 +1,51 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Precomputed table of {@code e^-x} used for annealing acceptance probabilities, so pricing a worsening move
+ *      costs a multiply and two array reads rather than a {@code Math.exp}.  Values between table entries are
+ *      linearly interpolated (relative error below 2e-6); beyond {@code MAX_EXPONENT} the probability is treated
+ *      as zero.
+ *
+ **/
+
+public final class ExpTable {
+
+    static final int MAX_EXPONENT = 32;
+    private static final int STEPS_PER_UNIT = 256;
+    private static final double[] NEGATIVE_EXP = new double[MAX_EXPONENT * STEPS_PER_UNIT + 2];
+
+    static
+    {
+        for (int i = 0; i < NEGATIVE_EXP.length; i++)
+        {
+            NEGATIVE_EXP[i] = Math.exp(-(double) i / STEPS_PER_UNIT);
+        }
+    }
+
+    private ExpTable()
+    {
+    }
+
+    /**
+     * @param x a non-negative {@code double}
+     * @return {@code e^-x}, approximately.
+     */
+    public static double negativeExp(double x)
+    {
+        if (x <= 0)
+        {
+            return 1;
+        }
+        if (x >= MAX_EXPONENT)
+        {
+            return 0;
+        }
+        double position = x * STEPS_PER_UNIT;
+        int index = (int) position;
+        double fraction = position - index;
+        return NEGATIVE_EXP[index] + (NEGATIVE_EXP[index + 1] - NEGATIVE_EXP[index]) * fraction;
+    }
+}
@@ -0,0 +1,491 @@
+package localsearching;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The grid of an {@code ExperimentRunner} sweep, read from a {@code .properties} file.  Lists are comma
+ *      separated and every combination of them is one {@code Configuration}; e.g.
+ *      <pre>
+ *      cities = 100, 1000
+ *      graphs = 5
+ *      algorithms = HILL_CLIMBING, SIMULATED_ANNEALING
+ *      moves = SWAP, OR_OPT
+ *      candidates = 0, 10
+ *      startModes = RANDOM, NEAREST_NEIGHBOUR
+ *      descents = FIRST_IMPROVEMENT
+ *      schedules = STEP, LOGARITHMIC
+ *      seeds = 1, 2, 3
+ *      repetitions = 5
+ *      timeLimitMillis = 2000
+ *      </pre>
+ *      Each configuration is run {@code repetitions} times per seed on each of the {@code graphs} random graphs of its
+ *      city count.  At least one of {@code timeLimitMillis}, {@code iterationLimit} and {@code stagnationLimit} is
+ *      required, as hill climbing restarts until its budget is used up.  {@code candidates = 0} searches the full
+ *      neighbourhood; {@code descents} only applies to hill climbing, {@code schedules} only to annealing, and
+ *      {@code initialTemperature} (default 20) to annealing and to the hottest of the four parallel tempering replicas,
+ *      the coldest being 20 times colder.  Parallel tempering and tabu search only swap, so they ignore {@code moves}
+ *      and {@code candidates}.  Configurations of at most {@code exactUpTo} cities (default 0, i.e. none) are solved
+ *      exactly by {@code HeldKarpSolver} instead of their heuristic, which is faster than searching such small graphs
+ *      and gives the optimum.  Every search moves two cities besides the start city, so a configuration of 2 cities is
+ *      only accepted when it is solved exactly.  With {@code targetGap} set, e.g. to 0.01, every run stops once its
+ *      best cost is within that fraction of a {@code LowerBound} of its graph.  The optional {@code threads},
+ *      {@code layout}, {@code distribution}, {@code graphSeed}, {@code output} and {@code format} set the pool size
+ *      (default: every core), the {@code MatrixLayout} and {@code CostDistribution} of the graphs (default
+ *      {@code FLAT_INT}, {@code UNIFORM}), the seed the graphs are generated from (default: a new one every time), and
+ *      the file and {@code RecordFormat} runs are streamed to (default "Experiment Data.csv", {@code CSV}).  Instead of
+ *      random graphs, {@code instances} may list files to search, each opened by {@code CostGraphFile.load}: binary
+ *      graph files are mapped, TSPLIB {@code .atsp} files are read into the {@code layout}.  The city counts then come
+ *      from the files, and {@code cities}, {@code graphs}, {@code distribution} and {@code graphSeed} are not used.
+ *
+ **/
+
+public final class ExperimentConfig
+{
+    /**
+     * The searches an experiment can run.
+     */
+    public enum Algorithm
+    {
+        /** {@code HillClimbingSolver}. */
+        HILL_CLIMBING,
+        /** {@code AnnealingSolver}. */
+        SIMULATED_ANNEALING,
+        /** {@code ParallelTemperingSolver}; swap moves only. */
+        PARALLEL_TEMPERING,
+        /** {@code TabuSolver}; swap moves only. */
+        TABU;
+
+        /**
+         * @return whether the search draws its moves from the configured {@code Neighbourhood}; the others always
+         * search the full swap neighbourhood.
+         */
+        public boolean usesNeighbourhood()
+        {
+            return this == HILL_CLIMBING || this == SIMULATED_ANNEALING;
+        }
+    }
+
+    /**
+     * The neighbourhoods an experiment can search.
+     */
+    public enum Neighbourhood
+    {
+        /** {@code SwapMoveGenerator}. */
+        SWAP,
+        /** {@code OrOptMoveGenerator}. */
+        OR_OPT;
+
+        /**
+         * @param candidateCount the {@code int} k of candidate neighbours, or 0 for the full neighbourhood
+         * @return a new {@code MoveGenerator} for this neighbourhood.
+         */
+        public MoveGenerator create(int candidateCount)
+        {
+            if (this == SWAP)
+            {
+                return candidateCount == 0 ? new SwapMoveGenerator() : new SwapMoveGenerator(candidateCount);
+            }
+            return candidateCount == 0 ? new OrOptMoveGenerator() : new OrOptMoveGenerator(candidateCount);
+        }
+    }
+
+    /**
+     * The cooling schedules an annealing experiment can use; the annealing runs of a sweep usually need a schedule
+     * that lasts for the budget, which the original step schedule does not.
+     */
+    public enum Schedule
+    {
+        /** {@code StepCoolingSchedule}, the original. */
+        STEP,
+        /** {@code LogarithmicCoolingSchedule} with 100 moves per step; never freezes. */
+        LOGARITHMIC,
+        /** {@code GeometricCoolingSchedule} cooling by 0.95 every 100 moves down to 0.01. */
+        GEOMETRIC;
+
+        /**
+         * @param initialTemperature the {@code double} starting temperature
+         * @return a new {@code CoolingSchedule} of this kind.
+         */
+        public CoolingSchedule create(double initialTemperature)
+        {
+            switch (this)
+            {
+                case STEP:
+                    return new StepCoolingSchedule((int) initialTemperature);
+                case LOGARITHMIC:
+                    return new LogarithmicCoolingSchedule(initialTemperature, 100);
+                default:
+                    return new GeometricCoolingSchedule(initialTemperature, 0.95, 100, 0.01);
+            }
+        }
+    }
+
+    /**
+     * One point of the grid; every run of it is aggregated together.
+     * @param descent the {@code DescentStrategy} of a hill climbing configuration, {@code null} for the others
+     * @param schedule the {@code Schedule} of an annealing configuration, {@code null} for the others.
+     */
+    public record Configuration(int cities, Algorithm algorithm, Neighbourhood neighbourhood, int candidates,
+                                StartMode startMode, DescentStrategy descent, Schedule schedule)
+    {
+        public String toString()
+        {
+            return cities + " cities, " + algorithm + ", " + neighbourhood
+                    + (candidates == 0 ? "" : " (" + candidates + " candidates)") + ", " + startMode
+                    + (descent == null ? "" : ", " + descent) + (schedule == null ? "" : ", " + schedule);
+        }
+    }
+
+    private final List<Configuration> configurations;
+    private final List<Long> seeds;
+    private final int graphs;
+    private final int repetitions;
+    private final SearchBudget budget;
+    private final double initialTemperature;
+    private final int exactUpTo;
+    private final double targetGap;
+    private final int threads;
+    private final MatrixLayout layout;
+    private final CostDistribution distribution;
+    private final long graphSeed;
+    private final List<Path> instances;
+    private final Path output;
+    private final RecordFormat format;
+
+    private ExperimentConfig(Properties properties)
+    {
+        instances = properties.getProperty("instances") == null ? List.of()
+                : parseList(properties, "instances", null, Paths::get);
+        List<Integer> cities = instances.isEmpty() ? parseList(properties, "cities", null, Integer::valueOf)
+                : instanceCityCounts(instances);
+        List<Algorithm> algorithms = parseList(properties, "algorithms", null,
+                value -> Algorithm.valueOf(value.toUpperCase(Locale.ROOT)));
+        List<Neighbourhood> neighbourhoods = parseList(properties, "moves", "SWAP",
+                value -> Neighbourhood.valueOf(value.toUpperCase(Locale.ROOT)));
+        List<Integer> candidates = parseList(properties, "candidates", "0", Integer::valueOf);
+        for (int candidateCount : candidates)
+        {
+            if (candidateCount < 0)
+            {
+                throw new IllegalArgumentException("candidates must not be negative: " + candidateCount);
+            }
+        }
+        List<StartMode> startModes = parseList(properties, "startModes", "RANDOM",
+                value -> StartMode.valueOf(value.toUpperCase(Locale.ROOT)));
+        List<DescentStrategy> descents = parseList(properties, "descents", "STEEPEST_DESCENT",
+                value -> DescentStrategy.valueOf(value.toUpperCase(Locale.ROOT)));
+        List<Schedule> schedules = parseList(properties, "schedules", "STEP",
+                value -> Schedule.valueOf(value.toUpperCase(Locale.ROOT)));
+        initialTemperature = parse(properties, "initialTemperature", "20", Double::valueOf);
+        exactUpTo = parse(properties, "exactUpTo", "0", Integer::valueOf);
+        targetGap = parse(properties, "targetGap", "-1", Double::valueOf);
+        if (exactUpTo > HeldKarp.MAX_CITIES)
+        {
+            throw new IllegalArgumentException("exactUpTo must be at most " + HeldKarp.MAX_CITIES + ": " + exactUpTo);
+        }
+        seeds = parseList(properties, "seeds", "1", Long::valueOf);
+        graphs = parseInt(properties, "graphs", "1");
+        repetitions = parseInt(properties, "repetitions", "1");
+        threads = parseInt(properties, "threads", Integer.toString(Runtime.getRuntime().availableProcessors()));
+        layout = parse(properties, "layout", "FLAT_INT", value -> MatrixLayout.valueOf(value.toUpperCase(Locale.ROOT)));
+        distribution = parse(properties, "distribution", "UNIFORM",
+                value -> CostDistribution.valueOf(value.toUpperCase(Locale.ROOT)));
+        graphSeed = parse(properties, "graphSeed", Long.toString(new SearchRandom().nextLong()), Long::valueOf);
+        output = Paths.get(properties.getProperty("output", "Experiment Data.csv").trim());
+        format = parse(properties, "format", "CSV", value -> RecordFormat.valueOf(value.toUpperCase(Locale.ROOT)));
+
+        SearchBudget limits = SearchBudget.unlimited();
+        if (properties.getProperty("timeLimitMillis") != null)
+        {
+            limits = limits.withTimeLimit(parse(properties, "timeLimitMillis", null, Long::valueOf),
+                    TimeUnit.MILLISECONDS);
+        }
+        if (properties.getProperty("iterationLimit") != null)
+        {
+            limits = limits.withIterationLimit(parse(properties, "iterationLimit", null, Long::valueOf));
+        }
+        if (properties.getProperty("stagnationLimit") != null)
+        {
+            limits = limits.withStagnationLimit(parse(properties, "stagnationLimit", null, Long::valueOf));
+        }
+        if (limits == SearchBudget.unlimited())
+        {
+            throw new IllegalArgumentException(
+                    "an experiment needs at least one of timeLimitMillis, iterationLimit and stagnationLimit");
+        }
+        budget = limits;
+
+        List<Configuration> grid = new ArrayList<>();
+        for (int cityCount : cities)
+        {
+            if (cityCount < 2)
+            {
+                throw new IllegalArgumentException("cities must be at least 2: " + cityCount);
+            }
+            if (cityCount < 3 && cityCount > exactUpTo)
+            {
+                throw new IllegalArgumentException("cities must be at least 3 to search, or at most exactUpTo: "
+                        + cityCount);
+            }
+            for (Algorithm algorithm : algorithms)
+            {
+                List<Neighbourhood> searched = algorithm.usesNeighbourhood() ? neighbourhoods
+                        : List.of(Neighbourhood.SWAP);
+                List<Integer> restrictions = algorithm.usesNeighbourhood() ? candidates : List.of(0);
+                for (Neighbourhood neighbourhood : searched)
+                {
+                    for (int candidateCount : restrictions)
+                    {
+                        for (StartMode startMode : startModes)
+                        {
+                            if (algorithm == Algorithm.HILL_CLIMBING)
+                            {
+                                for (DescentStrategy descent : descents)
+                                {
+                                    grid.add(new Configuration(cityCount, algorithm, neighbourhood, candidateCount,
+                                            startMode, descent, null));
+                                }
+                            }
+                            else if (algorithm == Algorithm.SIMULATED_ANNEALING)
+                            {
+                                for (Schedule schedule : schedules)
+                                {
+                                    grid.add(new Configuration(cityCount, algorithm, neighbourhood, candidateCount,
+                                            startMode, null, schedule));
+                                }
+                            }
+                            else
+                            {
+                                grid.add(new Configuration(cityCount, algorithm, neighbourhood, candidateCount,
+                                        startMode, null, null));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        configurations = Collections.unmodifiableList(grid);
+    }
+
+    /**
+     * @param file the {@code Path} of the {@code .properties} file
+     * @return the {@code ExperimentConfig} it describes.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a required key is missing or a value cannot be parsed.
+     */
+    public static ExperimentConfig load(Path file) throws IOException
+    {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file))
+        {
+            properties.load(in);
+        }
+        return new ExperimentConfig(properties);
+    }
+
+    /**
+     * @param properties the {@code Properties} holding the keys of a config file
+     * @return the {@code ExperimentConfig} they describe.
+     * @throws IllegalArgumentException if a required key is missing or a value cannot be parsed.
+     */
+    public static ExperimentConfig of(Properties properties)
+    {
+        return new ExperimentConfig(properties);
+    }
+
+    private static <T> List<T> parseList(Properties properties, String key, String defaultValue,
+                                         Function<String, T> parser)
+    {
+        String value = required(properties, key, defaultValue);
+        List<T> values = new ArrayList<>();
+        for (String item : value.split(","))
+        {
+            if (!item.isBlank())
+            {
+                values.add(parseValue(key, item.trim(), parser));
+            }
+        }
+        if (values.isEmpty())
+        {
+            throw new IllegalArgumentException(key + " must list at least one value");
+        }
+        return values;
+    }
+
+    private static int parseInt(Properties properties, String key, String defaultValue)
+    {
+        int value = parse(properties, key, defaultValue, Integer::valueOf);
+        if (value < 1)
+        {
+            throw new IllegalArgumentException(key + " must be at least 1: " + value);
+        }
+        return value;
+    }
+
+    /**
+     * @return the {@code List<Integer>} of distinct city counts of {@code files}, in the order first seen.
+     */
+    private static List<Integer> instanceCityCounts(List<Path> files)
+    {
+        List<Integer> cities = new ArrayList<>();
+        for (Path file : files)
+        {
+            int cityCount;
+            try
+            {
+                cityCount = CostGraphFile.readCityNumber(file);
+            }
+            catch (IOException e)
+            {
+                throw new IllegalArgumentException("bad instances: cannot read " + file, e);
+            }
+            if (!cities.contains(cityCount))
+            {
+                cities.add(cityCount);
+            }
+        }
+        return cities;
+    }
+
+    private static <T> T parse(Properties properties, String key, String defaultValue, Function<String, T> parser)
+    {
+        return parseValue(key, required(properties, key, defaultValue).trim(), parser);
+    }
+
+    private static String required(Properties properties, String key, String defaultValue)
+    {
+        String value = properties.getProperty(key, defaultValue);
+        if (value == null)
+        {
+            throw new IllegalArgumentException("missing " + key);
+        }
+        return value;
+    }
+
+    private static <T> T parseValue(String key, String value, Function<String, T> parser)
+    {
+        try
+        {
+            return parser.apply(value);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IllegalArgumentException("bad " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * @return every {@code Configuration} of the grid, in city count order.
+     */
+    public List<Configuration> getConfigurations()
+    {
+        return configurations;
+    }
+
+    public List<Long> getSeeds()
+    {
+        return seeds;
+    }
+
+    /**
+     * @return the {@code int} number of random graphs generated per city count.
+     */
+    public int getGraphs()
+    {
+        return graphs;
+    }
+
+    /**
+     * @return the {@code int} number of runs per configuration, seed and graph.
+     */
+    public int getRepetitions()
+    {
+        return repetitions;
+    }
+
+    public SearchBudget getBudget()
+    {
+        return budget;
+    }
+
+    /**
+     * @return the {@code double} starting temperature of every annealing schedule.
+     */
+    public double getInitialTemperature()
+    {
+        return initialTemperature;
+    }
+
+    /**
+     * @return the {@code int} largest city count solved exactly instead of by the configured heuristic.
+     */
+    public int getExactUpTo()
+    {
+        return exactUpTo;
+    }
+
+    /**
+     * @return the {@code double} fraction above the lower bound at which runs stop, or a negative number when they
+     * do not stop early.
+     */
+    public double getTargetGap()
+    {
+        return targetGap;
+    }
+
+    public int getThreads()
+    {
+        return threads;
+    }
+
+    public MatrixLayout getLayout()
+    {
+        return layout;
+    }
+
+    public CostDistribution getDistribution()
+    {
+        return distribution;
+    }
+
+    /**
+     * @return the {@code long} seed the seed of every graph is drawn from, in the order the graphs are queued.
+     */
+    public long getGraphSeed()
+    {
+        return graphSeed;
+    }
+
+    /**
+     * @return the {@code List<Path>} of instance files searched instead of random graphs; empty when the graphs are
+     * generated.
+     */
+    public List<Path> getInstances()
+    {
+        return instances;
+    }
+
+    public Path getOutput()
+    {
+        return output;
+    }
+
+    public RecordFormat getFormat()
+    {
+        return format;
+    }
+}
@@ -0,0 +1,434 @@
+package localsearching;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Runs the grid of an {@code ExperimentConfig} concurrently: every run is one job on a bounded pool, solved with
+ *      the {@code Solver} of its configuration under the config's budget.  The jobs of one random graph are queued
+ *      together and share it; it is generated by the first of them to start, from a seed drawn in queue order so the
+ *      same graph seed gives the same graphs, and dropped when the last one finishes, so only the graphs in use are
+ *      held in memory.  Runs are streamed to a {@code ResultsWriter} in the order they finish, numbered in the order
+ *      they were queued, and aggregated per {@code Configuration} on the calling thread.  Configurations small enough
+ *      for the config's {@code exactUpTo} are solved by {@code HeldKarpSolver}: once per graph, whose record every
+ *      exact job on it reports, and one graph at a time, since each solve holds a table of up to
+ *      {@code HeldKarp.getTableBytes(HeldKarp.MAX_CITIES)} bytes and already uses every core.  With a
+ *      {@code targetGap}, the {@code LowerBound} of a graph is computed once, with the graph, and every run on it stops
+ *      within the gap of it: the assignment bound up to {@code ASSIGNMENT_BOUND_CITIES} cities, the cheaper reduction
+ *      bound above.  The instance files of a config take the place of its random graphs and are opened and dropped the
+ *      same way.  Parallel tempering jobs sweep their replicas on the common {@code ForkJoinPool}, as a job waiting on
+ *      the bounded pool for its own sweeps could deadlock it.
+ *
+ **/
+
+public final class ExperimentRunner
+{
+    static final int ASSIGNMENT_BOUND_CITIES = 2000;
+
+    private final ExperimentConfig config;
+    private final Object exactLock = new Object();         //held for every Held-Karp solve
+
+    public ExperimentRunner(ExperimentConfig experimentConfig)
+    {
+        config = experimentConfig;
+    }
+
+    /**
+     * Runs every job on a pool of the config's {@code threads}, streaming to the config's output file.
+     * @return the {@code Summary} of every {@code Configuration}, in grid order.
+     * @throws IOException if the output file cannot be written.
+     */
+    public Map<ExperimentConfig.Configuration, Summary> run() throws IOException
+    {
+        ExecutorService pool = Executors.newFixedThreadPool(config.getThreads());
+        try (ResultsWriter writer = new ResultsWriter(config.getOutput(), config.getFormat()))
+        {
+            return run(pool, writer);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs every job on {@code executor}, blocking until they are all done.
+     * @param executor the {@code ExecutorService} the jobs are submitted to; it is not shut down
+     * @param writer the {@code ResultsWriter} every run is streamed to as it finishes
+     * @return the {@code Summary} of every {@code Configuration}, in grid order.
+     */
+    public Map<ExperimentConfig.Configuration, Summary> run(ExecutorService executor, ResultsWriter writer)
+    {
+        Map<ExperimentConfig.Configuration, Summary> summaries = new LinkedHashMap<>();
+        List<Job> jobs = new ArrayList<>();
+        List<Integer> cityCounts = new ArrayList<>();
+        for (ExperimentConfig.Configuration configuration : config.getConfigurations())
+        {
+            summaries.put(configuration, new Summary());
+            if (!cityCounts.contains(configuration.cities()))
+            {
+                cityCounts.add(configuration.cities());
+            }
+        }
+        Map<Integer, List<Path>> instances = new LinkedHashMap<>();
+        for (Path instance : config.getInstances())
+        {
+            int cities = instanceCityNumber(instance);
+            if (!cityCounts.contains(cities))
+            {
+                throw new IllegalArgumentException("instance " + instance + " has " + cities
+                        + " cities, which no configuration searches");
+            }
+            instances.computeIfAbsent(cities, count -> new ArrayList<>()).add(instance);
+        }
+        SearchRandom graphSeeds = new SearchRandom(config.getGraphSeed());
+        for (int cities : cityCounts)
+        {
+            List<SharedGraph> graphs = new ArrayList<>();
+            if (config.getInstances().isEmpty())
+            {
+                for (int g = 0; g < config.getGraphs(); g++)
+                {
+                    CostGraphGenerator generator = new CostGraphGenerator(graphSeeds.nextLong());
+                    generator.setDistribution(config.getDistribution());
+                    graphs.add(new SharedGraph(cities, generator, null, config.getLayout(), config.getTargetGap()));
+                }
+            }
+            else
+            {
+                for (Path instance : instances.getOrDefault(cities, List.of()))
+                {
+                    graphs.add(new SharedGraph(cities, null, instance, config.getLayout(), config.getTargetGap()));
+                }
+            }
+            for (SharedGraph graph : graphs)
+            {
+                for (ExperimentConfig.Configuration configuration : config.getConfigurations())
+                {
+                    if (configuration.cities() != cities)
+                    {
+                        continue;
+                    }
+                    for (long seed : config.getSeeds())
+                    {
+                        SearchRandom seeds = new SearchRandom(seed);
+                        for (int r = 0; r < config.getRepetitions(); r++)
+                        {
+                            jobs.add(new Job(configuration, graph, seeds.nextLong(), jobs.size() + 1));
+                            graph.jobs.incrementAndGet();
+                        }
+                    }
+                }
+            }
+        }
+
+        CompletionService<Finished> finished = new ExecutorCompletionService<>(executor);
+        for (Job job : jobs)
+        {
+            finished.submit(job);
+        }
+        try
+        {
+            for (int i = 0; i < jobs.size(); i++)
+            {
+                Finished run = finished.take().get();
+                writer.write(run.record);
+                summaries.get(run.configuration).add(run.record);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("experiment was interrupted", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException("experiment job failed", e.getCause());
+        }
+        return summaries;
+    }
+
+    private static int instanceCityNumber(Path instance)
+    {
+        try
+        {
+            return CostGraphFile.readCityNumber(instance);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Formats the summaries as one block of statistics per configuration.
+     * @param summaries the {@code Map} returned by {@code run}
+     * @return the {@code String} table.
+     */
+    public static String tabulate(Map<ExperimentConfig.Configuration, Summary> summaries)
+    {
+        StringBuilder table = new StringBuilder();
+        for (Map.Entry<ExperimentConfig.Configuration, Summary> entry : summaries.entrySet())
+        {
+            Summary summary = entry.getValue();
+            table.append(entry.getKey()).append(" (").append(summary.getBestCost().getCount()).append(" runs)\n");
+            table.append("  Best Cost: ").append(summary.getBestCost()).append("\n");
+            table.append("  Time to Best (us): ").append(summary.getTimeToBest()).append("\n");
+            table.append("  Moves per Second: ").append(summary.getThroughput()).append("\n");
+        }
+        return table.toString();
+    }
+
+    /**
+     * Runs the experiment described by a config file and prints the summaries.
+     * @param args the path of the {@code .properties} config file.
+     * @throws IOException if the config cannot be read or the output cannot be written.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 1)
+        {
+            throw new IllegalArgumentException("usage: ExperimentRunner <config.properties>");
+        }
+        ExperimentRunner runner = new ExperimentRunner(ExperimentConfig.load(Paths.get(args[0])));
+        System.out.println(tabulate(runner.run()));
+    }
+
+    /**
+     * The statistics of every run of one {@code Configuration}; only touched by the thread calling {@code run}.
+     */
+    public static final class Summary
+    {
+        private final RunStatistics bestCost = new RunStatistics();
+        private final RunStatistics timeToBest = new RunStatistics();
+        private final RunStatistics throughput = new RunStatistics();
+
+        private void add(RunRecord record)
+        {
+            bestCost.add(record.bestCost());
+            timeToBest.add(record.metrics().getTimeToBestNanos() / 1000);
+            throughput.add((long) record.metrics().getMovesPerSecond());
+        }
+
+        public RunStatistics getBestCost()
+        {
+            return bestCost;
+        }
+
+        /**
+         * @return the {@code RunStatistics} of the microseconds from the start of each run to its best tour.
+         */
+        public RunStatistics getTimeToBest()
+        {
+            return timeToBest;
+        }
+
+        /**
+         * @return the {@code RunStatistics} of the moves evaluated per second of each run.
+         */
+        public RunStatistics getThroughput()
+        {
+            return throughput;
+        }
+    }
+
+    /**
+     * A random graph, or an instance file, shared by the jobs queued for it.
+     */
+    private static final class SharedGraph
+    {
+        private final int cities;
+        private final CostGraphGenerator generator;     //null for an instance
+        private final Path instance;                    //null for a random graph
+        private final MatrixLayout layout;
+        private final double targetGap;
+        private final AtomicInteger jobs = new AtomicInteger();     //jobs not yet finished
+        private CostGraph graph;
+        private int targetCost = Integer.MIN_VALUE;
+        private RunRecord exactRecord;                  //the Held-Karp run every exact job on the graph reports
+
+        private SharedGraph(int cities, CostGraphGenerator generator, Path instance, MatrixLayout layout,
+                            double targetGap)
+        {
+            this.cities = cities;
+            this.generator = generator;
+            this.instance = instance;
+            this.layout = layout;
+            this.targetGap = targetGap;
+        }
+
+        private synchronized CostGraph acquire()
+        {
+            if (graph == null)
+            {
+                graph = instance == null ? generator.generate(cities, layout) : load();
+                if (targetGap >= 0)
+                {
+                    int bound = cities <= ASSIGNMENT_BOUND_CITIES ? LowerBound.assignment(graph)
+                            : LowerBound.reduction(graph);
+                    targetCost = LowerBound.targetCost(bound, targetGap);
+                }
+            }
+            return graph;
+        }
+
+        private CostGraph load()
+        {
+            try
+            {
+                return CostGraphFile.load(instance, layout);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Solves the graph with {@code HeldKarpSolver} the first time it is asked and returns the same record after.
+         * @param budget the {@code SearchBudget} of the solve
+         * @param exactLock the {@code Object} held while solving, so only one Held-Karp table exists at a time
+         * @return the {@code RunRecord} of the optimal tour.
+         */
+        private synchronized RunRecord solveExactly(SearchBudget budget, Object exactLock)
+        {
+            if (exactRecord == null)
+            {
+                CostGraph costs = acquire();
+                HeldKarpSolver solver = new HeldKarpSolver();
+                synchronized (exactLock)
+                {
+                    solver.solve(costs, budget);
+                }
+                Results recorder = solver.getRecorder();
+                if (recorder == null || recorder.getRecords().isEmpty())
+                {
+                    throw new IllegalStateException("the budget ran out before Held-Karp finished on " + cities
+                            + " cities");
+                }
+                exactRecord = recorder.getRecords().get(0);
+            }
+            return exactRecord;
+        }
+
+        /**
+         * @return the {@code int} cost runs on the graph stop at; only valid after {@code acquire}.
+         */
+        private synchronized int getTargetCost()
+        {
+            return targetCost;
+        }
+
+        private void release()
+        {
+            if (jobs.decrementAndGet() == 0)
+            {
+                synchronized (this)
+                {
+                    graph = null;
+                    exactRecord = null;
+                }
+            }
+        }
+    }
+
+    private record Finished(ExperimentConfig.Configuration configuration, RunRecord record)
+    {
+    }
+
+    /**
+     * One run of a configuration on a shared graph.
+     */
+    private final class Job implements Callable<Finished>
+    {
+        private final ExperimentConfig.Configuration configuration;
+        private final SharedGraph graph;
+        private final long seed;
+        private final int runNumber;
+
+        private Job(ExperimentConfig.Configuration configuration, SharedGraph graph, long seed, int runNumber)
+        {
+            this.configuration = configuration;
+            this.graph = graph;
+            this.seed = seed;
+            this.runNumber = runNumber;
+        }
+
+        public Finished call()
+        {
+            try
+            {
+                MoveGenerator moves = configuration.neighbourhood().create(configuration.candidates());
+                Results recorder;
+                if (configuration.cities() <= config.getExactUpTo())
+                {
+                    return new Finished(configuration,
+                            graph.solveExactly(config.getBudget(), exactLock).withRunNumber(runNumber));
+                }
+                else if (configuration.algorithm() == ExperimentConfig.Algorithm.HILL_CLIMBING)
+                {
+                    HillClimbingSolver solver = new HillClimbingSolver(seed);
+                    solver.setMoveGenerator(moves);
+                    solver.setStartMode(configuration.startMode());
+                    solver.setDescentStrategy(configuration.descent());
+                    CostGraph costs = graph.acquire();
+                    solver.setTargetCost(graph.getTargetCost());
+                    solver.solve(costs, config.getBudget());
+                    recorder = solver.getRecorder();
+                }
+                else if (configuration.algorithm() == ExperimentConfig.Algorithm.PARALLEL_TEMPERING)
+                {
+                    ParallelTemperingSolver solver = new ParallelTemperingSolver(seed);
+                    double hottest = config.getInitialTemperature();
+                    solver.setLadder(4, hottest / 20, hottest);
+                    solver.setStartMode(configuration.startMode());
+                    CostGraph costs = graph.acquire();
+                    solver.setTargetCost(graph.getTargetCost());
+                    solver.solve(costs, config.getBudget());
+                    recorder = solver.getRecorder();
+                }
+                else if (configuration.algorithm() == ExperimentConfig.Algorithm.TABU)
+                {
+                    TabuSolver solver = new TabuSolver(seed);
+                    solver.setStartMode(configuration.startMode());
+                    CostGraph costs = graph.acquire();
+                    solver.setTargetCost(graph.getTargetCost());
+                    solver.solve(costs, config.getBudget());
+                    recorder = solver.getRecorder();
+                }
+                else
+                {
+                    AnnealingSolver solver = new AnnealingSolver(seed);
+                    solver.setCoolingSchedules(() -> configuration.schedule().create(config.getInitialTemperature()));
+                    solver.setMoveGenerator(moves);
+                    solver.setStartMode(configuration.startMode());
+                    CostGraph costs = graph.acquire();
+                    solver.setTargetCost(graph.getTargetCost());
+                    solver.solve(costs, config.getBudget());
+                    recorder = solver.getRecorder();
+                }
+                return new Finished(configuration, recorder.getRecords().get(0).withRunNumber(runNumber));
+            }
+            finally
+            {
+                graph.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      {@code CostMatrix} stored as a single row-major {@code int[]}; a lookup is one multiply-add and one array
+ *      read instead of chasing a row reference first.
+ *
+ **/
+
+public final class FlatCostMatrix implements CostMatrix {
+
+    static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int numOfCities;
+    private final int[] costs;
+
+    public FlatCostMatrix(int cityNumber)
+    {
+        if ((long) cityNumber * cityNumber > MAX_ARRAY_LENGTH)
+        {
+            throw new IllegalArgumentException(cityNumber + " cities do not fit in one array; use an off-heap layout");
+        }
+        numOfCities = cityNumber;
+        costs = new int[cityNumber * cityNumber];
+    }
+
+    public int getCityNumber()
+    {
+        return numOfCities;
+    }
+
+    public int getCost(int fromCity, int toCity)
+    {
+        return costs[fromCity * numOfCities + toCity];
+    }
+
+    public void setCost(int fromCity, int toCity, int cost)
+    {
+        costs[fromCity * numOfCities + toCity] = cost;
+    }
+}
@@ -0,0 +1,70 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Multiplies the temperature by a constant {@code alpha} after every {@code movesPerStep} evaluated moves,
+ *      freezing once it falls below a minimum temperature.
+ *
+ **/
+
+public class GeometricCoolingSchedule implements CoolingSchedule {
+
+    private final double initialTemperature;
+    private final double alpha;
+    private final int movesPerStep;
+    private final double minimumTemperature;
+    private double temperature;
+    private int movesAtTemperature = 0;
+
+    /**
+     * @param initialTemperature the {@code double} starting temperature
+     * @param alpha the {@code double} cooling factor, between 0 and 1
+     * @param movesPerStep the {@code int} number of moves evaluated at each temperature
+     * @param minimumTemperature the {@code double} temperature at which the schedule freezes.
+     */
+    public GeometricCoolingSchedule(double initialTemperature, double alpha, int movesPerStep,
+                                    double minimumTemperature)
+    {
+        if (alpha <= 0 || alpha >= 1)
+        {
+            throw new IllegalArgumentException("alpha must be between 0 and 1: " + alpha);
+        }
+        this.initialTemperature = initialTemperature;
+        this.alpha = alpha;
+        this.movesPerStep = Math.max(1, movesPerStep);
+        this.minimumTemperature = minimumTemperature;
+        temperature = initialTemperature;
+    }
+
+    public double getTemperature()
+    {
+        return temperature;
+    }
+
+    public void update(boolean worsening, boolean accepted)
+    {
+        if (++movesAtTemperature == movesPerStep)
+        {
+            movesAtTemperature = 0;
+            temperature *= alpha;
+        }
+    }
+
+    public boolean isFrozen()
+    {
+        return temperature < minimumTemperature;
+    }
+
+    public void reset()
+    {
+        temperature = initialTemperature;
+        movesAtTemperature = 0;
+    }
+
+    public String toString()
+    {
+        return String.format("Geometric T0=%.2f alpha=%.4f every %d moves", initialTemperature, alpha, movesPerStep);
+    }
+}
@@ -0,0 +1,209 @@
+package localsearching;
+
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Exact asymmetric Held-Karp dynamic programming for small graphs.  Tours start at city 0; for every subset S of
+ *      the other M = N-1 cities and every city j in S, the table holds the cost of the cheapest path from city 0
+ *      through all of S ending at j.  It is one flat {@code int[]} of 2^M * M entries indexed {@code mask * M + j},
+ *      with no parent table: the tour is reconstructed by walking back through the entries whose costs add up.
+ *      Subsets only depend on subsets one city smaller, so the table is filled a layer (subset size) at a time, with
+ *      every subset of a layer computed in parallel on the common {@code ForkJoinPool}.  Time is O(2^N * N^2) and
+ *      the table takes 2^(N-1) * (N-1) * 4 bytes, e.g. 44 MB at 20 cities and 1.6 GB at 25.
+ *
+ **/
+
+public final class HeldKarp
+{
+    public static final int MAX_CITIES = 25;
+
+    private final int cities;
+    private final int others;
+    private final int[] costs;          //costs[from * cities + to]
+
+    private int[] optimalTour;
+    private int optimalCost;
+    private long transitions;
+
+    /**
+     * @param graph the {@code CostGraph} to solve, of 2 to {@code MAX_CITIES} cities.
+     * @throws IllegalArgumentException if the graph is too small, too large, or its table would not fit in the
+     * maximum heap.
+     */
+    public HeldKarp(CostGraph graph)
+    {
+        cities = graph.getCityNumber();
+        if (cities < 2 || cities > MAX_CITIES)
+        {
+            throw new IllegalArgumentException("Held-Karp needs 2 to " + MAX_CITIES + " cities: " + cities);
+        }
+        if (getTableBytes(cities) > Runtime.getRuntime().maxMemory())
+        {
+            throw new IllegalArgumentException("the Held-Karp table for " + cities + " cities needs "
+                    + getTableBytes(cities) / (1 << 20) + " MB, more than the maximum heap");
+        }
+        others = cities - 1;
+        costs = new int[cities * cities];
+        for (int from = 0; from < cities; from++)
+        {
+            for (int to = 0; to < cities; to++)
+            {
+                costs[from * cities + to] = graph.getCost(from, to);
+            }
+        }
+    }
+
+    /**
+     * @param cities the {@code int} number of cities N
+     * @return the {@code long} bytes of the dynamic programming table for N cities.
+     */
+    public static long getTableBytes(int cities)
+    {
+        return (1L << (cities - 1)) * (cities - 1) * Integer.BYTES;
+    }
+
+    /**
+     * Fills the table and reconstructs an optimal tour.
+     * @return the optimal {@code int[]} tour, starting at city 0.
+     */
+    public int[] solve()
+    {
+        return solve(() -> false);
+    }
+
+    /**
+     * As {@code solve()}, asking {@code stop} before every layer.
+     * @param stop the {@code BooleanSupplier} that says when to give up
+     * @return the optimal {@code int[]} tour, or {@code null} if {@code stop} gave up first.
+     */
+    int[] solve(BooleanSupplier stop)
+    {
+        if (optimalTour != null)
+        {
+            return optimalTour.clone();
+        }
+        int[] table = new int[(int) ((1L << others) * others)];
+        for (int j = 0; j < others; j++)
+        {
+            table[(1 << j) * others + j] = cost(0, j + 1);
+        }
+        long counted = others;
+        long subsets = others;             //C(M, size), updated per layer
+        for (int size = 2; size <= others; size++)
+        {
+            if (stop.getAsBoolean())
+            {
+                return null;
+            }
+            int layer = size;
+            IntStream.range(0, 1 << others).parallel()
+                    .filter(mask -> Integer.bitCount(mask) == layer)
+                    .forEach(mask -> fill(table, mask));
+            subsets = subsets * (others - size + 1) / size;
+            counted += subsets * size * (size - 1);
+        }
+
+        int full = (1 << others) - 1;
+        int last = 0;
+        long best = Long.MAX_VALUE;
+        for (int j = 0; j < others; j++)
+        {
+            long tourCost = (long) table[full * others + j] + cost(j + 1, 0);
+            if (tourCost < best)
+            {
+                best = tourCost;
+                last = j;
+            }
+        }
+        transitions = counted + others;
+        optimalCost = (int) best;
+        optimalTour = reconstruct(table, full, last);
+        return optimalTour.clone();
+    }
+
+    /**
+     * Fills the entries of {@code mask} from those of the subsets one city smaller.
+     */
+    private void fill(int[] table, int mask)
+    {
+        for (int rest = mask; rest != 0; rest &= rest - 1)
+        {
+            int j = Integer.numberOfTrailingZeros(rest);
+            int previous = mask ^ (1 << j);
+            int best = Integer.MAX_VALUE;
+            for (int bits = previous; bits != 0; bits &= bits - 1)
+            {
+                int i = Integer.numberOfTrailingZeros(bits);
+                int pathCost = table[previous * others + i] + cost(i + 1, j + 1);
+                if (pathCost < best)
+                {
+                    best = pathCost;
+                }
+            }
+            table[mask * others + j] = best;
+        }
+    }
+
+    /**
+     * Walks back from the full subset ending at {@code last}, at each step finding a city whose path cost plus the
+     * edge to the current city gives the current entry.
+     */
+    private int[] reconstruct(int[] table, int full, int last)
+    {
+        int[] tour = new int[cities];
+        int mask = full;
+        int j = last;
+        for (int position = others; position > 0; position--)
+        {
+            tour[position] = j + 1;
+            int previous = mask ^ (1 << j);
+            if (previous == 0)
+            {
+                break;
+            }
+            int target = table[mask * others + j];
+            int from = -1;
+            for (int bits = previous; bits != 0; bits &= bits - 1)
+            {
+                int i = Integer.numberOfTrailingZeros(bits);
+                if (table[previous * others + i] + cost(i + 1, j + 1) == target)
+                {
+                    from = i;
+                    break;
+                }
+            }
+            mask = previous;
+            j = from;
+        }
+        return tour;
+    }
+
+    private int cost(int from, int to)
+    {
+        return costs[from * cities + to];
+    }
+
+    /**
+     * @return the {@code int} cost of the optimal tour; only valid after {@code solve}.
+     */
+    public int getOptimalCost()
+    {
+        if (optimalTour == null)
+        {
+            throw new IllegalStateException("solve has not finished");
+        }
+        return optimalCost;
+    }
+
+    /**
+     * @return the {@code long} number of (subset, last city, previous city) transitions evaluated by {@code solve}.
+     */
+    public long getTransitions()
+    {
+        return transitions;
+    }
+}
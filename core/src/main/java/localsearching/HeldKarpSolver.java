@@ -0,0 +1,49 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      {@code HeldKarp} as a {@code Solver}, for graphs of up to {@code HeldKarp.MAX_CITIES} cities.  The only tour
+ *      it publishes is the optimal one, once the table is full; the budget and cancellation are checked between
+ *      layers, and a solve stopped before the end returns {@code null}.
+ *
+ **/
+
+public class HeldKarpSolver extends AbstractSolver
+{
+    private Results recorder;
+
+    protected void search(CostGraph graph)
+    {
+        HeldKarp exact = new HeldKarp(graph);
+        City city = new City(graph, new SearchRandom(0));
+        recorder = new Results("Held-Karp", city);
+        SearchMetrics metrics = new SearchMetrics(System.nanoTime());
+
+        int[] tour = exact.solve(() -> shouldStop(0, 0));
+        if (tour == null)
+        {
+            return;
+        }
+        int cost = exact.getOptimalCost();
+        metrics.bestImproved();
+        metrics.finish(exact.getTransitions());
+        bestImproved(tour, cost, exact.getTransitions());
+        recorder.setOptimalCost(cost);
+
+        int[] startingTour = city.getStartingTourArrangement();
+        recorder.addRecord(new RunRecord(1, PackedTour.of(startingTour), city.calculateTourCost(startingTour),
+                PackedTour.of(tour), cost, exact.getTransitions(), exact.getTransitions(), 0, null, "exact",
+                metrics, null));
+    }
+
+    /**
+     * @return the {@code Results} holding the {@code RunRecord} of the last finished solve, or {@code null} before
+     * the first.
+     */
+    public Results getRecorder()
+    {
+        return recorder;
+    }
+}
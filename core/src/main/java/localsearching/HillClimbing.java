@@ -0,0 +1,464 @@
+package localsearching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Runs Hill Climbing with Random Restart algorithm on a given {@code City} cost graph.
+ **/
+
+public class HillClimbing {
+    City testTour;
+    int bestCost;
+    int currentTour[];
+    int bestTour[];
+
+    private final int NUM_RESTARTS = 15000;
+    long totalExecutionNumber = 0;
+    long executionNumberOfBestFound = 0;
+
+    MoveGenerator moveGenerator = new SwapMoveGenerator();
+    DescentStrategy descentStrategy = DescentStrategy.STEEPEST_DESCENT;
+    boolean dontLookBits = false;
+    int targetCost = Integer.MIN_VALUE;         //stop restarting once the best cost is at most this
+    private boolean[] dontLook;                 //indexed by city; reused across restarts
+    private final int[] affectedCities = new int[6];
+
+    Results recorder;
+    int currentRunNumber = 0;
+    SearchMetrics metrics = new SearchMetrics(System.nanoTime());
+    ConvergenceTrace trace;
+    private int climbedCost;                    //cost of the restart tour after the last getBestCostTour
+    private AbstractSolver solver;              //set while running under a HillClimbingSolver
+    private AtomicBoolean targetReached;        //shared by parallel workers, set once any of them reaches the target
+    private static final long STOP_CHECK_MASK = 0xFFF;      //a solver is checked once every 4096 moves
+
+
+    /**
+     * Base constructor
+     * @param newTour the {@code City} that contains the cost graph and starting tour for the search
+     */
+    public HillClimbing(City newTour) {
+        testTour = newTour;
+        setCurrentTour(testTour.getStartingTourArrangement());
+        setBestTour(currentTour);
+        setBestCost(testTour.calculateTourCost(bestTour));
+        recorder = new Results(true, newTour);
+    }
+
+    /**
+     * Runs outer loop of hill climbing (the random restarts) and stores all collected data for run.
+     */
+    public void runHillClimbingSearch() {
+        long startNanos = System.nanoTime();
+        metrics = new SearchMetrics(startNanos);
+        if (trace != null) {
+            trace.start(startNanos);
+        }
+
+        for (int i = 0; i < NUM_RESTARTS && bestCost > targetCost; i++) {
+            long restartStart = System.nanoTime();
+            getBestCostTour(testTour);
+            if (trace != null) {
+                trace.sample(totalExecutionNumber, climbedCost, bestCost);
+            }
+            testTour.generateRandomRestartTour();
+            metrics.restartFinished(System.nanoTime() - restartStart);
+        }
+        if (trace != null) {
+            trace.finish(totalExecutionNumber, climbedCost, bestCost);
+        }
+        recordRun();
+    }
+
+    /**
+     * Runs restarts for {@code control} until it says to stop, checking it after every restart and every 4096 moves
+     * within one, and telling it about every improvement of the best tour.  Restart 0 is the starting tour itself.
+     * The run is recorded like any other.
+     * @param control the {@code AbstractSolver} holding the budget, cancellation and best-so-far snapshot.
+     */
+    void solveWith(AbstractSolver control) {
+        long startNanos = System.nanoTime();
+        metrics = new SearchMetrics(startNanos);
+        solver = control;
+        try {
+            control.bestImproved(bestTour, bestCost, totalExecutionNumber);
+            boolean first = true;
+            do {
+                long restartStart = System.nanoTime();
+                if (!first) {
+                    testTour.generateRandomRestartTour();
+                }
+                first = false;
+                getBestCostTour(testTour);
+                metrics.restartFinished(System.nanoTime() - restartStart);
+            } while (bestCost > targetCost
+                    && !control.shouldStop(totalExecutionNumber, totalExecutionNumber - executionNumberOfBestFound));
+        } finally {
+            solver = null;
+        }
+        recordRun();
+    }
+
+    /**
+     * Parallel version of {@code runHillClimbingSearch} that uses every available core of the common
+     * {@code ForkJoinPool}.
+     * @param seed the {@code long} seed that all worker random restarts are derived from.
+     */
+    public void runParallelHillClimbingSearch(long seed) {
+        runParallelHillClimbingSearch(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors(), seed);
+    }
+
+    /**
+     * Parallel version of {@code runHillClimbingSearch}.  The random restarts are split into {@code workerCount}
+     * contiguous blocks; each block is climbed on {@code executor} by a worker with its own {@code City} tours over
+     * the shared cost graph and its own random stream split from {@code seed}.  The worker results are then reduced
+     * in block order to the global best tour, numbering each worker's executions after those of the blocks before
+     * it and keeping the earliest execution on ties, so the recorded run is the same for a given seed and worker
+     * count no matter how the executor schedules the workers.  With a target cost, every worker stops (within
+     * 4096 moves) as soon as any one of them reaches it; which restarts ran then depends on the scheduling.
+     * @param executor the {@code ExecutorService} the workers are submitted to
+     * @param workerCount the {@code int} number of blocks the restarts are split into
+     * @param seed the {@code long} seed that all worker random restarts are derived from.
+     */
+    public void runParallelHillClimbingSearch(ExecutorService executor, int workerCount, long seed) {
+        if (workerCount < 1 || workerCount > NUM_RESTARTS) {
+            throw new IllegalArgumentException("workerCount must be between 1 and " + NUM_RESTARTS + ": "
+                    + workerCount);
+        }
+
+        long startNanos = System.nanoTime();
+        metrics = new SearchMetrics(startNanos);
+        SearchRandom seedSource = new SearchRandom(seed);
+        AtomicBoolean reached = new AtomicBoolean(bestCost <= targetCost);
+
+        List<Callable<HillClimbing>> workers = new ArrayList<>();
+        for (int w = 0; w < workerCount; w++) {
+            int firstRestart = (int) ((long) w * NUM_RESTARTS / workerCount);
+            int lastRestart = (int) ((long) (w + 1) * NUM_RESTARTS / workerCount);
+            //split in order on this thread so seeds are repeatable
+            City workerCity = new City(testTour, seedSource.split());
+            HillClimbing worker = new HillClimbing(workerCity, this);
+            worker.metrics = new SearchMetrics(startNanos);
+            worker.targetReached = reached;
+            workers.add(() -> worker.climbRestarts(firstRestart, lastRestart));
+        }
+
+        try {
+            for (Future<HillClimbing> result : executor.invokeAll(workers)) {
+                HillClimbing worker = result.get();
+                long workerBestExecution = totalExecutionNumber + worker.executionNumberOfBestFound;
+                if (worker.bestCost < bestCost
+                        || (worker.bestCost == bestCost && workerBestExecution < executionNumberOfBestFound)) {
+                    executionNumberOfBestFound = workerBestExecution;
+                    setBestCost(worker.bestCost);
+                    setBestTour(worker.bestTour);
+                    metrics.setTimeToBest(worker.metrics.getTimeToBestNanos());
+                }
+                totalExecutionNumber += worker.totalExecutionNumber;
+                metrics.merge(worker.metrics);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("parallel hill climbing was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("parallel hill climbing worker failed", e.getCause());
+        }
+
+        recordRun();
+    }
+
+    /**
+     * Worker constructor for {@code runParallelHillClimbingSearch}; no {@code Results} are kept.
+     * The worker's execution numbers count from 0 and are offset when the workers are reduced.
+     * @param workerCity the worker's own {@code City} tours over the shared cost graph
+     * @param parent the {@code HillClimbing} whose move generator and descent settings the worker copies.
+     */
+    private HillClimbing(City workerCity, HillClimbing parent) {
+        testTour = workerCity;
+        moveGenerator = parent.moveGenerator.copy();
+        descentStrategy = parent.descentStrategy;
+        dontLookBits = parent.dontLookBits;
+        targetCost = parent.targetCost;
+        setBestTour(testTour.getStartingTourArrangement());
+        setBestCost(testTour.calculateTourCost(bestTour));
+    }
+
+    /**
+     * Climbs restarts {@code firstRestart} up to (not including) {@code lastRestart}; restart 0 is the starting tour
+     * itself, as it is for {@code runHillClimbingSearch}.
+     * @return this worker, holding its best tour, cost and execution numbers.
+     */
+    private HillClimbing climbRestarts(int firstRestart, int lastRestart) {
+        for (int i = firstRestart; i < lastRestart && !targetReached.get(); i++) {
+            long restartStart = System.nanoTime();
+            if (i != 0) {
+                testTour.generateRandomRestartTour();
+            }
+            getBestCostTour(testTour);
+            metrics.restartFinished(System.nanoTime() - restartStart);
+            if (bestCost <= targetCost) {
+                targetReached.set(true);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Stores the data collected for the run that just finished.
+     */
+    private void recordRun() {
+        currentRunNumber++;
+        metrics.finish(totalExecutionNumber);
+
+        int[] startingTour = testTour.getStartingTourArrangement();
+        recorder.addRecord(new RunRecord(currentRunNumber, PackedTour.of(startingTour),
+                testTour.calculateTourCost(startingTour), PackedTour.of(bestTour), bestCost, totalExecutionNumber,
+                executionNumberOfBestFound, (int) metrics.getRestarts(), null,
+                moveGenerator + ", " + descentStrategy + (dontLookBits ? " with don't-look bits" : ""), metrics,
+                trace == null ? null : trace.copy()));
+    }
+
+    /**
+     * Runs inner loop for Hill Climbing: searches the neighbourhood of the {@code MoveGenerator} (pairwise swaps by
+     * default) around the restart tour according to the {@code DescentStrategy}.  Moves are priced as a delta off
+     * the current tour and applied in place, so a descent allocates nothing; {@code SINGLE_PASS} undoes each
+     * improving move after copying it out, the descents keep going from it until the restart tour is a local
+     * optimum.  Every evaluated move counts as one execution.
+     * @param currentCity the randomly restarted {@code int[]} tour from {@code runHillClimbingSearch}; the descents
+     *                    climb it in place.
+     */
+    public void getBestCostTour(City currentCity) {
+        int[] restartedArrangement = currentCity.getRestartedTourArrangement();
+        int restartedCost = currentCity.getRestartedTourCost();
+
+        moveGenerator.bind(currentCity.getCostGraph(), restartedArrangement);
+        climbedCost = restartedCost;
+        if (descentStrategy == DescentStrategy.SINGLE_PASS) {
+            moveGenerator.startNeighbourhood();
+            while (moveGenerator.nextMove()) {
+                int movedCityCost = restartedCost + moveGenerator.delta();
+
+                totalExecutionNumber++;
+                if (movedCityCost < bestCost) {
+                    executionNumberOfBestFound = totalExecutionNumber;
+                    metrics.bestImproved();
+                    setBestCost(movedCityCost);
+                    moveGenerator.apply();
+                    setBestTour(restartedArrangement);
+                    moveGenerator.undo();
+                    if (solver != null) {
+                        solver.bestImproved(bestTour, bestCost, totalExecutionNumber);
+                    }
+                }
+                if (stopRequested()) {
+                    return;
+                }
+            }
+        } else if (dontLookBits) {
+            climbedCost = descendWithDontLookBits(restartedArrangement, restartedCost);
+        } else {
+            climbedCost = descend(restartedArrangement, restartedCost);
+        }
+    }
+
+    /**
+     * Descends from {@code tour} over the whole neighbourhood until a full scan finds no improving move.
+     * @param tour the bound {@code int[]} tour, changed in place
+     * @param tourCost the {@code int} cost of {@code tour}
+     * @return the {@code int} cost of the local optimum reached.
+     */
+    private int descend(int[] tour, int tourCost) {
+        boolean firstImprovement = descentStrategy == DescentStrategy.FIRST_IMPROVEMENT;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int bestDelta = 0;
+            moveGenerator.startNeighbourhood();
+            while (moveGenerator.nextMove()) {
+                int delta = moveGenerator.delta();
+
+                totalExecutionNumber++;
+                if (stopRequested()) {
+                    return tourCost;
+                }
+                if (delta < bestDelta) {
+                    if (firstImprovement) {
+                        moveGenerator.apply();
+                        metrics.moveAccepted();
+                        tourCost += delta;
+                        improved = true;
+                        recordIfBest(tour, tourCost);
+                    } else {
+                        bestDelta = delta;
+                        moveGenerator.saveMove();
+                    }
+                }
+            }
+            if (bestDelta < 0) {
+                moveGenerator.restoreMove();
+                moveGenerator.apply();
+                metrics.moveAccepted();
+                tourCost += bestDelta;
+                improved = true;
+                recordIfBest(tour, tourCost);
+            }
+        }
+        return tourCost;
+    }
+
+    /**
+     * Descends from {@code tour} with don't-look bits: only the moves anchored at a city whose bit is clear are
+     * searched, the bit is set when none of them improves, and it is cleared again when a move changes one of the
+     * city's edges.  The descent ends when every city's bit is set.  A move can also start to improve when edges
+     * elsewhere change, so the result is only approximately a local optimum; that is the price of not rescanning
+     * the whole neighbourhood.  The start city at index 0 is never moved, so it is never an anchor.
+     * @param tour the bound {@code int[]} tour, changed in place
+     * @param tourCost the {@code int} cost of {@code tour}
+     * @return the {@code int} cost of the tour reached.
+     */
+    private int descendWithDontLookBits(int[] tour, int tourCost) {
+        boolean firstImprovement = descentStrategy == DescentStrategy.FIRST_IMPROVEMENT;
+        if (dontLook == null || dontLook.length != tour.length) {
+            dontLook = new boolean[tour.length];
+        } else {
+            Arrays.fill(dontLook, false);
+        }
+
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int position = 1; position < tour.length; position++) {
+                if (dontLook[tour[position]]) {
+                    continue;
+                }
+                int bestDelta = 0;
+                moveGenerator.startNeighbourhood(position);
+                while (moveGenerator.nextMove()) {
+                    int delta = moveGenerator.delta();
+
+                    totalExecutionNumber++;
+                    if (stopRequested()) {
+                        return tourCost;
+                    }
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        moveGenerator.saveMove();
+                        if (firstImprovement) {
+                            break;
+                        }
+                    }
+                }
+                if (bestDelta < 0) {
+                    moveGenerator.restoreMove();
+                    moveGenerator.apply();
+                    metrics.moveAccepted();
+                    tourCost += bestDelta;
+                    improved = true;
+                    recordIfBest(tour, tourCost);
+                    int affected = moveGenerator.affectedCities(affectedCities);
+                    for (int i = 0; i < affected; i++) {
+                        dontLook[affectedCities[i]] = false;
+                    }
+                } else {
+                    dontLook[tour[position]] = true;
+                }
+            }
+        }
+        return tourCost;
+    }
+
+    /**
+     * Keeps {@code tour} as the best tour if it beats every tour found so far.
+     */
+    private void recordIfBest(int[] tour, int tourCost) {
+        if (tourCost < bestCost) {
+            executionNumberOfBestFound = totalExecutionNumber;
+            metrics.bestImproved();
+            setBestCost(tourCost);
+            setBestTour(tour);
+            if (solver != null) {
+                solver.bestImproved(bestTour, bestCost, totalExecutionNumber);
+            }
+        }
+    }
+
+    /**
+     * @return whether another parallel worker has reached the target cost, or a {@code HillClimbingSolver} is
+     * running this search and says to stop; both are only checked once every 4096 moves.
+     */
+    private boolean stopRequested() {
+        if ((totalExecutionNumber & STOP_CHECK_MASK) != 0) {
+            return false;
+        }
+        return (targetReached != null && targetReached.get()) || (solver != null
+                && solver.shouldStop(totalExecutionNumber, totalExecutionNumber - executionNumberOfBestFound));
+    }
+
+    /**
+     * Resets necessary variables back to starting condition in order to rerun the same search instance
+     * on the same {@code City} multiple times.
+     */
+    public void resetSearch() {
+        setBestTour(testTour.getStartingTourArrangement());
+        setBestCost(testTour.calculateTourCost(bestTour));
+        executionNumberOfBestFound = 0;
+        totalExecutionNumber = 0;
+    }
+
+    ////------------GETTERS & SETTERS---------------//////
+
+    public void setBestCost(int cost) { bestCost = cost; }
+
+    public void setBestTour(int tour[]) {
+        if (bestTour == null || bestTour.length != tour.length) {
+            bestTour = tour.clone();
+        } else {
+            System.arraycopy(tour, 0, bestTour, 0, tour.length);
+        }
+    }
+
+    public void setCurrentTour(int tour[]) { currentTour = tour.clone(); }
+
+    /**
+     * @param generator the {@code MoveGenerator} whose neighbourhood each restart is searched with.
+     */
+    public void setMoveGenerator(MoveGenerator generator) { moveGenerator = generator; }
+
+    /**
+     * @param strategy the {@code DescentStrategy} each restart is climbed with.
+     */
+    public void setDescentStrategy(DescentStrategy strategy) { descentStrategy = strategy; }
+
+    /**
+     * @param enabled whether the descents skip cities whose don't-look bit is set; ignored by {@code SINGLE_PASS}.
+     */
+    public void setDontLookBits(boolean enabled) { dontLookBits = enabled; }
+
+    /**
+     * @param cost the {@code int} best cost at which a run stops restarting, e.g.
+     *             {@code LowerBound.targetCost(LowerBound.assignment(graph), 0.01)} to stop within 1% of optimal;
+     *             parallel workers all stop once any one of them reaches it.
+     */
+    public void setTargetCost(int cost) { targetCost = cost; }
+
+    /**
+     * @param newTrace the {@code ConvergenceTrace} every sequential run is traced into, sampled once per restart
+     *                 with the cost the restart climbed to, or {@code null} for none.  Parallel runs are not traced.
+     */
+    public void setConvergenceTrace(ConvergenceTrace newTrace) { trace = newTrace; }
+
+    public Results getRecorder() {
+        return recorder;
+    }
+}
\ No newline at end of file
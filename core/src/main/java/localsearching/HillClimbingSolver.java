@@ -0,0 +1,84 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Hill Climbing with random restarts as a {@code Solver}: restarts run until the budget is used up or the
+ *      solver is cancelled, instead of a fixed number of them.  Each solve climbs a new {@code City} over the given
+ *      graph, with its own random stream split from the solver's seed.
+ *
+ **/
+
+public class HillClimbingSolver extends AbstractSolver
+{
+    private final SearchRandom seedSource;
+    private MoveGenerator moveGenerator = new SwapMoveGenerator();
+    private DescentStrategy descentStrategy = DescentStrategy.STEEPEST_DESCENT;
+    private boolean dontLookBits = false;
+    private StartMode startMode = StartMode.RANDOM;
+    private StartMode restartMode = StartMode.RANDOM;
+    private Results recorder;
+
+    /**
+     * @param seed the {@code long} seed the random stream of every solve is split from.
+     */
+    public HillClimbingSolver(long seed)
+    {
+        seedSource = new SearchRandom(seed);
+    }
+
+    protected void search(CostGraph graph)
+    {
+        City city = new City(graph, seedSource.split(), startMode);
+        city.setRestartMode(restartMode);
+        HillClimbing search = new HillClimbing(city);
+        search.setMoveGenerator(moveGenerator.copy());
+        search.setDescentStrategy(descentStrategy);
+        search.setDontLookBits(dontLookBits);
+        recorder = search.getRecorder();
+        search.solveWith(this);
+    }
+
+    /**
+     * @param generator the {@code MoveGenerator} each solve copies and searches with.
+     */
+    public void setMoveGenerator(MoveGenerator generator)
+    {
+        moveGenerator = generator;
+    }
+
+    public void setDescentStrategy(DescentStrategy strategy)
+    {
+        descentStrategy = strategy;
+    }
+
+    public void setDontLookBits(boolean enabled)
+    {
+        dontLookBits = enabled;
+    }
+
+    /**
+     * @param mode the {@code StartMode} the starting tour of each solve is built with.
+     */
+    public void setStartMode(StartMode mode)
+    {
+        startMode = mode;
+    }
+
+    /**
+     * @param mode the {@code StartMode} each restart tour is built with.
+     */
+    public void setRestartMode(StartMode mode)
+    {
+        restartMode = mode;
+    }
+
+    /**
+     * @return the {@code Results} holding the {@code RunRecord} of the last solve, or {@code null} before the first.
+     */
+    public Results getRecorder()
+    {
+        return recorder;
+    }
+}
@@ -0,0 +1,91 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      A histogram of nanosecond latencies in power-of-two buckets: bucket b counts the latencies below 2^b and at
+ *      least 2^(b-1).  Recording is a few primitive operations, the memory is fixed at 65 counters whatever the
+ *      number of latencies, and percentiles are reported as the upper bound of their bucket (so within a factor of
+ *      two).
+ *
+ **/
+
+public final class LatencyHistogram
+{
+    private final long[] buckets = new long[65];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * @param nanos the {@code long} latency to count; negative latencies count as 0.
+     */
+    public void record(long nanos)
+    {
+        nanos = Math.max(0, nanos);
+        buckets[64 - Long.numberOfLeadingZeros(nanos)]++;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * Adds every latency counted by {@code other} to this histogram.
+     * @param other the {@code LatencyHistogram} to add.
+     */
+    public void merge(LatencyHistogram other)
+    {
+        for (int b = 0; b < buckets.length; b++)
+        {
+            buckets[b] += other.buckets[b];
+        }
+        count += other.count;
+        totalNanos += other.totalNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    public long getCount()
+    {
+        return count;
+    }
+
+    public long getMaxNanos()
+    {
+        return maxNanos;
+    }
+
+    public double getMeanNanos()
+    {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * @param fraction the {@code double} quantile wanted, between 0 and 1 (0.99 for the 99th percentile)
+     * @return the {@code long} upper bound, in nanoseconds, of the bucket holding that quantile; 0 when empty.
+     */
+    public long getPercentileNanos(double fraction)
+    {
+        long rank = (long) Math.ceil(fraction * count);
+        long seen = 0;
+        for (int b = 0; b < buckets.length; b++)
+        {
+            seen += buckets[b];
+            if (seen >= rank && seen > 0)
+            {
+                return b == 0 ? 0 : Math.min(maxNanos, b == 64 ? Long.MAX_VALUE : (1L << b) - 1);
+            }
+        }
+        return 0;
+    }
+
+    public String toString()
+    {
+        if (count == 0)
+        {
+            return "none";
+        }
+        return String.format("%d, mean %.1f us, p50 <= %.1f us, p99 <= %.1f us, max %.1f us", count,
+                getMeanNanos() / 1e3, getPercentileNanos(0.5) / 1e3, getPercentileNanos(0.99) / 1e3, maxNanos / 1e3);
+    }
+}
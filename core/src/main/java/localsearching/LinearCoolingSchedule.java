@@ -0,0 +1,52 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Lowers the temperature in a straight line from its initial value to zero over a fixed number of moves, then
+ *      freezes; the run length is therefore known in advance.
+ *
+ **/
+
+public class LinearCoolingSchedule implements CoolingSchedule {
+
+    private final double initialTemperature;
+    private final long totalMoves;
+    private long moves = 0;
+
+    /**
+     * @param initialTemperature the {@code double} starting temperature
+     * @param totalMoves the {@code long} number of moves over which the temperature reaches zero.
+     */
+    public LinearCoolingSchedule(double initialTemperature, long totalMoves)
+    {
+        this.initialTemperature = initialTemperature;
+        this.totalMoves = Math.max(1, totalMoves);
+    }
+
+    public double getTemperature()
+    {
+        return initialTemperature * (totalMoves - moves) / totalMoves;
+    }
+
+    public void update(boolean worsening, boolean accepted)
+    {
+        moves++;
+    }
+
+    public boolean isFrozen()
+    {
+        return moves >= totalMoves;
+    }
+
+    public void reset()
+    {
+        moves = 0;
+    }
+
+    public String toString()
+    {
+        return String.format("Linear T0=%.2f over %d moves", initialTemperature, totalMoves);
+    }
+}
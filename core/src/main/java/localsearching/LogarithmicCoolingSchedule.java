@@ -0,0 +1,63 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The classic logarithmic schedule {@code T(k) = T0 / ln(k + e)}, with {@code k} counted in steps of
+ *      {@code movesPerStep} moves.  It cools very slowly and never freezes on its own, so it should be paired with
+ *      a {@code SearchBudget}.
+ *
+ **/
+
+public class LogarithmicCoolingSchedule implements CoolingSchedule {
+
+    private final double initialTemperature;
+    private final int movesPerStep;
+    private double temperature;
+    private long step = 0;
+    private int movesAtTemperature = 0;
+
+    /**
+     * @param initialTemperature the {@code double} starting temperature
+     * @param movesPerStep the {@code int} number of moves evaluated at each temperature.
+     */
+    public LogarithmicCoolingSchedule(double initialTemperature, int movesPerStep)
+    {
+        this.initialTemperature = initialTemperature;
+        this.movesPerStep = Math.max(1, movesPerStep);
+        temperature = initialTemperature;
+    }
+
+    public double getTemperature()
+    {
+        return temperature;
+    }
+
+    public void update(boolean worsening, boolean accepted)
+    {
+        if (++movesAtTemperature == movesPerStep)
+        {
+            movesAtTemperature = 0;
+            step++;
+            temperature = initialTemperature / Math.log(step + Math.E);
+        }
+    }
+
+    public boolean isFrozen()
+    {
+        return false;
+    }
+
+    public void reset()
+    {
+        temperature = initialTemperature;
+        step = 0;
+        movesAtTemperature = 0;
+    }
+
+    public String toString()
+    {
+        return String.format("Logarithmic T0=%.2f every %d moves", initialTemperature, movesPerStep);
+    }
+}
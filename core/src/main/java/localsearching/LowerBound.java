@@ -0,0 +1,162 @@
+package localsearching;
+
+import java.util.Arrays;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Lower bounds on the cost of the optimal tour of a {@code CostGraph}, for telling a search when its best tour is
+ *      close enough to optimal to stop.  Every tour is an assignment of each city to a different successor, so the
+ *      cheapest such assignment (without self-loops) bounds it from below; the assignment problem is solved exactly by
+ *      the Hungarian algorithm in O(N^3), about a second at 1000 cities.  For larger graphs the row and column
+ *      reduction bound, the first step of the same algorithm, is O(N^2) and never larger.
+ *
+ **/
+
+public final class LowerBound
+{
+    private LowerBound()
+    {
+    }
+
+    /**
+     * @param graph the {@code CostGraph} to bound
+     * @return the {@code int} cost of the cheapest assignment of every city to a different successor.
+     */
+    public static int assignment(CostGraph graph)
+    {
+        int n = graph.getCityNumber();
+        if (n < 2)
+        {
+            return 0;
+        }
+        long infinity = Long.MAX_VALUE / 4;
+        //shortest augmenting paths with potentials, rows and columns 1-based; column 0 is the unassigned sentinel
+        long[] rowPotential = new long[n + 1];
+        long[] columnPotential = new long[n + 1];
+        int[] rowOfColumn = new int[n + 1];
+        int[] previousColumn = new int[n + 1];
+        long[] slack = new long[n + 1];
+        boolean[] used = new boolean[n + 1];
+        for (int row = 1; row <= n; row++)
+        {
+            rowOfColumn[0] = row;
+            int column = 0;
+            Arrays.fill(slack, infinity);
+            Arrays.fill(used, false);
+            do
+            {
+                used[column] = true;
+                int currentRow = rowOfColumn[column];
+                long delta = infinity;
+                int nextColumn = 0;
+                for (int j = 1; j <= n; j++)
+                {
+                    if (!used[j])
+                    {
+                        long cost = currentRow == j ? infinity : graph.getCost(currentRow - 1, j - 1);
+                        long reduced = cost - rowPotential[currentRow] - columnPotential[j];
+                        if (reduced < slack[j])
+                        {
+                            slack[j] = reduced;
+                            previousColumn[j] = column;
+                        }
+                        if (slack[j] < delta)
+                        {
+                            delta = slack[j];
+                            nextColumn = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= n; j++)
+                {
+                    if (used[j])
+                    {
+                        rowPotential[rowOfColumn[j]] += delta;
+                        columnPotential[j] -= delta;
+                    }
+                    else
+                    {
+                        slack[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            }
+            while (rowOfColumn[column] != 0);
+            do
+            {
+                int previous = previousColumn[column];
+                rowOfColumn[column] = rowOfColumn[previous];
+                column = previous;
+            }
+            while (column != 0);
+        }
+        long total = 0;
+        for (int j = 1; j <= n; j++)
+        {
+            total += graph.getCost(rowOfColumn[j] - 1, j - 1);
+        }
+        return (int) total;
+    }
+
+    /**
+     * @param graph the {@code CostGraph} to bound
+     * @return the {@code int} sum of the cheapest edge out of every city plus the cheapest edge into every city once
+     * those are subtracted.
+     */
+    public static int reduction(CostGraph graph)
+    {
+        int n = graph.getCityNumber();
+        if (n < 2)
+        {
+            return 0;
+        }
+        int[] rowMinimum = new int[n];
+        int[] columnMinimum = new int[n];
+        Arrays.fill(columnMinimum, Integer.MAX_VALUE);
+        long total = 0;
+        for (int from = 0; from < n; from++)
+        {
+            int minimum = Integer.MAX_VALUE;
+            for (int to = 0; to < n; to++)
+            {
+                if (from != to)
+                {
+                    minimum = Math.min(minimum, graph.getCost(from, to));
+                }
+            }
+            rowMinimum[from] = minimum;
+            total += minimum;
+        }
+        for (int from = 0; from < n; from++)
+        {
+            for (int to = 0; to < n; to++)
+            {
+                if (from != to)
+                {
+                    columnMinimum[to] = Math.min(columnMinimum[to], graph.getCost(from, to) - rowMinimum[from]);
+                }
+            }
+        }
+        for (int to = 0; to < n; to++)
+        {
+            total += columnMinimum[to];
+        }
+        return (int) total;
+    }
+
+    /**
+     * @param lowerBound the {@code int} lower bound on the optimal cost
+     * @param gap the {@code double} fraction above the bound that is close enough, e.g. 0.01 for 1%
+     * @return the {@code int} largest cost within {@code gap} of {@code lowerBound}, for {@code setTargetCost}.
+     */
+    public static int targetCost(int lowerBound, double gap)
+    {
+        if (gap < 0)
+        {
+            throw new IllegalArgumentException("gap must not be negative: " + gap);
+        }
+        return (int) Math.floor(lowerBound * (1 + gap));
+    }
+}
@@ -0,0 +1,95 @@
+package localsearching;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Runs {@code SimulatedAnnealing} and {@code HillClimbing} five times each for a randomly generated
+ *      cost graph, five times. (i.e., 25 runs total for each algorithm).  The tables are appended to
+ *      "Collected Data", with each run's gap to the optimal tour found by {@code HeldKarp}, and every run is also
+ *      streamed to "Collected Data.csv".  Given the path of an {@code ExperimentConfig} file instead, runs that
+ *      experiment with {@code ExperimentRunner}.
+ **/
+
+public class Main {
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length > 0)
+        {
+            ExperimentRunner.main(args);
+            return;
+        }
+        try (ResultsWriter writer = new ResultsWriter(Paths.get("Collected Data.csv"), RecordFormat.CSV))
+        {
+            for (int i = 0; i < 5; i++)
+            {
+                CostGraph graph = new CostGraph(10);
+                System.out.println(graph.toString());
+                HeldKarp exact = new HeldKarp(graph);
+                exact.solve();
+                //each search gets its own tours over the shared graph
+                createSimulatedAnnealingRun(new City(graph), 5, writer, exact.getOptimalCost());
+                createHillClimbingRun(new City(graph), 5, writer, exact.getOptimalCost());
+
+            }
+        }
+    }
+
+    /**
+     * Creates a {@code SimulatedAnnealing} search instance for the given {@code City} cost graph,
+     * then runs the search for {@code numberOfRuns} times with different starting tours.
+     * @param cityGraph
+     * @param numberOfRuns
+     * @param writer the {@code ResultsWriter} each run is streamed to
+     * @param optimalCost the {@code int} optimal tour cost of the graph.
+     */
+    public static void createSimulatedAnnealingRun(City cityGraph, int numberOfRuns, ResultsWriter writer,
+                                                   int optimalCost)
+    {
+        SimulatedAnnealing search = new SimulatedAnnealing(cityGraph);
+        search.getRecorder().setWriter(writer);
+        search.getRecorder().setOptimalCost(optimalCost);
+        for (int i = 0; i < numberOfRuns; i++)
+        {
+            search.runAnnealingSearch();
+            cityGraph.generateRandomStartingTour();
+            search.resetSearch();
+        }
+        Results recorder = search.getRecorder();
+        String table = recorder.tabulateRecords();
+        recorder.saveToFile(table);
+        System.out.println(table);
+    }
+
+    /**
+     * Creates a {@code HillClimbing} search instance for the given {@code City} cost graph,
+     * then runs the search for {@code numberOfRuns} with different starting tours.
+     * @param cityGraph
+     * @param numberOfRuns
+     * @param writer the {@code ResultsWriter} each run is streamed to
+     * @param optimalCost the {@code int} optimal tour cost of the graph.
+     */
+    public static void createHillClimbingRun(City cityGraph, int numberOfRuns, ResultsWriter writer,
+                                             int optimalCost) {
+        HillClimbing search = new HillClimbing(cityGraph);
+        search.getRecorder().setWriter(writer);
+        search.getRecorder().setOptimalCost(optimalCost);
+
+        for (int i = 0; i < numberOfRuns; i++) {
+            search.runHillClimbingSearch();
+            cityGraph.generateRandomStartingTour();
+            search.resetSearch();
+        }
+
+        Results recorder = search.getRecorder();
+        String table = recorder.tabulateRecords();
+        recorder.saveToFile(table);
+        System.out.println(table);
+    }
+ }
+
+
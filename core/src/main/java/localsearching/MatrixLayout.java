@@ -0,0 +1,47 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The available {@code CostMatrix} memory layouts.  Costs are bounded to [-1, 2500] for generated graphs, so
+ *      the {@code short} layouts hold them in half the memory of the {@code int} ones; the off-heap layouts keep the
+ *      matrix out of the Java heap altogether (no GC scanning, and no 2^31 element limit).
+ *
+ **/
+
+public enum MatrixLayout {
+
+    /** one {@code int[]} object per row; the original layout. */
+    ARRAY,
+    /** a single row-major {@code int[]}. */
+    FLAT_INT,
+    /** a single row-major {@code short[]}. */
+    FLAT_SHORT,
+    /** row-major {@code int}s in direct {@code ByteBuffer}s. */
+    OFF_HEAP_INT,
+    /** row-major {@code short}s in direct {@code ByteBuffer}s. */
+    OFF_HEAP_SHORT;
+
+    /**
+     * Creates an empty (all zero) N-by-N matrix in this layout.
+     * @param cityNumber the {@code int} number of cities N
+     * @return the new {@code CostMatrix}.
+     */
+    public CostMatrix create(int cityNumber)
+    {
+        switch (this)
+        {
+            case ARRAY:
+                return new ArrayCostMatrix(cityNumber);
+            case FLAT_INT:
+                return new FlatCostMatrix(cityNumber);
+            case FLAT_SHORT:
+                return new ShortCostMatrix(cityNumber);
+            case OFF_HEAP_INT:
+                return OffHeapCostMatrix.allocate(cityNumber, Integer.BYTES);
+            default:
+                return OffHeapCostMatrix.allocate(cityNumber, Short.BYTES);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      A neighbourhood of tour moves that {@code HillClimbing} and {@code SimulatedAnnealing} can search.  A
+ *      generator is bound to one tour array, selects one move at a time (by enumerating the whole neighbourhood or
+ *      at random), prices the selected move in O(1) without touching the tour, and can apply and undo it in place.
+ *      No move ever changes the city at index 0 or reverses the direction of travel, so every move is valid on the
+ *      asymmetric cost graph.  Generators are stateful; each search (and each parallel worker) needs its own.
+ *
+ **/
+
+public interface MoveGenerator {
+
+    /**
+     * Attaches the generator to a tour; the tour is modified in place by {@code apply} and {@code undo}, and must
+     * not be changed any other way while bound (candidate-restricted generators keep an index of it).
+     * @param graph the {@code CostGraph} moves are priced on
+     * @param tour the {@code int[]} tour moves are made on.
+     */
+    void bind(CostGraph graph, int[] tour);
+
+    /**
+     * @return the {@code long} number of moves {@code nextMove} will enumerate on the bound tour; an upper bound
+     * for candidate-restricted generators, which skip the candidates that make no valid move.
+     */
+    long getNeighbourhoodSize();
+
+    /**
+     * Positions the enumeration before the first move of the neighbourhood.
+     */
+    void startNeighbourhood();
+
+    /**
+     * Positions the enumeration before the first move anchored at {@code position}, i.e. the moves that relocate
+     * the city at {@code position}; {@code nextMove} then enumerates only those.  Used with don't-look bits.
+     * @param position the {@code int} tour index the moves are anchored at, 1 or more.
+     */
+    void startNeighbourhood(int position);
+
+    /**
+     * Selects the next move of the enumeration.
+     * @return {@code false} once every move has been enumerated.
+     */
+    boolean nextMove();
+
+    /**
+     * Selects a move uniformly at random.
+     * @param random the search's {@code SearchRandom}.
+     */
+    void randomMove(SearchRandom random);
+
+    /**
+     * Remembers the selected move, e.g. the best one seen so far in a steepest-descent scan.
+     */
+    void saveMove();
+
+    /**
+     * Selects the move last remembered by {@code saveMove} again.
+     */
+    void restoreMove();
+
+    /**
+     * @return the {@code int} change in tour cost the selected move would cause.
+     */
+    int delta();
+
+    /**
+     * Makes the selected move on the bound tour.
+     */
+    void apply();
+
+    /**
+     * Reverts the last {@code apply}.
+     */
+    void undo();
+
+    /**
+     * Lists the cities whose incoming or outgoing edge was changed by the last {@code apply}; these are the cities
+     * whose don't-look bits must be cleared.  Cities may be listed more than once.
+     * @param cities an {@code int[]} of at least 6 elements to fill
+     * @return the {@code int} number of cities written.
+     */
+    int affectedCities(int[] cities);
+
+    /**
+     * @return a new, unbound generator of the same kind and configuration, e.g. for a parallel worker.
+     */
+    MoveGenerator copy();
+}
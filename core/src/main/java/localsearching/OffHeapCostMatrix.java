@@ -0,0 +1,145 @@
+package localsearching;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      {@code CostMatrix} stored row-major outside the Java heap, as either 2 or 4 byte little-endian costs.  The
+ *      rows are spread over as many direct (or memory-mapped) {@code ByteBuffer}s as needed, since one buffer is
+ *      limited to 2GB, so matrices far larger than the heap can be held without any GC pressure.
+ *
+ **/
+
+public final class OffHeapCostMatrix implements CostMatrix {
+
+    private final int numOfCities;
+    private final int bytesPerCost;
+    private final int rowShift;         //rows per buffer is a power of two so a lookup needs no division
+    private final int rowMask;
+    private final ByteBuffer[] buffers;
+
+    private OffHeapCostMatrix(int cityNumber, int bytesPerCost, int rowShift, ByteBuffer[] buffers)
+    {
+        this.numOfCities = cityNumber;
+        this.bytesPerCost = bytesPerCost;
+        this.rowShift = rowShift;
+        this.rowMask = (1 << rowShift) - 1;
+        this.buffers = buffers;
+    }
+
+    /**
+     * Allocates a zeroed matrix in direct memory.
+     * @param cityNumber the {@code int} number of cities N
+     * @param bytesPerCost {@code Short.BYTES} or {@code Integer.BYTES}
+     * @return the new {@code OffHeapCostMatrix}.
+     */
+    public static OffHeapCostMatrix allocate(int cityNumber, int bytesPerCost)
+    {
+        int rowShift = rowShift(cityNumber, bytesPerCost);
+        ByteBuffer[] buffers = new ByteBuffer[bufferCount(cityNumber, rowShift)];
+        for (int i = 0; i < buffers.length; i++)
+        {
+            buffers[i] = ByteBuffer.allocateDirect(bufferBytes(cityNumber, bytesPerCost, rowShift, i))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new OffHeapCostMatrix(cityNumber, bytesPerCost, rowShift, buffers);
+    }
+
+    /**
+     * Maps a matrix stored row-major in a file, starting at {@code position}.  With {@code MapMode.READ_WRITE}
+     * the file is grown to fit and costs written through {@code setCost} land in the file.
+     * @param channel the open {@code FileChannel} to map
+     * @param position the {@code long} file offset of the first cost
+     * @param cityNumber the {@code int} number of cities N
+     * @param bytesPerCost {@code Short.BYTES} or {@code Integer.BYTES}
+     * @param mode the {@code FileChannel.MapMode} to map the file with
+     * @return the new {@code OffHeapCostMatrix}.
+     * @throws IOException if the file cannot be mapped.
+     */
+    public static OffHeapCostMatrix map(FileChannel channel, long position, int cityNumber, int bytesPerCost,
+                                        FileChannel.MapMode mode) throws IOException
+    {
+        int rowShift = rowShift(cityNumber, bytesPerCost);
+        ByteBuffer[] buffers = new ByteBuffer[bufferCount(cityNumber, rowShift)];
+        long offset = position;
+        for (int i = 0; i < buffers.length; i++)
+        {
+            int size = bufferBytes(cityNumber, bytesPerCost, rowShift, i);
+            buffers[i] = channel.map(mode, offset, size).order(ByteOrder.LITTLE_ENDIAN);
+            offset += size;
+        }
+        return new OffHeapCostMatrix(cityNumber, bytesPerCost, rowShift, buffers);
+    }
+
+    public int getCityNumber()
+    {
+        return numOfCities;
+    }
+
+    public int getBytesPerCost()
+    {
+        return bytesPerCost;
+    }
+
+    public int getCost(int fromCity, int toCity)
+    {
+        ByteBuffer rows = buffers[fromCity >>> rowShift];
+        int index = (fromCity & rowMask) * numOfCities + toCity;
+        if (bytesPerCost == Short.BYTES)
+        {
+            return rows.getShort(index << 1);
+        }
+        return rows.getInt(index << 2);
+    }
+
+    public void setCost(int fromCity, int toCity, int cost)
+    {
+        ByteBuffer rows = buffers[fromCity >>> rowShift];
+        int index = (fromCity & rowMask) * numOfCities + toCity;
+        if (bytesPerCost == Short.BYTES)
+        {
+            if (cost < Short.MIN_VALUE || cost > Short.MAX_VALUE)
+            {
+                throw new IllegalArgumentException("cost " + cost + " does not fit in a short");
+            }
+            rows.putShort(index << 1, (short) cost);
+        }
+        else
+        {
+            rows.putInt(index << 2, cost);
+        }
+    }
+
+    ////---------LAYOUT HELPERS------//////////
+
+    /**
+     * @return log2 of the largest power-of-two number of whole rows that fit in one 2GB buffer.
+     */
+    private static int rowShift(int cityNumber, int bytesPerCost)
+    {
+        if (bytesPerCost != Short.BYTES && bytesPerCost != Integer.BYTES)
+        {
+            throw new IllegalArgumentException("bytesPerCost must be 2 or 4: " + bytesPerCost);
+        }
+        long rowBytes = (long) cityNumber * bytesPerCost;
+        long rowsPerBuffer = Math.max(1, Integer.MAX_VALUE / Math.max(1, rowBytes));
+        return Math.min(30, 63 - Long.numberOfLeadingZeros(rowsPerBuffer));
+    }
+
+    private static int bufferCount(int cityNumber, int rowShift)
+    {
+        return Math.max(1, (int) (((long) cityNumber + (1L << rowShift) - 1) >>> rowShift));
+    }
+
+    private static int bufferBytes(int cityNumber, int bytesPerCost, int rowShift, int buffer)
+    {
+        long firstRow = (long) buffer << rowShift;
+        long rows = Math.min(1L << rowShift, cityNumber - firstRow);
+        return (int) (rows * cityNumber * bytesPerCost);
+    }
+}
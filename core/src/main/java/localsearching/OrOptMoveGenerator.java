@@ -0,0 +1,38 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Or-opt: relocate a segment of one to three consecutive cities elsewhere in the tour, keeping its direction.
+ *      The short segments keep the neighbourhood O(N^2) like the swap neighbourhood.
+ *
+ **/
+
+public class OrOptMoveGenerator extends SegmentInsertionMoveGenerator {
+
+    static final int OR_OPT_SEGMENT_LENGTH = 3;
+
+    public OrOptMoveGenerator()
+    {
+        super(OR_OPT_SEGMENT_LENGTH);
+    }
+
+    /**
+     * @param candidateCount the {@code int} k of {@code CandidateLists} neighbours insertions are restricted to.
+     */
+    public OrOptMoveGenerator(int candidateCount)
+    {
+        super(OR_OPT_SEGMENT_LENGTH, candidateCount);
+    }
+
+    public MoveGenerator copy()
+    {
+        return new OrOptMoveGenerator(getCandidateCount());
+    }
+
+    public String toString()
+    {
+        return getCandidateCount() > 0 ? "Or-opt (" + getCandidateCount() + " candidates)" : "Or-opt";
+    }
+}
@@ -0,0 +1,148 @@
+package localsearching;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      An immutable tour stored in the fewest bits that can hold any city number: ceil(log2 N) bits per city
+ *      packed into a {@code long[]}, e.g. 14 bits instead of 32 for 10000 cities.  Used to keep the tours of many
+ *      {@code RunRecord}s in memory cheaply.
+ *
+ **/
+
+public final class PackedTour
+{
+    private final int length;
+    private final int bitsPerCity;
+    private final long[] words;
+
+    private PackedTour(int length, int bitsPerCity, long[] words)
+    {
+        this.length = length;
+        this.bitsPerCity = bitsPerCity;
+        this.words = words;
+    }
+
+    /**
+     * @param tour an {@code int[]} tour of the cities 0 to N - 1
+     * @return the {@code PackedTour} holding a copy of {@code tour}.
+     */
+    public static PackedTour of(int[] tour)
+    {
+        int bitsPerCity = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(0, tour.length - 1)));
+        long[] words = new long[(int) (((long) tour.length * bitsPerCity + 63) >>> 6)];
+        for (int i = 0; i < tour.length; i++)
+        {
+            long bit = (long) i * bitsPerCity;
+            int word = (int) (bit >>> 6);
+            int offset = (int) (bit & 63);
+            words[word] |= (long) tour[i] << offset;
+            if (offset + bitsPerCity > 64)
+            {
+                words[word + 1] |= (long) tour[i] >>> (64 - offset);    //the city straddles two words
+            }
+        }
+        return new PackedTour(tour.length, bitsPerCity, words);
+    }
+
+    /**
+     * @return the {@code int} number of cities in the tour.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * @param index the {@code int} tour index, 0 to N - 1
+     * @return the {@code int} city at {@code index}.
+     */
+    public int get(int index)
+    {
+        if (index < 0 || index >= length)
+        {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + length);
+        }
+        long bit = (long) index * bitsPerCity;
+        int word = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        long value = words[word] >>> offset;
+        if (offset + bitsPerCity > 64)
+        {
+            value |= words[word + 1] << (64 - offset);
+        }
+        return (int) (value & ((1L << bitsPerCity) - 1));
+    }
+
+    /**
+     * @return a new {@code int[]} holding the tour.
+     */
+    public int[] toArray()
+    {
+        int[] tour = new int[length];
+        for (int i = 0; i < length; i++)
+        {
+            tour[i] = get(i);
+        }
+        return tour;
+    }
+
+    /**
+     * Writes the tour as its {@code int} length, its {@code byte} bits per city and its packed {@code long} words.
+     * @param buffer the {@code ByteBuffer} to write to, with at least {@code getEncodedSize} bytes remaining.
+     */
+    public void writeTo(ByteBuffer buffer)
+    {
+        buffer.putInt(length);
+        buffer.put((byte) bitsPerCity);
+        for (long word : words)
+        {
+            buffer.putLong(word);
+        }
+    }
+
+    /**
+     * @return the {@code int} number of bytes {@code writeTo} writes.
+     */
+    public int getEncodedSize()
+    {
+        return Integer.BYTES + 1 + words.length * Long.BYTES;
+    }
+
+    /**
+     * Reads a tour written by {@code writeTo}.
+     * @param buffer the {@code ByteBuffer} to read from
+     * @return the {@code PackedTour} read.
+     */
+    public static PackedTour readFrom(ByteBuffer buffer)
+    {
+        int length = buffer.getInt();
+        int bitsPerCity = buffer.get();
+        long[] words = new long[(int) (((long) length * bitsPerCity + 63) >>> 6)];
+        for (int i = 0; i < words.length; i++)
+        {
+            words[i] = buffer.getLong();
+        }
+        return new PackedTour(length, bitsPerCity, words);
+    }
+
+    public boolean equals(Object other)
+    {
+        return other instanceof PackedTour
+                && ((PackedTour) other).length == length
+                && Arrays.equals(((PackedTour) other).words, words);
+    }
+
+    public int hashCode()
+    {
+        return 31 * length + Arrays.hashCode(words);
+    }
+
+    public String toString()
+    {
+        return City.tourToString(toArray());
+    }
+}
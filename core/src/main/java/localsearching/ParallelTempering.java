@@ -0,0 +1,332 @@
+package localsearching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Runs multi-chain Simulated Annealing (parallel tempering / replica exchange) on a given {@code City} cost
+ *      graph.  K replicas, each with its own tours over the shared {@code CostGraph}, sit on a geometric ladder of
+ *      fixed temperatures.  Every round each replica runs a sweep of Metropolis swap moves on its own thread, then
+ *      neighbouring rungs of the ladder offer to exchange their tours, so good tours found by the hot, exploring
+ *      replicas drift down to the cold, refining ones.  The whole search is recorded as a single run.
+ *
+ **/
+
+public class ParallelTempering
+{
+    int currentBestCost;
+    int[] currentBestTour;
+
+    City cityGraph;
+
+    long totalExecutionNumber = 0;
+    long executionNumberOfBestFound = 0;
+    int exchangesAccepted = 0;
+    Results recorder;
+
+    private final double[] temperatures;
+    private int sweepLength;
+    SearchBudget budget;
+
+    private static final int DEFAULT_SWEEPS_PER_PAIR = 1;
+    private static final int DEFAULT_STAGNATION_PER_PAIR = 10;
+
+    int currentRunNumber = 0;
+    SearchMetrics metrics;
+    private AbstractSolver solver;      //set while running under a ParallelTemperingSolver
+
+    /**
+     * Base constructor
+     * @param tourGraph the {@code City} that contains the cost graph and starting tour for the search
+     * @param replicaCount the {@code int} number of replicas K, at least 2
+     * @param minTemperature the {@code double} temperature of the coldest replica
+     * @param maxTemperature the {@code double} temperature of the hottest replica.
+     */
+    public ParallelTempering(City tourGraph, int replicaCount, double minTemperature, double maxTemperature)
+    {
+        checkLadder(replicaCount, minTemperature, maxTemperature);
+
+        cityGraph = tourGraph;
+        currentBestTour = tourGraph.getStartingTourArrangement().clone();
+        currentBestCost = tourGraph.calculateTourCost(currentBestTour);
+        recorder = new Results(false, tourGraph);
+
+        temperatures = new double[replicaCount];
+        double ratio = Math.pow(maxTemperature / minTemperature, 1.0 / (replicaCount - 1));
+        for (int i = 0; i < replicaCount; i++)
+        {
+            temperatures[i] = minTemperature * Math.pow(ratio, i);
+        }
+
+        long swapPairs = (long) tourGraph.getCityNumber() * (tourGraph.getCityNumber() - 1) / 2;
+        sweepLength = (int) Math.max(100, Math.min(Integer.MAX_VALUE, DEFAULT_SWEEPS_PER_PAIR * swapPairs));
+        budget = SearchBudget.unlimited()
+                .withStagnationLimit(Math.max(1000, DEFAULT_STAGNATION_PER_PAIR * swapPairs) * replicaCount);
+    }
+
+    /**
+     * @throws IllegalArgumentException unless there are at least 2 replicas and {@code 0 < min < max}.
+     */
+    static void checkLadder(int replicaCount, double minTemperature, double maxTemperature)
+    {
+        if (replicaCount < 2)
+        {
+            throw new IllegalArgumentException("parallel tempering needs at least 2 replicas: " + replicaCount);
+        }
+        if (minTemperature <= 0 || maxTemperature <= minTemperature)
+        {
+            throw new IllegalArgumentException("temperatures must satisfy 0 < min < max: " + minTemperature
+                    + ", " + maxTemperature);
+        }
+    }
+
+    /**
+     * Resets necessary variables back to starting condition in order to rerun the same search instance
+     * on the same {@code City} multiple times.
+     */
+    public void resetSearch()
+    {
+        System.arraycopy(cityGraph.getStartingTourArrangement(), 0, currentBestTour, 0, currentBestTour.length);
+        currentBestCost = cityGraph.calculateTourCost(currentBestTour);
+        executionNumberOfBestFound = 0;
+        totalExecutionNumber = 0;
+        exchangesAccepted = 0;
+    }
+
+    /**
+     * Runs the search on the common {@code ForkJoinPool}.
+     * @param seed the {@code long} seed all replica and exchange randomness is derived from.
+     */
+    public void runTemperingSearch(long seed)
+    {
+        runTemperingSearch(ForkJoinPool.commonPool(), seed);
+    }
+
+    /**
+     * Runs rounds of parallel sweeps followed by replica exchanges until the {@code SearchBudget} is used up, then
+     * saves the collected data.  Replica moves are numbered globally (round, then rung, then move within the sweep)
+     * and exchanges are decided on the calling thread, so a run is repeatable for a given seed whatever the executor.
+     * @param executor the {@code ExecutorService} the replica sweeps are submitted to
+     * @param seed the {@code long} seed all replica and exchange randomness is derived from.
+     */
+    public void runTemperingSearch(ExecutorService executor, long seed)
+    {
+        SearchRandom exchangeRandom = new SearchRandom(seed);
+        Replica[] ladder = new Replica[temperatures.length];
+        for (int i = 0; i < ladder.length; i++)
+        {
+            ladder[i] = new Replica(new City(cityGraph, exchangeRandom.split()));
+        }
+
+        SearchBudget runBudget = solver != null ? SearchBudget.unlimited() : budget;
+        long startNanos = System.nanoTime();
+        metrics = new SearchMetrics(startNanos);
+        if (solver != null)
+        {
+            solver.bestImproved(currentBestTour, currentBestCost, totalExecutionNumber);
+        }
+        for (int round = 0; ; round++)
+        {
+            long sinceImprovement = totalExecutionNumber - executionNumberOfBestFound;
+            if (runBudget.isExhaustedAfter(totalExecutionNumber, sinceImprovement, System.nanoTime() - startNanos)
+                    || (solver != null && solver.shouldStop(totalExecutionNumber, sinceImprovement)))
+            {
+                break;
+            }
+
+            long roundStart = System.nanoTime();
+            List<Callable<Replica>> sweeps = new ArrayList<>();
+            for (int i = 0; i < ladder.length; i++)
+            {
+                Replica replica = ladder[i];
+                double temperature = temperatures[i];
+                sweeps.add(() -> replica.sweep(temperature, sweepLength));
+            }
+            runSweeps(executor, sweeps);
+
+            boolean improved = false;
+            for (int i = 0; i < ladder.length; i++)
+            {
+                Replica replica = ladder[i];
+                metrics.movesAccepted(replica.acceptedInSweep);
+                if (replica.bestCost < currentBestCost)
+                {
+                    metrics.bestImproved();
+                    currentBestCost = replica.bestCost;
+                    System.arraycopy(replica.bestTour, 0, currentBestTour, 0, currentBestTour.length);
+                    executionNumberOfBestFound = totalExecutionNumber + (long) i * sweepLength
+                            + replica.bestMoveInSweep;
+                    improved = true;
+                }
+            }
+            totalExecutionNumber += (long) ladder.length * sweepLength;
+            if (improved && solver != null)
+            {
+                solver.bestImproved(currentBestTour, currentBestCost, executionNumberOfBestFound);
+            }
+
+            exchangeNeighbours(ladder, round & 1, exchangeRandom);
+            metrics.roundFinished(System.nanoTime() - roundStart);
+        }
+        currentRunNumber++;
+        metrics.finish(totalExecutionNumber);
+
+        int[] startingTour = cityGraph.getStartingTourArrangement();
+        recorder.addRecord(new RunRecord(currentRunNumber, PackedTour.of(startingTour),
+                cityGraph.calculateTourCost(startingTour), PackedTour.of(currentBestTour), currentBestCost,
+                totalExecutionNumber, executionNumberOfBestFound, 0, toString(), null, metrics, null));
+    }
+
+    /**
+     * Offers an exchange between rungs (first, first + 1), (first + 2, first + 3), ...; alternating {@code first}
+     * between 0 and 1 each round lets tours travel the whole ladder.  An exchange between the colder rung {@code i}
+     * and hotter rung {@code j} is accepted with probability {@code min(1, e^((1/Ti - 1/Tj)(Ei - Ej)))}, which
+     * always moves a better tour to the colder rung.
+     */
+    private void exchangeNeighbours(Replica[] ladder, int first, SearchRandom exchangeRandom)
+    {
+        for (int i = first; i + 1 < ladder.length; i += 2)
+        {
+            double exponent = (1 / temperatures[i] - 1 / temperatures[i + 1])
+                    * (ladder[i].currentCost - ladder[i + 1].currentCost);
+            if (exponent >= 0 || exchangeRandom.nextDouble() <= ExpTable.negativeExp(-exponent))
+            {
+                Replica colder = ladder[i];
+                ladder[i] = ladder[i + 1];
+                ladder[i + 1] = colder;
+                exchangesAccepted++;
+            }
+        }
+    }
+
+    private static void runSweeps(ExecutorService executor, List<Callable<Replica>> sweeps)
+    {
+        try
+        {
+            for (Future<Replica> sweep : executor.invokeAll(sweeps))
+            {
+                sweep.get();
+            }
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("parallel tempering was interrupted", e);
+        } catch (ExecutionException e)
+        {
+            throw new IllegalStateException("parallel tempering replica failed", e.getCause());
+        }
+    }
+
+    /**
+     * One Metropolis chain; which temperature it runs at is decided by its current rung of the ladder.
+     */
+    private static class Replica
+    {
+        final City city;
+        int currentCost;
+        int bestCost;
+        final int[] bestTour;
+        int bestMoveInSweep;
+        int acceptedInSweep;
+
+        Replica(City replicaCity)
+        {
+            city = replicaCity;
+            currentCost = city.getCurrentTourCost();
+            bestCost = currentCost;
+            bestTour = city.getStartingTourArrangement().clone();
+        }
+
+        /**
+         * Runs {@code moves} random swap moves at a fixed {@code temperature}, undoing rejected ones.
+         * @return this replica; {@code bestMoveInSweep} is the move of this sweep that improved {@code bestCost}
+         *          last, if any did.
+         */
+        Replica sweep(double temperature, int moves)
+        {
+            SearchRandom random = city.getRandom();
+            bestMoveInSweep = -1;
+            acceptedInSweep = 0;
+            for (int move = 0; move < moves; move++)
+            {
+                int[] swappedCity = city.randomCitySwap();
+                int deltaE = city.getCurrentTourCost() - currentCost;
+
+                if (deltaE <= 0 || random.nextDouble() <= ExpTable.negativeExp(deltaE / temperature))
+                {
+                    currentCost += deltaE;
+                    acceptedInSweep++;
+                    if (currentCost < bestCost)
+                    {
+                        bestCost = currentCost;
+                        System.arraycopy(swappedCity, 0, bestTour, 0, bestTour.length);
+                        bestMoveInSweep = move;
+                    }
+                }
+                else
+                {
+                    city.undoRandomCitySwap();
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Runs {@code runTemperingSearch} for {@code control}: its budget replaces this search's own, it is checked
+     * between rounds, and it is told about every round that improves the best tour.
+     * @param control the {@code AbstractSolver} holding the budget, cancellation and best-so-far snapshot
+     * @param executor the {@code ExecutorService} the replica sweeps are submitted to
+     * @param seed the {@code long} seed all replica and exchange randomness is derived from.
+     */
+    void solveWith(AbstractSolver control, ExecutorService executor, long seed)
+    {
+        solver = control;
+        try
+        {
+            runTemperingSearch(executor, seed);
+        }
+        finally
+        {
+            solver = null;
+        }
+    }
+
+    //////-----------------GETTERS & SETTERS--------------///////
+
+    /**
+     * @param moves the {@code int} number of moves each replica makes between exchanges.
+     */
+    public void setSweepLength(int moves)
+    {
+        sweepLength = Math.max(1, moves);
+    }
+
+    /**
+     * @param newBudget the {@code SearchBudget} a run is limited to, counting the moves of all replicas; checked
+     *                  between rounds.  Replaces the default stagnation limit.
+     */
+    public void setBudget(SearchBudget newBudget)
+    {
+        budget = newBudget;
+    }
+
+    public Results getRecorder()
+    {
+        return recorder;
+    }
+
+    public String toString()
+    {
+        return String.format("Parallel tempering, %d replicas T=%.2f..%.2f, %d moves per exchange",
+                temperatures.length, temperatures[0], temperatures[temperatures.length - 1], sweepLength);
+    }
+}
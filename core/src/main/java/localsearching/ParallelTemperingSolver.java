@@ -0,0 +1,93 @@
+package localsearching;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Parallel tempering as a {@code Solver}: one tempering run that ends when the budget, checked between rounds,
+ *      is used up or the solver is cancelled.  Each solve tempers a new {@code City} over the given graph, with its
+ *      starting tour and replica seed drawn from the solver's seed, so a solve is repeatable whatever the executor
+ *      the replica sweeps run on.
+ *
+ **/
+
+public class ParallelTemperingSolver extends AbstractSolver
+{
+    private final SearchRandom seedSource;
+    private ExecutorService executor = ForkJoinPool.commonPool();
+    private int replicaCount = 4;
+    private double minTemperature = 1;
+    private double maxTemperature = 20;
+    private int sweepLength = -1;           //-1 keeps the search's default
+    private StartMode startMode = StartMode.RANDOM;
+    private Results recorder;
+
+    /**
+     * @param seed the {@code long} seed the random streams of every solve are drawn from.
+     */
+    public ParallelTemperingSolver(long seed)
+    {
+        seedSource = new SearchRandom(seed);
+    }
+
+    protected void search(CostGraph graph)
+    {
+        ParallelTempering search = new ParallelTempering(new City(graph, seedSource.split(), startMode),
+                replicaCount, minTemperature, maxTemperature);
+        if (sweepLength > 0)
+        {
+            search.setSweepLength(sweepLength);
+        }
+        recorder = search.getRecorder();
+        search.solveWith(this, executor, seedSource.nextLong());
+    }
+
+    /**
+     * @param newExecutor the {@code ExecutorService} the replica sweeps are submitted to; the common
+     *                    {@code ForkJoinPool} by default.
+     */
+    public void setExecutor(ExecutorService newExecutor)
+    {
+        executor = newExecutor;
+    }
+
+    /**
+     * @param replicas the {@code int} number of replicas K, at least 2 (default 4)
+     * @param coldest the {@code double} temperature of the coldest replica (default 1)
+     * @param hottest the {@code double} temperature of the hottest replica (default 20).
+     */
+    public void setLadder(int replicas, double coldest, double hottest)
+    {
+        ParallelTempering.checkLadder(replicas, coldest, hottest);
+        replicaCount = replicas;
+        minTemperature = coldest;
+        maxTemperature = hottest;
+    }
+
+    /**
+     * @param moves the {@code int} number of moves each replica makes between exchanges.
+     */
+    public void setSweepLength(int moves)
+    {
+        sweepLength = Math.max(1, moves);
+    }
+
+    /**
+     * @param mode the {@code StartMode} the starting tour of each solve is built with.
+     */
+    public void setStartMode(StartMode mode)
+    {
+        startMode = mode;
+    }
+
+    /**
+     * @return the {@code Results} holding the {@code RunRecord} of the last solve, or {@code null} before the first.
+     */
+    public Results getRecorder()
+    {
+        return recorder;
+    }
+}
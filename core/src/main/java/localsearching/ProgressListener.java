@@ -0,0 +1,20 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Receives the progress of a running {@code Solver}, at most once per the interval it was registered with.
+ *      Called on the solving thread, so implementations should return quickly.
+ *
+ **/
+
+public interface ProgressListener {
+
+    /**
+     * @param best the {@code Solution} best so far
+     * @param iterations the {@code long} number of moves evaluated so far
+     * @param elapsedNanos the {@code long} nanoseconds since the solve started.
+     */
+    void progress(Solution best, long iterations, long elapsedNanos);
+}
@@ -0,0 +1,20 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The machine-readable formats a {@code ResultsWriter} can stream {@code RunRecord}s in; the ASCII table of
+ *      {@code Results.tabulateRecords} stays the human-readable one.  Tours are written as 0-based city numbers.
+ *
+ **/
+
+public enum RecordFormat {
+
+    /** comma separated values with a header row; tours are space separated city numbers. */
+    CSV,
+    /** one JSON object per line; tours are arrays of city numbers. */
+    JSON_LINES,
+    /** little-endian fixed fields followed by the strings and the bit-packed tours; see {@code ResultsWriter}. */
+    BINARY
+}
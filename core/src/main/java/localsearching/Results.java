@@ -0,0 +1,374 @@
+package localsearching;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Support class for {@code SimulatedAnnealing}, {@code HillClimbing} and the other searches; keeps track of
+ *      various performance stats and then formats them nicely in table form and saves to disk.
+ **/
+
+public class Results {
+
+
+    boolean isHillClimbing;
+    String title;
+    City cityGraph;
+    int optimalCost = -1;               //of the graph, when known
+
+    ArrayList<RunRecord> records = new ArrayList<>();
+    ResultsWriter writer;
+    ArrayList<SearchListener> listeners = new ArrayList<>();
+
+    /**
+     * Base constructor
+     * @param whichType simple {@code boolean} flag to determine which algorithm is run; True for HillClimbing,
+     *                  False for SimulatedAnnealing
+     * @param startingCityGraph reference to the {@code City} that the algorithms are currently running on.
+     */
+    public Results(boolean whichType, City startingCityGraph)
+    {
+        if (whichType)
+        {
+            isHillClimbing = true;
+        } else
+        {
+            isHillClimbing = false;
+        }
+        title = isHillClimbing ? "Hill-Climbing with Random Restart" : "Simulated Annealing";
+        cityGraph = startingCityGraph;
+    }
+
+    /**
+     * Constructor for any other search, whose tables are headed by {@code searchTitle}; it is treated like
+     * {@code SimulatedAnnealing}, so the graph is saved with its tables.
+     * @param searchTitle the {@code String} name of the search
+     * @param startingCityGraph reference to the {@code City} that the search is currently running on.
+     */
+    public Results(String searchTitle, City startingCityGraph)
+    {
+        isHillClimbing = false;
+        title = searchTitle;
+        cityGraph = startingCityGraph;
+    }
+
+    /**
+     * Adds one complete search run through the {@code City} provided through the constructor.  Records are
+     * immutable, so they are kept as they are rather than copied, and handed to the {@code ResultsWriter} if one
+     * is set and to every {@code SearchListener}.
+     * @param newRecord the {@code RunRecord} collected throughout an algorithm search run.
+     */
+    public void addRecord(RunRecord newRecord)
+    {
+        records.add(newRecord);
+        if (writer != null)
+        {
+            writer.write(newRecord);
+        }
+        for (SearchListener listener : listeners)
+        {
+            listener.runCompleted(this, newRecord);
+        }
+    }
+
+    /**
+     * Tells every {@code SearchListener} that a running search has just recorded a sample in {@code trace}.
+     */
+    void sampleRecorded(ConvergenceTrace trace)
+    {
+        for (SearchListener listener : listeners)
+        {
+            listener.sampleRecorded(this, trace);
+        }
+    }
+
+    /**
+     * @param listener the {@code SearchListener} told about every record added from now on.
+     */
+    public void addListener(SearchListener listener)
+    {
+        listeners.add(listener);
+    }
+
+    public void removeListener(SearchListener listener)
+    {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param recordWriter the {@code ResultsWriter} every record added from now on is streamed to, or {@code null}
+     *                     for none; it may be shared by several {@code Results}.
+     */
+    public void setWriter(ResultsWriter recordWriter)
+    {
+        writer = recordWriter;
+    }
+
+    /**
+     * @return an unmodifiable {@code List} view of the {@code RunRecord}s in the order they were added.
+     */
+    public List<RunRecord> getRecords()
+    {
+        return Collections.unmodifiableList(records);
+    }
+
+    /**
+     * Simple method to see what records are in the {@code Results} object.
+     */
+    public void printRecords()
+    {
+        System.out.println("length of records " + records.size());
+        for (RunRecord record: records)
+        {
+            System.out.println(record);
+            System.out.println();
+        }
+    }
+
+    /**
+     * @return the {@code RunStatistics} of the best cost found in each run.
+     */
+    public RunStatistics getBestCostStatistics()
+    {
+        RunStatistics statistics = new RunStatistics();
+        for (RunRecord record: records)
+        {
+            statistics.add(record.bestCost());
+        }
+        return statistics;
+    }
+
+    /**
+     * @return the {@code RunStatistics} of the execution at which each run found its best tour.
+     */
+    public RunStatistics getBestTimeStatistics()
+    {
+        RunStatistics statistics = new RunStatistics();
+        for (RunRecord record: records)
+        {
+            statistics.add(record.bestExecutionTime());
+        }
+        return statistics;
+    }
+
+    /**
+     * @return the {@code RunStatistics} of each run's wall-clock time to its best tour, in microseconds.
+     */
+    public RunStatistics getTimeToBestStatistics()
+    {
+        RunStatistics statistics = new RunStatistics();
+        for (RunRecord record: records)
+        {
+            if (record.metrics() != null)
+            {
+                statistics.add(record.metrics().getTimeToBestNanos() / 1000);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * @return the {@code RunStatistics} of each run's throughput, in moves evaluated per second.
+     */
+    public RunStatistics getThroughputStatistics()
+    {
+        RunStatistics statistics = new RunStatistics();
+        for (RunRecord record: records)
+        {
+            if (record.metrics() != null)
+            {
+                statistics.add((long) record.metrics().getMovesPerSecond());
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * @param cost the {@code int} optimal tour cost of the graph, e.g. from {@code HeldKarp}, so the tables report how
+     *             far every run is from it.
+     */
+    public void setOptimalCost(int cost)
+    {
+        optimalCost = cost;
+    }
+
+    /**
+     * @return the {@code RunStatistics} of the cost each run's best tour is above the optimal one; no runs unless
+     * the optimal cost was set.
+     */
+    public RunStatistics getOptimalityGapStatistics()
+    {
+        RunStatistics statistics = new RunStatistics();
+        if (optimalCost >= 0)
+        {
+            for (RunRecord record: records)
+            {
+                statistics.add(record.bestCost() - optimalCost);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * @return the {@code LatencyHistogram} of the restart (or exchange round) latencies of all runs together.
+     */
+    public LatencyHistogram getLatency()
+    {
+        LatencyHistogram latency = new LatencyHistogram();
+        for (RunRecord record: records)
+        {
+            if (record.metrics() != null)
+            {
+                latency.merge(record.metrics().getLatency());
+            }
+        }
+        return latency;
+    }
+
+    /**
+     * Formats all {@code RunRecord}s nicely in a table, followed by the search settings of the last run and the
+     * best cost, best time and wall-clock statistics over all runs.
+     * @return the data from the {@code ArrayList<RunRecord>} object as a ASCII table.
+     */
+    public String tabulateRecords()
+    {
+
+        StringBuilder table = new StringBuilder();
+
+        table.append(title).append("\n\n");
+        if(isHillClimbing)
+        {
+            table.append(" Run |              Starting Tour             | Starting Cost |            Best Found Tour             | Best Cost | Best Time | Total Time\n");
+            table.append("=====+========================================+===============+========================================+===========+===========+===========\n");
+        }
+        else
+        {
+            table.append(" Run |              Starting Tour             | Starting Cost |            Best Found Tour             | Best Cost | Best Time | Total Time \n");
+            table.append("=====+========================================+===============+========================================+===========+===========+============\n");
+        }
+
+        for (RunRecord record: records)
+        {
+            table.append(String.format("%5d|%17s|%15d|%23s|%11d|%11d|%12d\n", record.runNumber(),
+                    record.startingTour(), record.startingCost(), record.bestTour(), record.bestCost(),
+                    record.bestExecutionTime(), record.executionTime()));
+        }
+        if (!records.isEmpty())
+        {
+            RunRecord last = records.get(records.size() - 1);
+            StringJoiner settings = new StringJoiner(", ");
+            if (isHillClimbing)
+            {
+                settings.add("Restarts per Run: " + last.restarts());
+            } else if (last.annealingSchedule() != null)
+            {
+                settings.add("Annealing Schedule: " + last.annealingSchedule());
+            }
+            if (last.neighbourhood() != null)
+            {
+                settings.add("Neighbourhood: " + last.neighbourhood());
+            }
+            table.append(settings);
+            table.append("\n");
+            table.append("Best Cost: " + getBestCostStatistics() + "\n");
+            if (optimalCost >= 0)
+            {
+                RunStatistics gap = getOptimalityGapStatistics();
+                table.append("Optimality Gap: " + gap + String.format(" (mean %.2f%% above optimal cost %d)",
+                        optimalCost == 0 ? 0 : 100 * gap.getMean() / optimalCost, optimalCost) + "\n");
+            }
+            table.append("Best Time: " + getBestTimeStatistics() + "\n");
+            table.append("Time to Best (us): " + getTimeToBestStatistics() + "\n");
+            table.append("Moves per Second: " + getThroughputStatistics() + "\n");
+            if (isHillClimbing)
+            {
+                table.append("Restart Latency: " + getLatency() + "\n");
+            }
+        }
+        table.append("\n");
+
+        return table.toString();
+    }
+
+    /**
+     * Writes the {@code ConvergenceTrace} of every traced run to {@code file} as CSV, one line per sample, replacing
+     * the file.
+     * @param file the {@code Path} to write to
+     * @throws IOException if the file cannot be written.
+     */
+    public void saveTraces(Path file) throws IOException
+    {
+        try (BufferedWriter out = Files.newBufferedWriter(file))
+        {
+            out.write("run,elapsedNanos,iteration,currentCost,bestCost,movesAccepted,temperature\n");
+            for (RunRecord record: records)
+            {
+                if (record.trace() != null)
+                {
+                    record.trace().appendCsv(out, Integer.toString(record.runNumber()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the {@code City} graph and {@code String} table data to file, although it only saves the graph if
+     * {@code isHillClimbing} is false.  (Allows for printing the same graph only once for each search algorithm).
+     */
+    public void saveToFile()
+    {
+        saveToFile(tabulateRecords());
+    }
+
+    /**
+     * As {@code saveToFile()}, with the table already made by {@code tabulateRecords}, so that a caller that also
+     * prints the table only tabulates once.
+     * @param data the {@code String} table to save.
+     */
+    public void saveToFile(String data)
+    {
+        String graph = cityGraph.toString();
+
+        final String fileName = "Collected Data";
+
+        BufferedWriter bufferedWriter = null;
+        FileWriter fileWriter = null;
+
+        try
+        {
+            File file = new File(fileName);
+
+            if (!file.exists())
+            {
+                file.createNewFile();
+            }
+
+            fileWriter = new FileWriter(file.getAbsolutePath(), true);
+            bufferedWriter = new BufferedWriter(fileWriter);
+
+            if(!isHillClimbing)
+            {
+                bufferedWriter.write(graph);
+            }
+
+            bufferedWriter.write(data);
+            bufferedWriter.close();
+            fileWriter.close();
+
+        } catch( IOException e)
+        {
+            e.printStackTrace();
+        }
+    }
+}
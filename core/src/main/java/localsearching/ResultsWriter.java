@@ -0,0 +1,400 @@
+package localsearching;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Streams {@code RunRecord}s to a file in a {@code RecordFormat} on a background thread, so that searches
+ *      never wait on the disk.  {@code write} only queues the record; the writer thread takes everything queued
+ *      (up to {@code MAX_BATCH} records), encodes it into one reused buffer and appends it to the file with a single
+ *      write to a {@code FileChannel} that stays open until {@code close}.  Records are written in the order they
+ *      were queued, from any number of threads.
+ *
+ *      The {@code BINARY} format is little-endian; each record is its {@code int} run number, starting cost and
+ *      best cost, {@code long} execution time and best execution time, {@code int} restarts, the annealing schedule
+ *      and neighbourhood as an {@code int} UTF-8 byte count (-1 for none) and the bytes, and then the starting and
+ *      best tours as written by {@code PackedTour.writeTo}, and then the {@code SearchMetrics} as {@code long}
+ *      elapsed nanoseconds, time to best nanoseconds, moves accepted and improvements (all -1 without metrics).
+ *      {@code readBinary} reads it back.  The text formats add the same four metrics plus moves per second.
+ *      Convergence traces are not written; see {@code Results.saveTraces}.
+ *
+ **/
+
+public final class ResultsWriter implements AutoCloseable
+{
+    static final int MAX_BATCH = 1024;
+
+    private static final RunRecord END_OF_RECORDS = new RunRecord(0, null, 0, null, 0, 0, 0, 0, null, null, null, null);
+
+    private final RecordFormat format;
+    private final FileChannel channel;
+    private final BlockingQueue<RunRecord> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private final Object queueLock = new Object();      //orders every write before or after close queues the end
+    private boolean closed;                             //guarded by queueLock
+    private volatile IOException failure;
+
+    private final StringBuilder text = new StringBuilder();
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Opens {@code file} for appending, creating it if needed, and starts the writer thread.  A CSV header is
+     * written when the file is empty.
+     * @param file the {@code Path} of the file to append to
+     * @param format the {@code RecordFormat} to write in
+     * @throws IOException if the file cannot be opened.
+     */
+    public ResultsWriter(Path file, RecordFormat format) throws IOException
+    {
+        this.format = format;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (format == RecordFormat.CSV && channel.size() == 0)
+        {
+            text.append("run,startingCost,bestCost,executionTime,bestExecutionTime,restarts,"
+                    + "annealingSchedule,neighbourhood,startingTour,bestTour,"
+                    + "elapsedNanos,timeToBestNanos,movesAccepted,improvements,movesPerSecond\n");
+        }
+        writerThread = new Thread(this::writeRecords, "results-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues {@code record} to be written; returns at once.
+     * @param record the {@code RunRecord} to write.
+     * @throws IllegalStateException if the writer has been closed, so the record would never be written.
+     */
+    public void write(RunRecord record)
+    {
+        synchronized (queueLock)
+        {
+            if (closed)
+            {
+                throw new IllegalStateException("results writer is closed");
+            }
+            queue.add(record);
+        }
+    }
+
+    /**
+     * Writes every record queued so far, then closes the file.
+     * @throws IOException if writing any batch failed.
+     */
+    public void close() throws IOException
+    {
+        synchronized (queueLock)
+        {
+            if (closed)
+            {
+                return;
+            }
+            closed = true;
+            queue.add(END_OF_RECORDS);
+        }
+        try
+        {
+            writerThread.join();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while closing the results writer", e);
+        }
+        finally
+        {
+            channel.close();
+        }
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    /**
+     * The writer thread: writes batches until it takes {@code END_OF_RECORDS}.  After a failed write the remaining
+     * records are discarded and the failure is reported by {@code close}.
+     */
+    private void writeRecords()
+    {
+        List<RunRecord> batch = new ArrayList<>(MAX_BATCH);
+        boolean done = false;
+        while (!done)
+        {
+            try
+            {
+                batch.add(queue.take());
+            }
+            catch (InterruptedException e)
+            {
+                continue;                                   //only close ends the writer, so no record is lost
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            for (RunRecord record : batch)
+            {
+                if (record == END_OF_RECORDS)
+                {
+                    done = true;
+                }
+                else if (failure == null)
+                {
+                    encode(record);
+                }
+            }
+            batch.clear();
+            if (failure == null)
+            {
+                try
+                {
+                    flush();
+                }
+                catch (IOException e)
+                {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    private void encode(RunRecord record)
+    {
+        switch (format)
+        {
+            case CSV:
+                text.append(record.runNumber()).append(',').append(record.startingCost()).append(',')
+                        .append(record.bestCost()).append(',').append(record.executionTime()).append(',')
+                        .append(record.bestExecutionTime()).append(',').append(record.restarts()).append(',');
+                appendCsvString(record.annealingSchedule());
+                text.append(',');
+                appendCsvString(record.neighbourhood());
+                text.append(',');
+                appendTour(record.startingTour(), ' ');
+                text.append(',');
+                appendTour(record.bestTour(), ' ');
+                SearchMetrics csvMetrics = record.metrics();
+                if (csvMetrics != null)
+                {
+                    text.append(',').append(csvMetrics.getElapsedNanos()).append(',')
+                            .append(csvMetrics.getTimeToBestNanos()).append(',').append(csvMetrics.getMovesAccepted())
+                            .append(',').append(csvMetrics.getImprovements()).append(',')
+                            .append((long) csvMetrics.getMovesPerSecond());
+                }
+                else
+                {
+                    text.append(",,,,,");
+                }
+                text.append('\n');
+                break;
+            case JSON_LINES:
+                text.append("{\"run\":").append(record.runNumber())
+                        .append(",\"startingCost\":").append(record.startingCost())
+                        .append(",\"bestCost\":").append(record.bestCost())
+                        .append(",\"executionTime\":").append(record.executionTime())
+                        .append(",\"bestExecutionTime\":").append(record.bestExecutionTime())
+                        .append(",\"restarts\":").append(record.restarts())
+                        .append(",\"annealingSchedule\":");
+                appendJsonString(record.annealingSchedule());
+                text.append(",\"neighbourhood\":");
+                appendJsonString(record.neighbourhood());
+                text.append(",\"startingTour\":[");
+                appendTour(record.startingTour(), ',');
+                text.append("],\"bestTour\":[");
+                appendTour(record.bestTour(), ',');
+                text.append(']');
+                SearchMetrics jsonMetrics = record.metrics();
+                if (jsonMetrics != null)
+                {
+                    text.append(",\"elapsedNanos\":").append(jsonMetrics.getElapsedNanos())
+                            .append(",\"timeToBestNanos\":").append(jsonMetrics.getTimeToBestNanos())
+                            .append(",\"movesAccepted\":").append(jsonMetrics.getMovesAccepted())
+                            .append(",\"improvements\":").append(jsonMetrics.getImprovements())
+                            .append(",\"movesPerSecond\":").append((long) jsonMetrics.getMovesPerSecond());
+                }
+                text.append("}\n");
+                break;
+            default:
+                encodeBinary(record);
+        }
+    }
+
+    private void appendTour(PackedTour tour, char separator)
+    {
+        for (int i = 0; i < tour.length(); i++)
+        {
+            if (i > 0)
+            {
+                text.append(separator);
+            }
+            text.append(tour.get(i));
+        }
+    }
+
+    private void appendCsvString(String value)
+    {
+        if (value != null)
+        {
+            text.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private void appendJsonString(String value)
+    {
+        if (value == null)
+        {
+            text.append("null");
+            return;
+        }
+        text.append('"');
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\')
+            {
+                text.append('\\').append(c);
+            }
+            else if (c < ' ')
+            {
+                text.append(String.format("\\u%04x", (int) c));
+            }
+            else
+            {
+                text.append(c);
+            }
+        }
+        text.append('"');
+    }
+
+    private void encodeBinary(RunRecord record)
+    {
+        byte[] schedule = record.annealingSchedule() == null ? null
+                : record.annealingSchedule().getBytes(StandardCharsets.UTF_8);
+        byte[] neighbourhood = record.neighbourhood() == null ? null
+                : record.neighbourhood().getBytes(StandardCharsets.UTF_8);
+        int size = 3 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES
+                + Integer.BYTES + (schedule == null ? 0 : schedule.length)
+                + Integer.BYTES + (neighbourhood == null ? 0 : neighbourhood.length)
+                + record.startingTour().getEncodedSize() + record.bestTour().getEncodedSize() + 4 * Long.BYTES;
+        ensureRemaining(size);
+
+        buffer.putInt(record.runNumber());
+        buffer.putInt(record.startingCost());
+        buffer.putInt(record.bestCost());
+        buffer.putLong(record.executionTime());
+        buffer.putLong(record.bestExecutionTime());
+        buffer.putInt(record.restarts());
+        putString(schedule);
+        putString(neighbourhood);
+        record.startingTour().writeTo(buffer);
+        record.bestTour().writeTo(buffer);
+        SearchMetrics metrics = record.metrics();
+        buffer.putLong(metrics == null ? -1 : metrics.getElapsedNanos());
+        buffer.putLong(metrics == null ? -1 : metrics.getTimeToBestNanos());
+        buffer.putLong(metrics == null ? -1 : metrics.getMovesAccepted());
+        buffer.putLong(metrics == null ? -1 : metrics.getImprovements());
+    }
+
+    private void putString(byte[] bytes)
+    {
+        if (bytes == null)
+        {
+            buffer.putInt(-1);
+        }
+        else
+        {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private void ensureRemaining(int size)
+    {
+        if (buffer.remaining() < size)
+        {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * buffer.capacity(), buffer.position() + size))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+
+    /**
+     * Appends the encoded batch to the file with as few writes as the channel allows.
+     */
+    private void flush() throws IOException
+    {
+        if (text.length() > 0)
+        {
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            text.setLength(0);
+            ensureRemaining(bytes.length);
+            buffer.put(bytes);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Reads back a file written in the {@code BINARY} format.
+     * @param file the {@code Path} of the file
+     * @return the {@code List} of {@code RunRecord}s in the file, in the order they were written.
+     * @throws IOException if the file cannot be read.
+     */
+    public static List<RunRecord> readBinary(Path file) throws IOException
+    {
+        ByteBuffer input = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        List<RunRecord> records = new ArrayList<>();
+        while (input.hasRemaining())
+        {
+            int runNumber = input.getInt();
+            int startingCost = input.getInt();
+            int bestCost = input.getInt();
+            long executionTime = input.getLong();
+            long bestExecutionTime = input.getLong();
+            int restarts = input.getInt();
+            String schedule = getString(input);
+            String neighbourhood = getString(input);
+            PackedTour startingTour = PackedTour.readFrom(input);
+            PackedTour bestTour = PackedTour.readFrom(input);
+            long elapsedNanos = input.getLong();
+            long timeToBestNanos = input.getLong();
+            long movesAccepted = input.getLong();
+            long improvements = input.getLong();
+            SearchMetrics metrics = elapsedNanos < 0 ? null : SearchMetrics.finished(elapsedNanos, timeToBestNanos,
+                    executionTime, movesAccepted, improvements, restarts);
+            records.add(new RunRecord(runNumber, startingTour, startingCost, bestTour, bestCost, executionTime,
+                    bestExecutionTime, restarts, schedule, neighbourhood, metrics, null));
+        }
+        return records;
+    }
+
+    private static String getString(ByteBuffer input)
+    {
+        int length = input.getInt();
+        if (length < 0)
+        {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
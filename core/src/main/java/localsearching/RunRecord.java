@@ -0,0 +1,37 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The data collected for one complete search run, as kept by {@code Results}.  Executions are counted in
+ *      moves evaluated, as {@code long}s so that long runs on large graphs cannot overflow.
+ *
+ * @param runNumber the {@code int} number of the run, counting from 1 for each search instance
+ * @param startingTour the {@code PackedTour} the run started from
+ * @param startingCost the {@code int} cost of {@code startingTour}
+ * @param bestTour the best {@code PackedTour} found
+ * @param bestCost the {@code int} cost of {@code bestTour}
+ * @param executionTime the {@code long} number of moves evaluated in the run
+ * @param bestExecutionTime the {@code long} move at which {@code bestTour} was found
+ * @param restarts the {@code int} number of random restarts; 0 for annealing runs
+ * @param annealingSchedule the {@code String} describing the cooling schedule; {@code null} for hill climbing runs
+ * @param neighbourhood the {@code String} describing the neighbourhood searched
+ * @param metrics the {@code SearchMetrics} wall-clock timing and throughput of the run
+ * @param trace the {@code ConvergenceTrace} of the run; {@code null} unless the search was given one.
+ **/
+
+public record RunRecord(int runNumber, PackedTour startingTour, int startingCost, PackedTour bestTour, int bestCost,
+                        long executionTime, long bestExecutionTime, int restarts, String annealingSchedule,
+                        String neighbourhood, SearchMetrics metrics, ConvergenceTrace trace)
+{
+    /**
+     * @param newRunNumber the {@code int} run number of the copy
+     * @return this record numbered {@code newRunNumber}, e.g. within a whole experiment rather than one search.
+     */
+    public RunRecord withRunNumber(int newRunNumber)
+    {
+        return new RunRecord(newRunNumber, startingTour, startingCost, bestTour, bestCost, executionTime,
+                bestExecutionTime, restarts, annealingSchedule, neighbourhood, metrics, trace);
+    }
+}
@@ -0,0 +1,75 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Running count, mean, minimum, maximum and standard deviation of a series of {@code long} values, kept in
+ *      primitives with Welford's update so that summarizing thousands of runs neither boxes nor stores the values.
+ *
+ **/
+
+public final class RunStatistics
+{
+    private long count;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    private double mean;
+    private double sumOfSquares;        //sum of squared differences from the running mean
+
+    /**
+     * @param value the {@code long} value to include.
+     */
+    public void add(long value)
+    {
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        double difference = value - mean;
+        mean += difference / count;
+        sumOfSquares += difference * (value - mean);
+    }
+
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * @return the {@code long} smallest value; {@code Long.MAX_VALUE} when there are none.
+     */
+    public long getMin()
+    {
+        return min;
+    }
+
+    /**
+     * @return the {@code long} largest value; {@code Long.MIN_VALUE} when there are none.
+     */
+    public long getMax()
+    {
+        return max;
+    }
+
+    public double getMean()
+    {
+        return mean;
+    }
+
+    /**
+     * @return the {@code double} sample standard deviation; 0 for fewer than two values.
+     */
+    public double getStandardDeviation()
+    {
+        return count < 2 ? 0 : Math.sqrt(sumOfSquares / (count - 1));
+    }
+
+    public String toString()
+    {
+        if (count == 0)
+        {
+            return "no runs";
+        }
+        return String.format("mean %.1f, min %d, max %d, std dev %.1f", mean, min, max, getStandardDeviation());
+    }
+}
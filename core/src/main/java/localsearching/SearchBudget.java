@@ -0,0 +1,128 @@
+package localsearching;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      An immutable limit on how long a search may run: by wall-clock time, by number of moves evaluated, and/or by
+ *      stagnation (moves evaluated since the best tour last improved).  Each limit is off unless set, and the search
+ *      stops as soon as any one of them is reached.
+ *
+ **/
+
+public final class SearchBudget {
+
+    private static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+    private static final long TIME_CHECK_MASK = 0xFF;      //the clock is read once every 256 moves
+
+    private final long timeLimitNanos;
+    private final long iterationLimit;
+    private final long stagnationLimit;
+
+    private SearchBudget(long timeLimitNanos, long iterationLimit, long stagnationLimit)
+    {
+        this.timeLimitNanos = timeLimitNanos;
+        this.iterationLimit = iterationLimit;
+        this.stagnationLimit = stagnationLimit;
+    }
+
+    /**
+     * @return a {@code SearchBudget} with no limits; the search decides for itself when it is done.
+     */
+    public static SearchBudget unlimited()
+    {
+        return UNLIMITED;
+    }
+
+    /**
+     * @return a copy of this budget that also stops after {@code duration} of wall-clock time.
+     */
+    public SearchBudget withTimeLimit(long duration, TimeUnit unit)
+    {
+        return new SearchBudget(unit.toNanos(duration), iterationLimit, stagnationLimit);
+    }
+
+    /**
+     * @return a copy of this budget that also stops after {@code iterations} moves have been evaluated.
+     */
+    public SearchBudget withIterationLimit(long iterations)
+    {
+        return new SearchBudget(timeLimitNanos, iterations, stagnationLimit);
+    }
+
+    /**
+     * @return a copy of this budget that also stops once {@code iterations} moves in a row fail to improve the best
+     *          tour.
+     */
+    public SearchBudget withStagnationLimit(long iterations)
+    {
+        return new SearchBudget(timeLimitNanos, iterationLimit, iterations);
+    }
+
+    /**
+     * Checks every limit.  The clock is only read on every 256th iteration, so this is cheap enough to call once
+     * per move.
+     * @param iterations the {@code long} number of moves evaluated so far
+     * @param iterationsSinceImprovement the {@code long} number of moves since the best tour last improved
+     * @param startNanos the {@code System.nanoTime()} at which the search started
+     * @return {@code true} if the search should stop.
+     */
+    public boolean isExhausted(long iterations, long iterationsSinceImprovement, long startNanos)
+    {
+        if (iterations >= iterationLimit || iterationsSinceImprovement >= stagnationLimit)
+        {
+            return true;
+        }
+        return timeLimitNanos != Long.MAX_VALUE && (iterations & TIME_CHECK_MASK) == 0
+                && System.nanoTime() - startNanos >= timeLimitNanos;
+    }
+
+    /**
+     * Checks every limit against an already measured elapsed time; for searches that only check their budget
+     * between batches of moves.
+     * @param iterations the {@code long} number of moves evaluated so far
+     * @param iterationsSinceImprovement the {@code long} number of moves since the best tour last improved
+     * @param elapsedNanos the {@code long} nanoseconds since the search started
+     * @return {@code true} if the search should stop.
+     */
+    public boolean isExhaustedAfter(long iterations, long iterationsSinceImprovement, long elapsedNanos)
+    {
+        return iterations >= iterationLimit || iterationsSinceImprovement >= stagnationLimit
+                || elapsedNanos >= timeLimitNanos;
+    }
+
+    public long getTimeLimitNanos()
+    {
+        return timeLimitNanos;
+    }
+
+    public long getIterationLimit()
+    {
+        return iterationLimit;
+    }
+
+    public long getStagnationLimit()
+    {
+        return stagnationLimit;
+    }
+
+    public String toString()
+    {
+        StringBuilder budget = new StringBuilder();
+        if (timeLimitNanos != Long.MAX_VALUE)
+        {
+            budget.append(TimeUnit.NANOSECONDS.toMillis(timeLimitNanos)).append(" ms ");
+        }
+        if (iterationLimit != Long.MAX_VALUE)
+        {
+            budget.append(iterationLimit).append(" moves ");
+        }
+        if (stagnationLimit != Long.MAX_VALUE)
+        {
+            budget.append(stagnationLimit).append(" stagnant moves ");
+        }
+        return budget.length() == 0 ? "unlimited" : budget.toString().trim();
+    }
+}
@@ -0,0 +1,31 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Receives every completed search run, with its {@code SearchMetrics}, as it is added to a {@code Results};
+ *      e.g. to export solver performance while an experiment is still running.  A traced annealing run also reports
+ *      each {@code ConvergenceTrace} sample as it is taken, so acceptance can be watched while the run goes on.
+ *      Called on the search thread, so implementations should return quickly.
+ *
+ **/
+
+public interface SearchListener {
+
+    /**
+     * @param results the {@code Results} the run was added to
+     * @param record the {@code RunRecord} of the completed run; {@code record.metrics()} holds its timing.
+     */
+    void runCompleted(Results results, RunRecord record);
+
+    /**
+     * Called during a run each time its trace records a sample; does nothing unless overridden.
+     * @param results the {@code Results} the run will be added to
+     * @param trace the {@code ConvergenceTrace} of the running search; its newest sample is {@code size() - 1}.
+     *              Only valid during the call, as the search keeps writing to it.
+     */
+    default void sampleRecorded(Results results, ConvergenceTrace trace)
+    {
+    }
+}
@@ -0,0 +1,181 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Wall-clock timing and throughput of one search run, next to the move counts that {@code RunRecord} has always
+ *      called execution "time": elapsed and time-to-best nanoseconds, moves evaluated, accepted (applied to the
+ *      working tour) and rejected, improvements of the best tour, restarts, and a {@code LatencyHistogram} of the
+ *      restarts for hill climbing or of the exchange rounds for parallel tempering.  Each run gets a new instance;
+ *      the search only counts into it while running, so once it is attached to the run's {@code RunRecord} it does
+ *      not change.  Only the clock is read at restarts, rounds and improvements, never per move.
+ *
+ **/
+
+public final class SearchMetrics
+{
+    private final long startNanos;
+    private long elapsedNanos;
+    private long timeToBestNanos;
+    private long movesEvaluated;
+    private long movesAccepted;
+    private long improvements;
+    private long restarts;
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * @param startNanos the {@code long} {@code System.nanoTime} the run started at.
+     */
+    SearchMetrics(long startNanos)
+    {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Recreates finished metrics, e.g. read back by {@code ResultsWriter.readBinary}; the latencies are not kept.
+     */
+    static SearchMetrics finished(long elapsedNanos, long timeToBestNanos, long movesEvaluated, long movesAccepted,
+                                  long improvements, long restarts)
+    {
+        SearchMetrics metrics = new SearchMetrics(0);
+        metrics.elapsedNanos = elapsedNanos;
+        metrics.timeToBestNanos = timeToBestNanos;
+        metrics.movesEvaluated = movesEvaluated;
+        metrics.movesAccepted = movesAccepted;
+        metrics.improvements = improvements;
+        metrics.restarts = restarts;
+        return metrics;
+    }
+
+    void moveAccepted()
+    {
+        movesAccepted++;
+    }
+
+    void movesAccepted(long moves)
+    {
+        movesAccepted += moves;
+    }
+
+    /**
+     * Counts an improvement of the best tour, found now.
+     */
+    void bestImproved()
+    {
+        improvements++;
+        timeToBestNanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * @param nanos the {@code long} time the restart took.
+     */
+    void restartFinished(long nanos)
+    {
+        restarts++;
+        latency.record(nanos);
+    }
+
+    /**
+     * @param nanos the {@code long} time the exchange round took.
+     */
+    void roundFinished(long nanos)
+    {
+        latency.record(nanos);
+    }
+
+    /**
+     * Adds the counts of a parallel worker that started with this run; the time to best is set separately with
+     * {@code setTimeToBest} from the worker whose tour is kept.
+     */
+    void merge(SearchMetrics worker)
+    {
+        movesAccepted += worker.movesAccepted;
+        improvements += worker.improvements;
+        restarts += worker.restarts;
+        latency.merge(worker.latency);
+    }
+
+    void setTimeToBest(long nanos)
+    {
+        timeToBestNanos = nanos;
+    }
+
+    /**
+     * Ends the run now.
+     * @param moves the {@code long} number of moves evaluated in the run.
+     */
+    void finish(long moves)
+    {
+        movesEvaluated = moves;
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the {@code long} nanoseconds from the start of the run to the last improvement of the best tour; 0
+     * when the starting tour was never improved.
+     */
+    public long getTimeToBestNanos()
+    {
+        return timeToBestNanos;
+    }
+
+    public long getMovesEvaluated()
+    {
+        return movesEvaluated;
+    }
+
+    public long getMovesAccepted()
+    {
+        return movesAccepted;
+    }
+
+    public long getMovesRejected()
+    {
+        return movesEvaluated - movesAccepted;
+    }
+
+    /**
+     * @return the {@code long} number of times the best tour improved; summed over the workers of a parallel run,
+     * each of which counts the improvements of its own best tour.
+     */
+    public long getImprovements()
+    {
+        return improvements;
+    }
+
+    public long getRestarts()
+    {
+        return restarts;
+    }
+
+    public LatencyHistogram getLatency()
+    {
+        return latency;
+    }
+
+    public double getMovesPerSecond()
+    {
+        return elapsedNanos == 0 ? 0 : movesEvaluated * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return the {@code double} fraction of the evaluated moves that were accepted.
+     */
+    public double getAcceptanceRate()
+    {
+        return movesEvaluated == 0 ? 0 : (double) movesAccepted / movesEvaluated;
+    }
+
+    public String toString()
+    {
+        return String.format("%.3f ms, best after %.3f ms, %.0f moves/s, %d of %d moves accepted, %d improvements,"
+                        + " %d restarts", elapsedNanos / 1e6, timeToBestNanos / 1e6, getMovesPerSecond(), movesAccepted,
+                movesEvaluated, improvements, restarts);
+    }
+}
@@ -0,0 +1,95 @@
+package localsearching;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      {@code SearchRandom} is the single random source of a search.  One is injected into each {@code City} (and so
+ *      each search), backed by a {@code SplittableRandom}: it is fast, never blocks for entropy, is repeatable from a
+ *      seed, and can be split into independent streams for parallel workers.  It is not thread-safe; give every
+ *      thread its own stream with {@code split()}.
+ *
+ **/
+
+public final class SearchRandom implements RandomGenerator {
+
+    private final SplittableRandom random;
+
+    /**
+     * Creates an unseeded random source; every instance produces a different stream.
+     */
+    public SearchRandom()
+    {
+        random = new SplittableRandom();
+    }
+
+    /**
+     * Creates a random source that always produces the same stream for the same {@code seed}.
+     * @param seed the {@code long} seed.
+     */
+    public SearchRandom(long seed)
+    {
+        random = new SplittableRandom(seed);
+    }
+
+    private SearchRandom(SplittableRandom source)
+    {
+        random = source;
+    }
+
+    /**
+     * Splits off a new, statistically independent random source for another worker.  Splitting a seeded source
+     * in the same order always gives the same streams.
+     * @return the new {@code SearchRandom}.
+     */
+    public SearchRandom split()
+    {
+        return new SearchRandom(random.split());
+    }
+
+    public long nextLong()
+    {
+        return random.nextLong();
+    }
+
+    public int nextInt()
+    {
+        return random.nextInt();
+    }
+
+    public int nextInt(int bound)
+    {
+        return random.nextInt(bound);
+    }
+
+    public int nextInt(int origin, int bound)
+    {
+        return random.nextInt(origin, bound);
+    }
+
+    public double nextDouble()
+    {
+        return random.nextDouble();
+    }
+
+    /**
+     * Fisher-Yates shuffles {@code array[fromIndex]} to {@code array[toIndex - 1]} in place, with every ordering
+     * equally likely and no boxing or allocation.
+     * @param array the {@code int[]} to shuffle
+     * @param fromIndex the first {@code int} index to shuffle
+     * @param toIndex one past the last {@code int} index to shuffle.
+     */
+    public void shuffle(int[] array, int fromIndex, int toIndex)
+    {
+        for (int i = toIndex - 1; i > fromIndex; i--)
+        {
+            int j = fromIndex + random.nextInt(i - fromIndex + 1);
+            int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+    }
+}
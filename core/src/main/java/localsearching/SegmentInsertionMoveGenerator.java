@@ -0,0 +1,342 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Segment insertion: cut a run of consecutive cities out of the tour and re-insert it, in the same direction,
+ *      between two other neighbouring cities.  Only three edges change whatever the segment length, so pricing a
+ *      move is O(1): with the segment {@code first..last} cut from between {@code prev} and {@code next} and
+ *      inserted between {@code p} and {@code q}, the cost changes by
+ *      {@code c(prev,next) - c(prev,first) - c(last,next) + c(p,first) + c(last,q) - c(p,q)}.
+ *      Applying a move shifts the cities in between with an in-place rotation, so nothing is allocated.
+ *
+ *      Restricted to k candidates, a segment is only inserted where it creates a candidate edge: after one of the k
+ *      nearest predecessors of its first city, or before one of the k nearest successors of its last city.
+ *
+ **/
+
+public class SegmentInsertionMoveGenerator implements MoveGenerator {
+
+    private final int maxSegmentLength;
+    private final int candidateCount;   //0 when the neighbourhood is not restricted
+
+    private CostGraph graph;
+    private int[] tour;
+    private int numOfCities;
+
+    private int segmentStart;           //tour index of the first city of the segment
+    private int segmentLength;
+    private int insertAfter;            //tour index of the city the segment is re-inserted after
+
+    private boolean anchored;
+    private int savedStart;
+    private int savedLength;
+    private int savedInsertAfter;
+
+    private int rotatedFrom;            //the rotation made by the last apply, so it can be undone
+    private int rotatedTo;
+    private int rotatedBy;
+    private final int[] movedCities = new int[6];
+
+    private CandidateLists candidates;
+    private int ranks;                  //candidates used per list
+    private int rank;                   //of the selected candidate; the successor lists follow the predecessor ones
+    private int[] indexOfCity;          //indexOfCity[city] is the tour index of city
+
+    /**
+     * @param maxSegmentLength the {@code int} length of the longest segment moved; capped at N - 2 for a given tour.
+     */
+    public SegmentInsertionMoveGenerator(int maxSegmentLength)
+    {
+        this(maxSegmentLength, 0);
+    }
+
+    /**
+     * @param maxSegmentLength the {@code int} length of the longest segment moved; capped at N - 2 for a given tour
+     * @param candidateCount the {@code int} k of {@code CandidateLists} neighbours insertions are restricted to;
+     *                       0 for no restriction.
+     */
+    public SegmentInsertionMoveGenerator(int maxSegmentLength, int candidateCount)
+    {
+        if (maxSegmentLength < 1)
+        {
+            throw new IllegalArgumentException("maxSegmentLength must be at least 1: " + maxSegmentLength);
+        }
+        if (candidateCount < 0)
+        {
+            throw new IllegalArgumentException("candidateCount must not be negative: " + candidateCount);
+        }
+        this.maxSegmentLength = maxSegmentLength;
+        this.candidateCount = candidateCount;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the tour has fewer than 3 cities, as no segment can then be moved.
+     */
+    public void bind(CostGraph costGraph, int[] boundTour)
+    {
+        if (boundTour.length < 3)
+        {
+            throw new IllegalArgumentException("segment insertion needs at least 3 cities: " + boundTour.length);
+        }
+        graph = costGraph;
+        tour = boundTour;
+        numOfCities = boundTour.length;
+        if (candidateCount > 0)
+        {
+            candidates = costGraph.getCandidateLists(candidateCount);
+            ranks = Math.min(candidateCount, candidates.getNeighbourCount());
+            if (indexOfCity == null || indexOfCity.length != numOfCities)
+            {
+                indexOfCity = new int[numOfCities];
+            }
+            for (int i = 0; i < numOfCities; i++)
+            {
+                indexOfCity[tour[i]] = i;
+            }
+        }
+    }
+
+    /**
+     * @return the {@code int} number of cities in each list, k, or 0 for the unrestricted neighbourhood.
+     */
+    public int getCandidateCount()
+    {
+        return candidateCount;
+    }
+
+    /**
+     * @return the {@code int} longest segment length usable on the bound tour.
+     */
+    private int longestSegment()
+    {
+        return Math.min(maxSegmentLength, numOfCities - 2);
+    }
+
+    public long getNeighbourhoodSize()
+    {
+        long size = 0;
+        for (int length = 1; length <= longestSegment(); length++)
+        {
+            size += (long) (numOfCities - length) * (candidateCount > 0 ? 2 * ranks : numOfCities - length - 1);
+        }
+        return size;
+    }
+
+    public void startNeighbourhood()
+    {
+        anchored = false;
+        segmentStart = 1;
+        segmentLength = 1;
+        insertAfter = -1;
+        rank = -1;
+    }
+
+    /**
+     * Anchored moves are those whose segment starts at {@code position}.
+     */
+    public void startNeighbourhood(int position)
+    {
+        anchored = true;
+        segmentStart = position;
+        segmentLength = 1;
+        insertAfter = -1;
+        rank = -1;
+    }
+
+    public boolean nextMove()
+    {
+        if (longestSegment() < 1)
+        {
+            return false;
+        }
+        while (true)
+        {
+            if (candidateCount > 0)
+            {
+                if (++rank < 2 * ranks)
+                {
+                    insertAfter = candidateInsertion(rank);
+                    if (isValidInsertion())
+                    {
+                        return true;
+                    }
+                    continue;
+                }
+                rank = -1;
+                insertAfter = numOfCities;      //this segment is done; move on to the next
+            }
+            else
+            {
+                insertAfter++;
+            }
+            if (insertAfter == segmentStart - 1)
+            {
+                insertAfter = segmentStart + segmentLength;             //skip the segment and the city before it
+            }
+            if (insertAfter < numOfCities)
+            {
+                return true;
+            }
+
+            segmentLength++;
+            if (segmentLength > longestSegment() || segmentStart + segmentLength > numOfCities)
+            {
+                if (anchored)
+                {
+                    return false;
+                }
+                segmentStart++;
+                segmentLength = 1;
+            }
+            if (segmentStart >= numOfCities)
+            {
+                return false;
+            }
+            insertAfter = -1;
+        }
+    }
+
+    /**
+     * @return the {@code int} tour index to insert the segment after so that it makes the {@code rank}-th
+     * candidate edge.
+     */
+    private int candidateInsertion(int rank)
+    {
+        if (rank < ranks)
+        {
+            return indexOfCity[candidates.incoming(tour[segmentStart], rank)];
+        }
+        int last = tour[segmentStart + segmentLength - 1];
+        return (indexOfCity[candidates.outgoing(last, rank - ranks)] + numOfCities - 1) % numOfCities;
+    }
+
+    /**
+     * @return whether {@code insertAfter} is outside the segment and the city before it.
+     */
+    private boolean isValidInsertion()
+    {
+        return insertAfter < segmentStart - 1 || insertAfter >= segmentStart + segmentLength;
+    }
+
+    /**
+     * Draws a uniformly random move; restricted to candidates, a random candidate insertion of a random segment,
+     * falling back to a random insertion point when that candidate makes no valid move.
+     */
+    public void randomMove(SearchRandom random)
+    {
+        segmentLength = random.nextInt(longestSegment()) + 1;
+        segmentStart = random.nextInt(numOfCities - segmentLength) + 1;     //never moves the start city
+        if (candidateCount > 0)
+        {
+            insertAfter = candidateInsertion(random.nextInt(2 * ranks));
+            if (isValidInsertion())
+            {
+                return;
+            }
+        }
+        int position = random.nextInt(numOfCities - segmentLength - 1);
+        insertAfter = position < segmentStart - 1 ? position : position + segmentLength + 1;
+    }
+
+    public void saveMove()
+    {
+        savedStart = segmentStart;
+        savedLength = segmentLength;
+        savedInsertAfter = insertAfter;
+    }
+
+    public void restoreMove()
+    {
+        segmentStart = savedStart;
+        segmentLength = savedLength;
+        insertAfter = savedInsertAfter;
+    }
+
+    public int delta()
+    {
+        int segmentEnd = segmentStart + segmentLength - 1;
+        int prev = tour[segmentStart - 1];
+        int first = tour[segmentStart];
+        int last = tour[segmentEnd];
+        int next = tour[(segmentEnd + 1) % numOfCities];
+        int p = tour[insertAfter];
+        int q = tour[(insertAfter + 1) % numOfCities];
+
+        return graph.getCost(prev, next) - graph.getCost(prev, first) - graph.getCost(last, next)
+                + graph.getCost(p, first) + graph.getCost(last, q) - graph.getCost(p, q);
+    }
+
+    public void apply()
+    {
+        int segmentEnd = segmentStart + segmentLength - 1;
+        movedCities[0] = tour[segmentStart - 1];
+        movedCities[1] = tour[segmentStart];
+        movedCities[2] = tour[segmentEnd];
+        movedCities[3] = tour[(segmentEnd + 1) % numOfCities];
+        movedCities[4] = tour[insertAfter];
+        movedCities[5] = tour[(insertAfter + 1) % numOfCities];
+
+        if (insertAfter > segmentEnd)
+        {
+            //[segment][segmentEnd+1 .. insertAfter]  ->  [segmentEnd+1 .. insertAfter][segment]
+            rotate(segmentStart, insertAfter, segmentLength);
+        }
+        else
+        {
+            //[insertAfter+1 .. segmentStart-1][segment]  ->  [segment][insertAfter+1 .. segmentStart-1]
+            rotate(insertAfter + 1, segmentEnd, segmentStart - insertAfter - 1);
+        }
+    }
+
+    public void undo()
+    {
+        rotate(rotatedFrom, rotatedTo, rotatedTo - rotatedFrom + 1 - rotatedBy);
+    }
+
+    public int affectedCities(int[] cities)
+    {
+        System.arraycopy(movedCities, 0, cities, 0, movedCities.length);
+        return movedCities.length;
+    }
+
+    /**
+     * Rotates {@code tour[from..to]} left by {@code by} places with three in-place reversals.
+     */
+    private void rotate(int from, int to, int by)
+    {
+        reverse(from, from + by - 1);
+        reverse(from + by, to);
+        reverse(from, to);
+        if (candidateCount > 0)
+        {
+            for (int i = from; i <= to; i++)
+            {
+                indexOfCity[tour[i]] = i;
+            }
+        }
+        rotatedFrom = from;
+        rotatedTo = to;
+        rotatedBy = by;
+    }
+
+    private void reverse(int from, int to)
+    {
+        while (from < to)
+        {
+            City.swapInPlace(tour, from++, to--);
+        }
+    }
+
+    public MoveGenerator copy()
+    {
+        return new SegmentInsertionMoveGenerator(maxSegmentLength, candidateCount);
+    }
+
+    public String toString()
+    {
+        return "Segment insertion (up to " + maxSegmentLength + " cities"
+                + (candidateCount > 0 ? ", " + candidateCount + " candidates)" : ")");
+    }
+}
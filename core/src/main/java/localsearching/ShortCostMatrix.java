@@ -0,0 +1,45 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      {@code CostMatrix} stored as a single row-major {@code short[]}, half the size of {@code FlatCostMatrix}.
+ *      Costs must fit in a {@code short}, which generated costs of [$100, $2500] (and -1 on the diagonal) do.
+ *
+ **/
+
+public final class ShortCostMatrix implements CostMatrix {
+
+    private final int numOfCities;
+    private final short[] costs;
+
+    public ShortCostMatrix(int cityNumber)
+    {
+        if ((long) cityNumber * cityNumber > FlatCostMatrix.MAX_ARRAY_LENGTH)
+        {
+            throw new IllegalArgumentException(cityNumber + " cities do not fit in one array; use an off-heap layout");
+        }
+        numOfCities = cityNumber;
+        costs = new short[cityNumber * cityNumber];
+    }
+
+    public int getCityNumber()
+    {
+        return numOfCities;
+    }
+
+    public int getCost(int fromCity, int toCity)
+    {
+        return costs[fromCity * numOfCities + toCity];
+    }
+
+    public void setCost(int fromCity, int toCity, int cost)
+    {
+        if (cost < Short.MIN_VALUE || cost > Short.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("cost " + cost + " does not fit in a short");
+        }
+        costs[fromCity * numOfCities + toCity] = (short) cost;
+    }
+}
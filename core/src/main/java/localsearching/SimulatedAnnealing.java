@@ -0,0 +1,239 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Runs Simulated Annealing algorithm on a given {@code City} cost graph.
+ **/
+
+public class SimulatedAnnealing
+{
+    int currentCost;
+    int currentBestCost;
+    int[] currentBestTour;
+
+    City cityGraph;
+
+    long totalExecutionNumber = 0;
+    long executionNumberOfBestFound = 0;
+    Results recorder;
+
+    //the original schedule; for it, an upper bound much larger than 25 causes long delays and negligible improvement
+    CoolingSchedule schedule = new StepCoolingSchedule(20);
+    SearchBudget budget;
+    MoveGenerator moveGenerator = new SwapMoveGenerator();
+    int targetCost = Integer.MIN_VALUE;         //stop once the best cost is at most this
+
+    //rejected moves are undone, so at a local optimum the step schedule may never see another non-worsening move;
+    //unless a budget is set, a run also stops after this many moves per neighbour without improving the best tour.
+    private static final int DEFAULT_STAGNATION_PER_MOVE = 10;
+
+
+    int currentRunNumber = 0;
+    SearchMetrics metrics;
+    ConvergenceTrace trace;
+    private AbstractSolver solver;              //set while running under an AnnealingSolver
+    private static final long STOP_CHECK_MASK = 0xFF;       //a solver is checked once every 256 moves
+
+    /**
+     * Base constructor
+     * @param tourGraph the {@code City} that contains the cost graph and starting tour for the search
+     */
+    public SimulatedAnnealing(City tourGraph)
+    {
+        cityGraph = tourGraph;
+        currentBestTour = tourGraph.getStartingTourArrangement().clone();
+        currentBestCost = tourGraph.calculateTourCost(currentBestTour);
+        recorder = new Results(false, tourGraph);
+    }
+
+    /**
+     * Resets necessary variables back to starting condition in order to rerun the same search instance
+     * on the same {@code City} multiple times.
+     */
+    public void resetSearch()
+    {
+        System.arraycopy(cityGraph.getStartingTourArrangement(), 0, currentBestTour, 0, currentBestTour.length);
+        currentBestCost = cityGraph.calculateTourCost(currentBestTour);
+        executionNumberOfBestFound = 0;
+        totalExecutionNumber = 0;
+        schedule.reset();
+    }
+
+    /**
+     * helper method to determine the probability of choosing a worsening move for simulated annealing.
+     * @param deltaE the difference between the current cost and the current move in cost
+     * @return the probability between (0, 1) of the current move being chosen
+     */
+    private double calculateAnnealingProbability(int deltaE)
+    {
+        double temperature = schedule.getTemperature();
+        if (temperature <= 0)
+        {
+            return 0;
+        }
+        return ExpTable.negativeExp(deltaE / temperature);
+    }
+
+    /**
+     * runs algorithm and saves collected data.  The run ends when the {@code CoolingSchedule} freezes, the
+     * {@code SearchBudget} is used up, or the best cost reaches the target cost, whichever comes first.
+     */
+    public void runAnnealingSearch()
+    {
+        schedule.reset();
+        currentCost = cityGraph.getCurrentTourCost();
+        int[] currentTour = cityGraph.getCurrentTourArrangement();
+        SearchRandom random = cityGraph.getRandom();
+        moveGenerator.bind(cityGraph.getCostGraph(), currentTour);
+        SearchBudget runBudget = solver != null ? SearchBudget.unlimited() : budget != null ? budget
+                : SearchBudget.unlimited().withStagnationLimit(
+                        Math.max(1000, DEFAULT_STAGNATION_PER_MOVE * moveGenerator.getNeighbourhoodSize()));
+        long startNanos = System.nanoTime();
+        metrics = new SearchMetrics(startNanos);
+        if (trace != null)
+        {
+            trace.start(startNanos);
+        }
+        if (solver != null)
+        {
+            solver.bestImproved(currentBestTour, currentBestCost, totalExecutionNumber);
+        }
+
+        while (!schedule.isFrozen() && currentBestCost > targetCost
+                && !runBudget.isExhausted(totalExecutionNumber, totalExecutionNumber - executionNumberOfBestFound,
+                        startNanos)
+                && !stopRequested())
+        {
+            moveGenerator.randomMove(random);
+            int deltaE = moveGenerator.delta();         //priced in O(1) before the tour is touched
+
+            //take better move, maybe take worse move
+            boolean accepted = deltaE <= 0 || random.nextDouble() <= calculateAnnealingProbability(deltaE);
+
+            if (accepted)
+            {
+                cityGraph.applyMove(moveGenerator, deltaE);
+                metrics.moveAccepted();
+                currentCost += deltaE;
+
+                //only modify best found time if the new cost is actually better
+                if (currentCost < currentBestCost)
+                {
+                    currentBestCost = currentCost;
+                    System.arraycopy(currentTour, 0, currentBestTour, 0, currentBestTour.length);
+                    executionNumberOfBestFound = totalExecutionNumber;
+                    metrics.bestImproved();
+                    if (solver != null)
+                    {
+                        solver.bestImproved(currentBestTour, currentBestCost, totalExecutionNumber);
+                    }
+                }
+            }
+
+            schedule.update(deltaE > 0, accepted);
+            totalExecutionNumber++;
+            if (trace != null && trace.sample(totalExecutionNumber, currentCost, currentBestCost,
+                    metrics.getMovesAccepted(), schedule.getTemperature()))
+            {
+                recorder.sampleRecorded(trace);
+            }
+
+        }
+        currentRunNumber++;
+        metrics.finish(totalExecutionNumber);
+        if (trace != null)
+        {
+            trace.finish(totalExecutionNumber, currentCost, currentBestCost, metrics.getMovesAccepted(),
+                    schedule.getTemperature());
+        }
+
+        int[] startingTour = cityGraph.getStartingTourArrangement();
+        recorder.addRecord(new RunRecord(currentRunNumber, PackedTour.of(startingTour),
+                cityGraph.calculateTourCost(startingTour), PackedTour.of(currentBestTour), currentBestCost,
+                totalExecutionNumber, executionNumberOfBestFound, 0, schedule.toString(), moveGenerator.toString(),
+                metrics, trace == null ? null : trace.copy()));
+    }
+
+    /**
+     * Runs {@code runAnnealingSearch} for {@code control}: its budget replaces this search's own, it is checked once
+     * every 256 moves, and it is told about every improvement of the best tour.  The run still ends early if the
+     * cooling schedule freezes.
+     * @param control the {@code AbstractSolver} holding the budget, cancellation and best-so-far snapshot.
+     */
+    void solveWith(AbstractSolver control)
+    {
+        solver = control;
+        try
+        {
+            runAnnealingSearch();
+        }
+        finally
+        {
+            solver = null;
+        }
+    }
+
+    /**
+     * @return whether an {@code AnnealingSolver} is running this search and says to stop.
+     */
+    private boolean stopRequested()
+    {
+        return solver != null && (totalExecutionNumber & STOP_CHECK_MASK) == 0
+                && solver.shouldStop(totalExecutionNumber, totalExecutionNumber - executionNumberOfBestFound);
+    }
+
+    //////-----------------GETTERS & SETTERS--------------///////
+
+    /**
+     * @param newSchedule the {@code CoolingSchedule} used from the next run on.
+     */
+    public void setCoolingSchedule(CoolingSchedule newSchedule)
+    {
+        schedule = newSchedule;
+    }
+
+    /**
+     * @param newBudget the {@code SearchBudget} each run is limited to, on top of the cooling schedule freezing.
+     *                  Replaces the default stagnation limit of 10 moves per neighbour of the move generator, so a
+     *                  schedule that never freezes on its own needs at least one limit here.
+     */
+    public void setBudget(SearchBudget newBudget)
+    {
+        budget = newBudget;
+    }
+
+    /**
+     * @param cost the {@code int} best cost at which a run stops, e.g.
+     *             {@code LowerBound.targetCost(LowerBound.assignment(graph), 0.01)} to stop within 1% of optimal.
+     */
+    public void setTargetCost(int cost)
+    {
+        targetCost = cost;
+    }
+
+    /**
+     * @param generator the {@code MoveGenerator} random moves are drawn from from the next run on.
+     */
+    public void setMoveGenerator(MoveGenerator generator)
+    {
+        moveGenerator = generator;
+    }
+
+    /**
+     * @param newTrace the {@code ConvergenceTrace} every run is traced into, sampled per move with the accepted move
+     *                 count and temperature, or {@code null} for none; every sample taken is reported to the
+     *                 recorder's {@code SearchListener}s, and a copy of the trace is kept with each run's
+     *                 {@code RunRecord}.
+     */
+    public void setConvergenceTrace(ConvergenceTrace newTrace)
+    {
+        trace = newTrace;
+    }
+
+    public Results getRecorder()
+    {
+        return recorder;
+    }
+}
\ No newline at end of file
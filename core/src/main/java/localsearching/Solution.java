@@ -0,0 +1,17 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      An immutable best-so-far snapshot of a {@code Solver}.
+ *
+ * @param tour the best {@code PackedTour} found
+ * @param cost the {@code int} cost of {@code tour}
+ * @param iteration the {@code long} move at which {@code tour} was found
+ * @param elapsedNanos the {@code long} nanoseconds from the start of the solve to the snapshot.
+ **/
+
+public record Solution(PackedTour tour, int cost, long iteration, long elapsedNanos)
+{
+}
@@ -0,0 +1,45 @@
+package localsearching;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The common anytime entry point of the searches: {@code solve} runs until the {@code SearchBudget} is used up,
+ *      the search has nothing left to do, or another thread calls {@code cancel}, and the best tour so far can be
+ *      read from any thread while it runs.
+ *
+ **/
+
+public interface Solver {
+
+    /**
+     * Searches {@code graph}, blocking until the search stops.
+     * @param graph the {@code CostGraph} to tour
+     * @param budget the {@code SearchBudget} the search is limited to
+     * @return the best {@code Solution} found.
+     */
+    Solution solve(CostGraph graph, SearchBudget budget);
+
+    /**
+     * @return the best {@code Solution} found so far by the running or last solve, or {@code null} before the first
+     * one starts; safe to call from any thread.
+     */
+    Solution getBestSoFar();
+
+    /**
+     * Asks the running solve, or the next one, to stop as soon as it next checks; safe to call from any thread.
+     * A cancelled solver stays cancelled.
+     */
+    void cancel();
+
+    boolean isCancelled();
+
+    /**
+     * @param listener the {@code ProgressListener} to call while solving, or {@code null} for none
+     * @param interval the {@code long} least time between calls
+     * @param unit the {@code TimeUnit} of {@code interval}.
+     */
+    void setProgressListener(ProgressListener listener, long interval, TimeUnit unit);
+}
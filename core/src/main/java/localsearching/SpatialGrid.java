@@ -0,0 +1,182 @@
+package localsearching;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      A uniform-grid index over 2D points for k-nearest queries.  The bounding box is cut into square cells holding
+ *      about two points each, and the points are counting-sorted by cell into one flat {@code int[]}, so the index
+ *      takes O(N) memory and O(N) time to build.  A query scans square rings of cells around the query point's cell,
+ *      keeping the k cheapest points, and stops once nothing outside the rings scanned can be cheaper than the k-th;
+ *      for points that are not too unevenly spread it touches O(k) cells.
+ *
+ **/
+
+public final class SpatialGrid
+{
+    private static final double POINTS_PER_CELL = 2;
+
+    private final double[] x;
+    private final double[] y;
+    private final double minX;
+    private final double minY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart;      //points of cell c are cellPoints[cellStart[c]] up to cellStart[c + 1]
+    private final int[] cellPoints;
+
+    /**
+     * @param x the {@code double[]} x coordinates of the points; not copied
+     * @param y the {@code double[]} y coordinates of the points; not copied.
+     */
+    public SpatialGrid(double[] x, double[] y)
+    {
+        this.x = x;
+        this.y = y;
+        int n = x.length;
+        double lowX = Double.POSITIVE_INFINITY;
+        double lowY = Double.POSITIVE_INFINITY;
+        double highX = Double.NEGATIVE_INFINITY;
+        double highY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++)
+        {
+            lowX = Math.min(lowX, x[i]);
+            lowY = Math.min(lowY, y[i]);
+            highX = Math.max(highX, x[i]);
+            highY = Math.max(highY, y[i]);
+        }
+        minX = n == 0 ? 0 : lowX;
+        minY = n == 0 ? 0 : lowY;
+        double width = Math.max(highX - lowX, 0);
+        double height = Math.max(highY - lowY, 0);
+        double area = Math.max(width * height, Double.MIN_NORMAL);
+        double size = Math.sqrt(area * POINTS_PER_CELL / Math.max(1, n));
+        if (!(size > 0) || width / size > 1 << 15 || height / size > 1 << 15)
+        {
+            size = Math.max(Math.max(width, height) / (1 << 15), Double.MIN_NORMAL);    //degenerate, e.g. a line
+        }
+        cellSize = size;
+        columns = (int) (width / cellSize) + 1;
+        rows = (int) (height / cellSize) + 1;
+
+        cellStart = new int[columns * rows + 1];
+        cellPoints = new int[n];
+        for (int i = 0; i < n; i++)
+        {
+            cellStart[cellOf(i) + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++)
+        {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] filled = new int[columns * rows];
+        for (int i = 0; i < n; i++)
+        {
+            int c = cellOf(i);
+            cellPoints[cellStart[c] + filled[c]++] = i;
+        }
+    }
+
+    private int cellOf(int point)
+    {
+        return row(y[point]) * columns + column(x[point]);
+    }
+
+    private int column(double px)
+    {
+        return Math.min(columns - 1, (int) ((px - minX) / cellSize));
+    }
+
+    private int row(double py)
+    {
+        return Math.min(rows - 1, (int) ((py - minY) / cellSize));
+    }
+
+    /**
+     * Finds the {@code list.length} cheapest other points from {@code point}, cheapest first and ties to the lower
+     * point number.  Costs need not be distances, as long as every cost is at least {@code minCostPerDistance}
+     * times the distance, less 0.5 for rounding, so that the rings not yet scanned can be ruled out.
+     * @param point the {@code int} point to search around, itself excluded
+     * @param cost the {@code IntBinaryOperator} cost from {@code point} (its first operand) to each other point
+     * @param minCostPerDistance the {@code double} least ratio of cost to distance
+     * @param list the {@code int[]} the nearest points are written to; fewer than its length are found only when
+     *             there are fewer other points
+     * @param costs an {@code int[]} as long as {@code list} for their costs.
+     */
+    public void nearest(int point, IntBinaryOperator cost, double minCostPerDistance, int[] list, int[] costs)
+    {
+        nearest(point, cost, minCostPerDistance, null, list, costs);
+    }
+
+    /**
+     * As {@code nearest}, among the other points {@code include} accepts, e.g. the unvisited cities of a tour being
+     * built.  When few points are accepted the rings grow until they find them, up to a scan of the whole grid.
+     * @param include the {@code IntPredicate} points must pass, or {@code null} for all.
+     */
+    public void nearest(int point, IntBinaryOperator cost, double minCostPerDistance, IntPredicate include,
+                        int[] list, int[] costs)
+    {
+        int k = list.length;
+        int size = 0;
+        int column = column(x[point]);
+        int row = row(y[point]);
+        int maxRing = Math.max(columns, rows);
+        for (int ring = 0; ring <= maxRing; ring++)
+        {
+            for (int r = Math.max(0, row - ring); r <= Math.min(rows - 1, row + ring); r++)
+            {
+                boolean edgeRow = r == row - ring || r == row + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = column - ring; c <= column + ring; c += Math.max(1, step))
+                {
+                    if (c < 0 || c >= columns)
+                    {
+                        continue;
+                    }
+                    int cell = r * columns + c;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++)
+                    {
+                        int other = cellPoints[i];
+                        if (other == point || (include != null && !include.test(other)))
+                        {
+                            continue;
+                        }
+                        int otherCost = cost.applyAsInt(point, other);
+                        if (size == k && !cheaper(otherCost, other, costs[size - 1], list[size - 1]))
+                        {
+                            continue;
+                        }
+                        int at = size < k ? size++ : size - 1;
+                        while (at > 0 && cheaper(otherCost, other, costs[at - 1], list[at - 1]))
+                        {
+                            costs[at] = costs[at - 1];
+                            list[at] = list[at - 1];
+                            at--;
+                        }
+                        costs[at] = otherCost;
+                        list[at] = other;
+                    }
+                }
+            }
+            //every point outside the rings scanned so far is at least ring * cellSize away
+            if (size == k && costs[k - 1] < minCostPerDistance * ring * cellSize - 0.5)
+            {
+                return;
+            }
+        }
+    }
+
+    private static boolean cheaper(int cost, int city, int thanCost, int thanCity)
+    {
+        return cost < thanCost || (cost == thanCost && city < thanCity);
+    }
+
+    public double getCellSize()
+    {
+        return cellSize;
+    }
+}
@@ -0,0 +1,24 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      How {@code City} builds its starting tour and its restart tours.  The constructions are done by
+ *      {@code TourConstruction} over the graph's {@code CandidateLists}, so none of them rescans the whole cost
+ *      matrix for every city.
+ *
+ **/
+
+public enum StartMode {
+
+    /** a uniformly random permutation; the original behaviour. */
+    RANDOM,
+    /** nearest neighbour from a random first city: always travel to the cheapest unvisited city next. */
+    NEAREST_NEIGHBOUR,
+    /** greedy edge: take the cheapest directed edges that keep every city at one edge in and one out, then join
+     *  the fragments by nearest neighbour.  The same tour every time. */
+    GREEDY_EDGE,
+    /** nearest neighbour that picks at random among the three cheapest unvisited cities; diverse restarts. */
+    RANDOMIZED_NEAREST_NEIGHBOUR
+}
@@ -0,0 +1,53 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The original {@code SimulatedAnnealing} schedule: the temperature starts at an upper bound and drops by one
+ *      on every non-worsening move, freezing at zero.  Since only non-worsening moves cool it, the number of moves
+ *      it takes is unpredictable, and bounds much larger than 25 cause long delays for negligible improvement.
+ *
+ **/
+
+public class StepCoolingSchedule implements CoolingSchedule {
+
+    private final int temperatureUpperBound;
+    private int temperatureAdjustment = 0;
+
+    /**
+     * @param upperBound the {@code int} starting temperature.
+     */
+    public StepCoolingSchedule(int upperBound)
+    {
+        temperatureUpperBound = upperBound;
+    }
+
+    public double getTemperature()
+    {
+        return temperatureUpperBound - temperatureAdjustment;
+    }
+
+    public void update(boolean worsening, boolean accepted)
+    {
+        if (!worsening)
+        {
+            temperatureAdjustment++;
+        }
+    }
+
+    public boolean isFrozen()
+    {
+        return temperatureAdjustment >= temperatureUpperBound;
+    }
+
+    public void reset()
+    {
+        temperatureAdjustment = 0;
+    }
+
+    public String toString()
+    {
+        return temperatureUpperBound + " - TemperatureAdjustment";
+    }
+}
@@ -0,0 +1,250 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      The original neighbourhood: swap the cities at two tour positions.  Enumerates the pairs in the same order
+ *      as {@code City.generateHillClimbingMoveSet}.
+ *
+ *      Restricted to k candidates, only the swaps that create a candidate edge are made: for each position, the
+ *      city there is swapped with each of the k nearest successors of the city before it and each of the k nearest
+ *      predecessors of the city after it, for (N-1)*2k moves instead of (N-1)(N-2)/2.
+ *
+ **/
+
+public class SwapMoveGenerator implements MoveGenerator {
+
+    private final int candidateCount;   //0 when the neighbourhood is not restricted
+
+    private CostGraph graph;
+    private int[] tour;
+    private int numOfCities;
+    private int cityAIndex;
+    private int cityBIndex;
+    private boolean anchored;
+    private int savedAIndex;
+    private int savedBIndex;
+
+    private CandidateLists candidates;
+    private int ranks;                  //candidates used per list
+    private int rank;                   //of the selected candidate; the incoming lists follow the outgoing ones
+    private int[] indexOfCity;          //indexOfCity[city] is the tour index of city
+
+    /**
+     * Searches every pair of positions.
+     */
+    public SwapMoveGenerator()
+    {
+        candidateCount = 0;
+    }
+
+    /**
+     * Searches only the swaps that create an edge to one of the {@code candidateCount} nearest cities.
+     * @param candidateCount the {@code int} k of {@code CandidateLists} neighbours used per city.
+     */
+    public SwapMoveGenerator(int candidateCount)
+    {
+        if (candidateCount < 1)
+        {
+            throw new IllegalArgumentException("candidateCount must be at least 1: " + candidateCount);
+        }
+        this.candidateCount = candidateCount;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the tour has fewer than 3 cities, as no two cities besides the start city
+     * can then be swapped.
+     */
+    public void bind(CostGraph costGraph, int[] boundTour)
+    {
+        if (boundTour.length < 3)
+        {
+            throw new IllegalArgumentException("swap moves need at least 3 cities: " + boundTour.length);
+        }
+        graph = costGraph;
+        tour = boundTour;
+        numOfCities = boundTour.length;
+        if (candidateCount > 0)
+        {
+            candidates = costGraph.getCandidateLists(candidateCount);
+            ranks = Math.min(candidateCount, candidates.getNeighbourCount());
+            if (indexOfCity == null || indexOfCity.length != numOfCities)
+            {
+                indexOfCity = new int[numOfCities];
+            }
+            for (int i = 0; i < numOfCities; i++)
+            {
+                indexOfCity[tour[i]] = i;
+            }
+        }
+    }
+
+    public long getNeighbourhoodSize()
+    {
+        if (candidateCount > 0)
+        {
+            return (long) (numOfCities - 1) * 2 * ranks;
+        }
+        return (long) (numOfCities - 1) * (numOfCities - 2) / 2;
+    }
+
+    public void startNeighbourhood()
+    {
+        anchored = false;
+        cityAIndex = 1;
+        cityBIndex = 1;
+        rank = -1;
+    }
+
+    public void startNeighbourhood(int position)
+    {
+        anchored = true;
+        cityAIndex = position;
+        cityBIndex = 0;
+        rank = -1;
+    }
+
+    public boolean nextMove()
+    {
+        if (candidateCount > 0)
+        {
+            return nextCandidateMove();
+        }
+        if (anchored)
+        {
+            if (++cityBIndex == cityAIndex)
+            {
+                cityBIndex++;
+            }
+            return cityBIndex < numOfCities;
+        }
+        if (++cityBIndex >= numOfCities)
+        {
+            cityAIndex++;
+            cityBIndex = cityAIndex + 1;
+        }
+        return cityBIndex < numOfCities;
+    }
+
+    /**
+     * {@code nextMove} over the candidate neighbourhood: the candidates of each position in turn, skipping the
+     * candidates that are the city itself or the start city.
+     */
+    private boolean nextCandidateMove()
+    {
+        while (cityAIndex < numOfCities)
+        {
+            if (++rank < 2 * ranks)
+            {
+                cityBIndex = candidatePosition(cityAIndex, rank);
+                if (cityBIndex != cityAIndex && cityBIndex != 0)
+                {
+                    return true;
+                }
+            }
+            else if (anchored)
+            {
+                return false;
+            }
+            else
+            {
+                cityAIndex++;
+                rank = -1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the {@code int} tour index of the {@code rank}-th candidate for the city at {@code index}.
+     */
+    private int candidatePosition(int index, int rank)
+    {
+        if (rank < ranks)
+        {
+            return indexOfCity[candidates.outgoing(tour[index - 1], rank)];
+        }
+        return indexOfCity[candidates.incoming(tour[(index + 1) % numOfCities], rank - ranks)];
+    }
+
+    /**
+     * Draws a uniformly random pair; restricted to candidates, a random candidate of a random position, falling
+     * back to a random partner when that candidate makes no valid move.
+     */
+    public void randomMove(SearchRandom random)
+    {
+        cityAIndex = random.nextInt(numOfCities - 1) + 1;           //do not allow start city to be swapped.
+        if (candidateCount > 0)
+        {
+            cityBIndex = candidatePosition(cityAIndex, random.nextInt(2 * ranks));
+            if (cityBIndex != cityAIndex && cityBIndex != 0)
+            {
+                return;
+            }
+        }
+        cityBIndex = random.nextInt(numOfCities - 2) + 1;
+        if (cityBIndex >= cityAIndex)
+        {
+            cityBIndex++;                                          //make sure different cities are selected.
+        }
+    }
+
+    public void saveMove()
+    {
+        savedAIndex = cityAIndex;
+        savedBIndex = cityBIndex;
+    }
+
+    public void restoreMove()
+    {
+        cityAIndex = savedAIndex;
+        cityBIndex = savedBIndex;
+    }
+
+    public int delta()
+    {
+        return graph.calculateSwapDelta(tour, cityAIndex, cityBIndex);
+    }
+
+    public void apply()
+    {
+        swap();
+    }
+
+    public void undo()
+    {
+        swap();
+    }
+
+    private void swap()
+    {
+        City.swapInPlace(tour, cityAIndex, cityBIndex);
+        if (candidateCount > 0)
+        {
+            indexOfCity[tour[cityAIndex]] = cityAIndex;
+            indexOfCity[tour[cityBIndex]] = cityBIndex;
+        }
+    }
+
+    public int affectedCities(int[] cities)
+    {
+        int count = 0;
+        for (int offset = -1; offset <= 1; offset++)
+        {
+            cities[count++] = tour[(cityAIndex + offset + numOfCities) % numOfCities];
+            cities[count++] = tour[(cityBIndex + offset + numOfCities) % numOfCities];
+        }
+        return count;
+    }
+
+    public MoveGenerator copy()
+    {
+        return candidateCount > 0 ? new SwapMoveGenerator(candidateCount) : new SwapMoveGenerator();
+    }
+
+    public String toString()
+    {
+        return candidateCount > 0 ? "Swap (" + candidateCount + " candidates)" : "Swap";
+    }
+}
@@ -0,0 +1,330 @@
+package localsearching;
+
+import java.util.Arrays;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Runs Tabu Search over pairwise swaps on a given {@code City} cost graph.  Every iteration takes the best
+ *      admissible swap of the whole neighbourhood, even a worsening one.  A swap is not admissible if either of its
+ *      positions was swapped within the last {@code tenure} iterations, or if it leads back to a tour already
+ *      visited; the aspiration criterion admits any swap that beats the best tour found.  Visited tours are detected
+ *      by a Zobrist hash: the XOR of a 64-bit key for every (city, position) pair of the tour, so a swap updates it
+ *      with four XORs.  The keys are mixed from one random key per city and one per position rather than stored for
+ *      every pair, so they take O(N) memory instead of O(N^2).  The hashes live in a bounded {@code VisitedTourSet}.
+ **/
+
+public class TabuSearch
+{
+    int currentCost;
+    int currentBestCost;
+    int[] currentBestTour;
+
+    City cityGraph;
+
+    long totalExecutionNumber = 0;
+    long executionNumberOfBestFound = 0;
+    long revisitsSkipped = 0;
+    Results recorder;
+
+    int tenure;
+    int visitedCapacity = 1 << 20;
+    SearchBudget budget;
+
+    //unless a budget is set, a run stops after this many whole neighbourhoods evaluated without improving the best
+    private static final int DEFAULT_STAGNATION_ITERATIONS = 100;
+    private static final long STOP_CHECK_MASK = 0xFFF;      //a solver is checked once every 4096 moves
+
+    private long[] cityKeys;
+    private long[] positionKeys;
+    private int[] tabuUntil;            //tabuUntil[position] is the first iteration the position may be swapped again
+    private VisitedTourSet visited;
+
+    int currentRunNumber = 0;
+    SearchMetrics metrics;
+    ConvergenceTrace trace;
+    private AbstractSolver solver;      //set while running under a TabuSolver
+
+    /**
+     * Base constructor
+     * @param tourGraph the {@code City} that contains the cost graph and starting tour for the search
+     */
+    public TabuSearch(City tourGraph)
+    {
+        cityGraph = tourGraph;
+        currentBestTour = tourGraph.getStartingTourArrangement().clone();
+        currentBestCost = tourGraph.calculateTourCost(currentBestTour);
+        tenure = Math.max(1, Math.min(10, tourGraph.getCityNumber() / 4));
+        recorder = new Results("Tabu Search", tourGraph);
+    }
+
+    /**
+     * Resets necessary variables back to starting condition in order to rerun the same search instance
+     * on the same {@code City} multiple times.
+     */
+    public void resetSearch()
+    {
+        System.arraycopy(cityGraph.getStartingTourArrangement(), 0, currentBestTour, 0, currentBestTour.length);
+        currentBestCost = cityGraph.calculateTourCost(currentBestTour);
+        executionNumberOfBestFound = 0;
+        totalExecutionNumber = 0;
+        revisitsSkipped = 0;
+    }
+
+    /**
+     * Runs the search from the starting tour and saves the collected data.  The run ends when the
+     * {@code SearchBudget} is used up, or when every swap is tabu or revisits a tour.  The budget is checked once per
+     * iteration, i.e. once per neighbourhood of (N-1)(N-2)/2 swaps, since the start city at index 0 is never moved;
+     * a solver is also checked every 4096 swaps within one.
+     */
+    public void runTabuSearch()
+    {
+        CostGraph graph = cityGraph.getCostGraph();
+        int[] tour = cityGraph.getStartingTourArrangement().clone();
+        int length = tour.length;
+        currentCost = graph.calculateTourCost(tour);
+        prepare(length);
+        long neighbourhoodSize = (long) (length - 1) * (length - 2) / 2;
+        SearchBudget runBudget = solver != null ? SearchBudget.unlimited() : budget != null ? budget
+                : SearchBudget.unlimited().withStagnationLimit(
+                        Math.max(1000, DEFAULT_STAGNATION_ITERATIONS * neighbourhoodSize));
+
+        long hash = 0;
+        for (int position = 0; position < length; position++)
+        {
+            hash ^= key(tour[position], position);
+        }
+        visited.add(hash);
+
+        long startNanos = System.nanoTime();
+        metrics = new SearchMetrics(startNanos);
+        if (trace != null)
+        {
+            trace.start(startNanos);
+        }
+        if (solver != null)
+        {
+            solver.bestImproved(currentBestTour, currentBestCost, totalExecutionNumber);
+        }
+
+        for (int iteration = 0; ; iteration++)
+        {
+            long sinceImprovement = totalExecutionNumber - executionNumberOfBestFound;
+            if (runBudget.isExhaustedAfter(totalExecutionNumber, sinceImprovement, System.nanoTime() - startNanos)
+                    || (solver != null && solver.shouldStop(totalExecutionNumber, sinceImprovement)))
+            {
+                break;
+            }
+
+            int bestDelta = Integer.MAX_VALUE;
+            int bestA = -1;
+            int bestB = -1;
+            long bestHash = 0;
+            boolean stopped = false;
+            for (int a = 1; a < length && !stopped; a++)
+            {
+                for (int b = a + 1; b < length; b++)
+                {
+                    int delta = graph.calculateSwapDelta(tour, a, b);
+                    totalExecutionNumber++;
+                    if (stopRequested())
+                    {
+                        stopped = true;
+                        break;
+                    }
+                    if (delta >= bestDelta)
+                    {
+                        continue;
+                    }
+                    boolean aspiration = currentCost + delta < currentBestCost;
+                    if (!aspiration && (tabuUntil[a] > iteration || tabuUntil[b] > iteration))
+                    {
+                        continue;
+                    }
+                    long swappedHash = hash ^ key(tour[a], a) ^ key(tour[b], b) ^ key(tour[b], a) ^ key(tour[a], b);
+                    if (!aspiration && visited.contains(swappedHash))
+                    {
+                        revisitsSkipped++;
+                        continue;
+                    }
+                    bestDelta = delta;
+                    bestA = a;
+                    bestB = b;
+                    bestHash = swappedHash;
+                }
+            }
+            if (stopped || bestA < 0)
+            {
+                break;
+            }
+
+            City.swapInPlace(tour, bestA, bestB);
+            metrics.moveAccepted();
+            currentCost += bestDelta;
+            hash = bestHash;
+            visited.add(hash);
+            tabuUntil[bestA] = iteration + 1 + tenure;
+            tabuUntil[bestB] = iteration + 1 + tenure;
+
+            if (currentCost < currentBestCost)
+            {
+                currentBestCost = currentCost;
+                System.arraycopy(tour, 0, currentBestTour, 0, length);
+                executionNumberOfBestFound = totalExecutionNumber;
+                metrics.bestImproved();
+                if (solver != null)
+                {
+                    solver.bestImproved(currentBestTour, currentBestCost, totalExecutionNumber);
+                }
+            }
+            if (trace != null)
+            {
+                trace.sample(totalExecutionNumber, currentCost, currentBestCost);
+            }
+        }
+        currentRunNumber++;
+        metrics.finish(totalExecutionNumber);
+        if (trace != null)
+        {
+            trace.finish(totalExecutionNumber, currentCost, currentBestCost);
+        }
+
+        int[] startingTour = cityGraph.getStartingTourArrangement();
+        recorder.addRecord(new RunRecord(currentRunNumber, PackedTour.of(startingTour),
+                cityGraph.calculateTourCost(startingTour), PackedTour.of(currentBestTour), currentBestCost,
+                totalExecutionNumber, executionNumberOfBestFound, 0, null,
+                "Swap, tenure " + tenure + ", " + revisitsSkipped + " revisits skipped", metrics,
+                trace == null ? null : trace.copy()));
+    }
+
+    /**
+     * @return whether a {@code TabuSolver} is running this search and says to stop; checked once every 4096 moves, so
+     * a cancellation or time limit is noticed within a neighbourhood, whose (N-1)(N-2)/2 swaps can take a while on a
+     * large graph.  The iteration it interrupts is dropped.
+     */
+    private boolean stopRequested()
+    {
+        return solver != null && (totalExecutionNumber & STOP_CHECK_MASK) == 0
+                && solver.shouldStop(totalExecutionNumber, totalExecutionNumber - executionNumberOfBestFound);
+    }
+
+    /**
+     * Draws the Zobrist keys and clears the tabu list and visited set, reusing them when the size is unchanged.
+     */
+    private void prepare(int length)
+    {
+        if (cityKeys == null || cityKeys.length != length)
+        {
+            SearchRandom random = cityGraph.getRandom();
+            cityKeys = new long[length];
+            positionKeys = new long[length];
+            for (int i = 0; i < length; i++)
+            {
+                cityKeys[i] = random.nextLong();
+                positionKeys[i] = random.nextLong();
+            }
+            tabuUntil = new int[length];
+        }
+        else
+        {
+            Arrays.fill(tabuUntil, 0);
+        }
+        if (visited == null)
+        {
+            visited = new VisitedTourSet(visitedCapacity);
+        }
+        else
+        {
+            visited.clear();
+        }
+    }
+
+    /**
+     * @return the Zobrist key of {@code city} at {@code position}: the two random keys mixed by the SplitMix64
+     * finalizer, so the keys of different pairs are independent even though they share city and position keys.
+     */
+    private long key(int city, int position)
+    {
+        long z = cityKeys[city] + positionKeys[position] * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Runs {@code runTabuSearch} for {@code control}: its budget replaces this search's own, it is checked once per
+     * iteration and every 4096 moves, and it is told about every improvement of the best tour.
+     * @param control the {@code AbstractSolver} holding the budget, cancellation and best-so-far snapshot.
+     */
+    void solveWith(AbstractSolver control)
+    {
+        solver = control;
+        try
+        {
+            runTabuSearch();
+        }
+        finally
+        {
+            solver = null;
+        }
+    }
+
+    //////-----------------GETTERS & SETTERS--------------///////
+
+    /**
+     * @param newTenure the {@code int} number of iterations a swapped position stays tabu.
+     */
+    public void setTenure(int newTenure)
+    {
+        if (newTenure < 0)
+        {
+            throw new IllegalArgumentException("tenure must not be negative: " + newTenure);
+        }
+        tenure = newTenure;
+    }
+
+    /**
+     * @param capacity the {@code int} number of most recent tour hashes always remembered from the next run on; the
+     *                 set takes 32 to 64 bytes per hash.
+     */
+    public void setVisitedCapacity(int capacity)
+    {
+        if (capacity != visitedCapacity)
+        {
+            visited = new VisitedTourSet(capacity);
+            visitedCapacity = capacity;
+        }
+    }
+
+    /**
+     * @param newBudget the {@code SearchBudget} each run is limited to.  Replaces the default stagnation limit of 100
+     *                  neighbourhoods without improving the best tour.
+     */
+    public void setBudget(SearchBudget newBudget)
+    {
+        budget = newBudget;
+    }
+
+    /**
+     * @param newTrace the {@code ConvergenceTrace} every run is traced into, sampled per iteration, or {@code null}
+     *                 for none.
+     */
+    public void setConvergenceTrace(ConvergenceTrace newTrace)
+    {
+        trace = newTrace;
+    }
+
+    /**
+     * @return the {@code long} number of swaps skipped since the last reset because they revisited a tour.
+     */
+    public long getRevisitsSkipped()
+    {
+        return revisitsSkipped;
+    }
+
+    public Results getRecorder()
+    {
+        return recorder;
+    }
+}
@@ -0,0 +1,66 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Tabu Search as a {@code Solver}: one tabu run that ends when the budget is used up, the solver is cancelled,
+ *      or every swap is tabu or revisits a tour.  Each solve searches a new {@code City} over the given graph, with
+ *      its own random stream split from the solver's seed.
+ *
+ **/
+
+public class TabuSolver extends AbstractSolver
+{
+    private final SearchRandom seedSource;
+    private int tenure = -1;                //-1 keeps the search's default
+    private StartMode startMode = StartMode.RANDOM;
+    private Results recorder;
+
+    /**
+     * @param seed the {@code long} seed the random stream of every solve is split from.
+     */
+    public TabuSolver(long seed)
+    {
+        seedSource = new SearchRandom(seed);
+    }
+
+    protected void search(CostGraph graph)
+    {
+        TabuSearch search = new TabuSearch(new City(graph, seedSource.split(), startMode));
+        if (tenure >= 0)
+        {
+            search.setTenure(tenure);
+        }
+        recorder = search.getRecorder();
+        search.solveWith(this);
+    }
+
+    /**
+     * @param newTenure the {@code int} number of iterations a swapped position stays tabu.
+     */
+    public void setTenure(int newTenure)
+    {
+        if (newTenure < 0)
+        {
+            throw new IllegalArgumentException("tenure must not be negative: " + newTenure);
+        }
+        tenure = newTenure;
+    }
+
+    /**
+     * @param mode the {@code StartMode} the starting tour of each solve is built with.
+     */
+    public void setStartMode(StartMode mode)
+    {
+        startMode = mode;
+    }
+
+    /**
+     * @return the {@code Results} holding the {@code RunRecord} of the last solve, or {@code null} before the first.
+     */
+    public Results getRecorder()
+    {
+        return recorder;
+    }
+}
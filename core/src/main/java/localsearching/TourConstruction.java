@@ -0,0 +1,266 @@
+package localsearching;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Construction heuristics for starting and restart tours (see {@code StartMode}).  The nearest-neighbour
+ *      tours look up the next city in the graph's shared {@code CandidateLists}, which are sorted once per graph,
+ *      and only scan the remaining unvisited cities when every candidate has been visited (or, on coordinates,
+ *      search the spatial grid around the last city); the greedy-edge tour sorts the N*k candidate edges.  An instance
+ *      keeps its scratch arrays between tours, so the nearest-neighbour constructions allocate nothing; like
+ *      {@code City}, each search needs its own.
+ *
+ **/
+
+public final class TourConstruction
+{
+    static final int CANDIDATE_COUNT = 10;
+    static final int RANDOMIZED_CHOICES = 3;
+
+    private final CostGraph graph;
+    private final int numOfCities;
+    private final int[] unvisited;          //the cities not yet in the tour, in unvisited[0 .. unvisitedCount)
+    private final int[] slot;               //slot[city] is the index of city in unvisited, -1 once visited
+    private int unvisitedCount;
+    private final IntPredicate isUnvisited;
+    private final int[] nearestCity = new int[1];           //grid search results, on coordinates
+    private final int[] nearestCost = new int[1];
+
+    /**
+     * @param graph the {@code CostGraph} tours are built on.
+     */
+    public TourConstruction(CostGraph graph)
+    {
+        this.graph = graph;
+        numOfCities = graph.getCityNumber();
+        unvisited = new int[numOfCities];
+        slot = new int[numOfCities];
+        isUnvisited = city -> slot[city] >= 0;
+    }
+
+    /**
+     * Builds a tour with a construction heuristic.
+     * @param mode the {@code StartMode} to build with; not {@code RANDOM}
+     * @param random the {@code SearchRandom} the first city and randomized choices are drawn from
+     * @param tour the {@code int[]} of length N to fill.
+     */
+    public void build(StartMode mode, SearchRandom random, int[] tour)
+    {
+        switch (mode)
+        {
+            case NEAREST_NEIGHBOUR:
+                nearestNeighbour(random.nextInt(numOfCities), null, tour);
+                break;
+            case RANDOMIZED_NEAREST_NEIGHBOUR:
+                nearestNeighbour(random.nextInt(numOfCities), random, tour);
+                break;
+            case GREEDY_EDGE:
+                greedyEdge(tour);
+                break;
+            default:
+                throw new IllegalArgumentException("not a construction heuristic: " + mode);
+        }
+    }
+
+    /**
+     * Builds a nearest-neighbour tour from {@code firstCity}.
+     * @param random the {@code SearchRandom} to choose among the {@code RANDOMIZED_CHOICES} cheapest unvisited
+     *               candidates with, or {@code null} to always take the cheapest.
+     */
+    private void nearestNeighbour(int firstCity, SearchRandom random, int[] tour)
+    {
+        CandidateLists candidates = graph.getCandidateLists(CANDIDATE_COUNT);
+        int ranks = Math.min(CANDIDATE_COUNT, candidates.getNeighbourCount());
+        resetUnvisited();
+
+        tour[0] = firstCity;
+        visit(firstCity);
+        for (int i = 1; i < numOfCities; i++)
+        {
+            int from = tour[i - 1];
+            int next = -1;
+            int choices = 0;
+            for (int rank = 0; rank < ranks && choices < RANDOMIZED_CHOICES; rank++)
+            {
+                int candidate = candidates.outgoing(from, rank);
+                if (slot[candidate] < 0)
+                {
+                    continue;
+                }
+                if (random == null)
+                {
+                    next = candidate;
+                    break;
+                }
+                choices++;
+                if (random.nextInt(choices) == 0)               //uniform among the choices seen so far
+                {
+                    next = candidate;
+                }
+            }
+            if (next < 0)
+            {
+                next = cheapestUnvisited(from);
+            }
+            tour[i] = next;
+            visit(next);
+        }
+    }
+
+    /**
+     * Builds a greedy-edge tour: the candidate edges are taken cheapest first whenever the city they leave has no
+     * outgoing edge yet, the city they enter has no incoming edge yet, and they do not close a fragment into a
+     * cycle.  The remaining path fragments are then joined, each from its last city to the cheapest first city of
+     * another fragment.
+     */
+    private void greedyEdge(int[] tour)
+    {
+        CandidateLists candidates = graph.getCandidateLists(CANDIDATE_COUNT);
+        int ranks = Math.min(CANDIDATE_COUNT, candidates.getNeighbourCount());
+
+        //cost in the high word, so sorting orders the edges by cost; the edge index in the low word
+        long[] edges = new long[numOfCities * ranks];
+        for (int from = 0; from < numOfCities; from++)
+        {
+            for (int rank = 0; rank < ranks; rank++)
+            {
+                int edge = from * ranks + rank;
+                edges[edge] = ((long) graph.getCost(from, candidates.outgoing(from, rank)) << 32) | edge;
+            }
+        }
+        Arrays.parallelSort(edges);
+
+        int[] successor = new int[numOfCities];
+        int[] predecessor = new int[numOfCities];
+        int[] otherEnd = new int[numOfCities];          //for the first and last city of a fragment, the other one
+        Arrays.fill(successor, -1);
+        Arrays.fill(predecessor, -1);
+        for (int city = 0; city < numOfCities; city++)
+        {
+            otherEnd[city] = city;
+        }
+
+        int edgesTaken = 0;
+        for (int i = 0; i < edges.length && edgesTaken < numOfCities - 1; i++)
+        {
+            int edge = (int) edges[i];
+            int from = edge / ranks;
+            int to = candidates.outgoing(from, edge % ranks);
+            if (successor[from] >= 0 || predecessor[to] >= 0 || otherEnd[from] == to)
+            {
+                continue;
+            }
+            successor[from] = to;
+            predecessor[to] = from;
+            int first = otherEnd[from];
+            int last = otherEnd[to];
+            otherEnd[first] = last;
+            otherEnd[last] = first;
+            edgesTaken++;
+        }
+
+        //join the fragments; the unvisited list holds the first city of every fragment not yet in the tour
+        unvisitedCount = 0;
+        for (int city = 0; city < numOfCities; city++)
+        {
+            slot[city] = -1;
+            if (predecessor[city] < 0)
+            {
+                slot[city] = unvisitedCount;
+                unvisited[unvisitedCount++] = city;
+            }
+        }
+        int length = 0;
+        int next = unvisited[0];
+        while (true)
+        {
+            visit(next);
+            for (int city = next; city >= 0; city = successor[city])
+            {
+                tour[length++] = city;
+            }
+            if (unvisitedCount == 0)
+            {
+                break;
+            }
+            next = cheapestUnvisited(tour[length - 1]);
+        }
+    }
+
+    /**
+     * Rotates {@code tour} in place so that it starts at {@code firstCity}; the tour and its cost are unchanged.
+     * @param tour the {@code int[]} tour to rotate
+     * @param firstCity the {@code int} city to move to index 0.
+     */
+    public static void rotateToFront(int[] tour, int firstCity)
+    {
+        int index = 0;
+        while (tour[index] != firstCity)
+        {
+            index++;
+        }
+        reverse(tour, 0, index - 1);
+        reverse(tour, index, tour.length - 1);
+        reverse(tour, 0, tour.length - 1);
+    }
+
+    private static void reverse(int[] tour, int from, int to)
+    {
+        while (from < to)
+        {
+            City.swapInPlace(tour, from++, to--);
+        }
+    }
+
+    private void resetUnvisited()
+    {
+        for (int city = 0; city < numOfCities; city++)
+        {
+            unvisited[city] = city;
+            slot[city] = city;
+        }
+        unvisitedCount = numOfCities;
+    }
+
+    /**
+     * Removes {@code city} from the unvisited list by moving the last unvisited city into its slot.
+     */
+    private void visit(int city)
+    {
+        int index = slot[city];
+        int moved = unvisited[--unvisitedCount];
+        unvisited[index] = moved;
+        slot[moved] = index;
+        slot[city] = -1;
+    }
+
+    /**
+     * @return the {@code int} unvisited city cheapest to travel to from {@code from}, by a scan of the unvisited list,
+     * or for a {@code CoordinateCostMatrix} by a search of its {@code SpatialGrid}, which only looks near
+     * {@code from} until most cities are visited.
+     */
+    private int cheapestUnvisited(int from)
+    {
+        if (graph.getCostMatrix() instanceof CoordinateCostMatrix coordinates)
+        {
+            coordinates.nearest(from, true, isUnvisited, nearestCity, nearestCost);
+            return nearestCity[0];
+        }
+        int cheapest = unvisited[0];
+        int cheapestCost = graph.getCost(from, cheapest);
+        for (int i = 1; i < unvisitedCount; i++)
+        {
+            int cost = graph.getCost(from, unvisited[i]);
+            if (cost < cheapestCost)
+            {
+                cheapestCost = cost;
+                cheapest = unvisited[i];
+            }
+        }
+        return cheapest;
+    }
+}
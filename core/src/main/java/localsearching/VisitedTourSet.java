@@ -0,0 +1,119 @@
+package localsearching;
+
+import java.util.Arrays;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      A bounded set of 64-bit tour hashes in two primitive open-addressing tables (linear probing, no boxing).
+ *      Hashes are added to the current table; once it holds {@code capacity} of them it becomes the previous table,
+ *      and the old previous table is cleared and reused as the current one.  So the memory is fixed at two tables,
+ *      the most recent {@code capacity} hashes are always kept, and older ones are evicted a generation at a time.
+ *      Two different tours with the same hash are treated as the same tour; with 64 bits that is rare enough not to
+ *      matter to a search.
+ *
+ **/
+
+final class VisitedTourSet
+{
+    private static final long EMPTY = 0;            //hash 0 is stored as 1
+
+    private final int capacity;
+    private final int mask;
+    private long[] current;
+    private long[] previous;
+    private int size;
+
+    /**
+     * @param capacity the {@code int} number of most recent hashes always kept; each table is sized to twice this,
+     *                 rounded up to a power of two, so probes stay short.
+     */
+    VisitedTourSet(int capacity)
+    {
+        if (capacity < 1 || capacity > 1 << 28)
+        {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^28: " + capacity);
+        }
+        this.capacity = capacity;
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        mask = tableSize - 1;
+        current = new long[tableSize];
+        previous = new long[tableSize];
+    }
+
+    /**
+     * @param hash the {@code long} tour hash
+     * @return whether {@code hash} is still held.
+     */
+    boolean contains(long hash)
+    {
+        hash = stored(hash);
+        return find(current, hash) || find(previous, hash);
+    }
+
+    /**
+     * @param hash the {@code long} tour hash to add
+     * @return {@code false} if it was already held.
+     */
+    boolean add(long hash)
+    {
+        hash = stored(hash);
+        if (find(previous, hash))
+        {
+            return false;
+        }
+        int slot = slot(hash);
+        while (current[slot] != EMPTY)
+        {
+            if (current[slot] == hash)
+            {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == capacity)
+        {
+            long[] cleared = previous;
+            previous = current;
+            current = cleared;
+            Arrays.fill(current, EMPTY);
+            size = 0;
+            slot = slot(hash);
+        }
+        current[slot] = hash;
+        size++;
+        return true;
+    }
+
+    void clear()
+    {
+        Arrays.fill(current, EMPTY);
+        Arrays.fill(previous, EMPTY);
+        size = 0;
+    }
+
+    private boolean find(long[] table, long hash)
+    {
+        int slot = slot(hash);
+        while (table[slot] != EMPTY)
+        {
+            if (table[slot] == hash)
+            {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private int slot(long hash)
+    {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static long stored(long hash)
+    {
+        return hash == EMPTY ? 1 : hash;
+    }
+}
@@ -0,0 +1,89 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks the k-nearest {@code CandidateLists} against a brute-force sort of every row and column, on a graph
+ *      with many tied costs so the tie-break on the lower city number is exercised too.
+ *
+ **/
+
+class CandidateListsTest
+{
+    private static CostGraph tiedGraph(int cityNumber, long seed)
+    {
+        SearchRandom random = new SearchRandom(seed);
+        FlatCostMatrix costs = new FlatCostMatrix(cityNumber);
+        for (int from = 0; from < cityNumber; from++)
+        {
+            for (int to = 0; to < cityNumber; to++)
+            {
+                costs.setCost(from, to, from == to ? -1 : 100 + random.nextInt(6));
+            }
+        }
+        return new CostGraph(costs);
+    }
+
+    private static int[] bruteForceNearest(CostGraph graph, int city, int k, boolean outgoing)
+    {
+        Comparator<Integer> byCost = Comparator.comparingInt(other -> outgoing ? graph.getCost(city, other)
+                : graph.getCost(other, city));
+        return IntStream.range(0, graph.getCityNumber()).filter(other -> other != city).boxed()
+                .sorted(byCost.thenComparingInt(other -> other)).limit(k).mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void matchesBruteForceNearest()
+    {
+        for (CostGraph graph : new CostGraph[] {tiedGraph(40, 1), TestGraphs.random(60, 2)})
+        {
+            for (int k : new int[] {1, 5, 12})
+            {
+                CandidateLists lists = graph.getCandidateLists(k);
+                assertEquals(k, lists.getNeighbourCount());
+                for (int city = 0; city < graph.getCityNumber(); city++)
+                {
+                    int[] outgoing = bruteForceNearest(graph, city, k, true);
+                    int[] incoming = bruteForceNearest(graph, city, k, false);
+                    for (int rank = 0; rank < k; rank++)
+                    {
+                        String where = "k " + k + ", city " + city + ", rank " + rank;
+                        assertEquals(outgoing[rank], lists.outgoing(city, rank), "outgoing, " + where);
+                        assertEquals(incoming[rank], lists.incoming(city, rank), "incoming, " + where);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void neighbourCountIsCappedAtTheOtherCities()
+    {
+        CostGraph graph = TestGraphs.random(6, 3);
+        CandidateLists lists = graph.getCandidateLists(50);
+        assertEquals(5, lists.getNeighbourCount());
+        int[] all = bruteForceNearest(graph, 2, 5, true);
+        for (int rank = 0; rank < 5; rank++)
+        {
+            assertEquals(all[rank], lists.outgoing(2, rank));
+        }
+    }
+
+    @Test
+    void listsAreBuiltOncePerGraph()
+    {
+        CostGraph graph = TestGraphs.random(20, 4);
+        assertSame(graph.getCandidateLists(5), graph.getCandidateLists(5));
+        assertThrows(IllegalArgumentException.class, () -> TestGraphs.random(20, 5).getCandidateLists(0));
+    }
+}
@@ -0,0 +1,52 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks the O(1) swap delta against a full recomputation of the tour cost, for every pair of positions
+ *      including adjacent ones and the pair that wraps around the end of the tour.
+ *
+ **/
+
+class CityTest
+{
+    @Test
+    void swapDeltaMatchesRecomputedCost()
+    {
+        for (int n : new int[] {2, 3, 4, 5, 12})
+        {
+            CostGraph graph = TestGraphs.random(n, n);
+            City city = new City(graph, new SearchRandom(n));
+            int[] tour = city.getStartingTourArrangement().clone();
+            int cost = graph.calculateTourCost(tour);
+            for (int a = 0; a < n; a++)
+            {
+                for (int b = 0; b < n; b++)
+                {
+                    int[] swapped = tour.clone();
+                    City.swapInPlace(swapped, a, b);
+                    int expected = graph.calculateTourCost(swapped) - cost;
+                    String pair = n + " cities, positions " + a + " and " + b;
+                    assertEquals(expected, graph.calculateSwapDelta(tour, a, b), pair);
+                    assertEquals(expected, city.calculateSwapDelta(tour, a, b), pair);
+                }
+            }
+        }
+    }
+
+    @Test
+    void swapInPlaceSwapsOnlyTheTwoPositions()
+    {
+        int[] tour = {0, 1, 2, 3, 4};
+        City.swapInPlace(tour, 1, 3);
+        assertArrayEquals(new int[] {0, 3, 2, 1, 4}, tour);
+        City.swapInPlace(tour, 3, 1);
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, tour);
+    }
+}
@@ -0,0 +1,161 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that a ring buffer trace keeps the latest samples at its interval, that a downsampling trace keeps the
+ *      whole run at an evenly halved resolution, that the acceptance rate of each sample covers the moves since the
+ *      previous one, and that {@code finish}, {@code start} and {@code copy} behave as documented.
+ *
+ **/
+
+class ConvergenceTraceTest
+{
+    private static int currentCost(long iteration)
+    {
+        return (int) (5000 - iteration % 300);
+    }
+
+    private static int bestCost(long iteration)
+    {
+        return (int) (5000 - iteration);
+    }
+
+    private static void run(ConvergenceTrace trace, long iterations)
+    {
+        for (long iteration = 0; iteration < iterations; iteration++)
+        {
+            trace.sample(iteration, currentCost(iteration), bestCost(iteration));
+        }
+    }
+
+    private static void assertSampleOf(ConvergenceTrace trace, int sample, long iteration)
+    {
+        assertEquals(iteration, trace.getIteration(sample), "sample " + sample);
+        assertEquals(currentCost(iteration), trace.getCurrentCost(sample), "sample " + sample);
+        assertEquals(bestCost(iteration), trace.getBestCost(sample), "sample " + sample);
+    }
+
+    @Test
+    void ringBufferKeepsTheLatestSamples()
+    {
+        ConvergenceTrace trace = ConvergenceTrace.ringBuffer(4, 10);
+        run(trace, 100);
+        assertEquals(4, trace.size());
+        for (int sample = 0; sample < 4; sample++)
+        {
+            assertSampleOf(trace, sample, 60 + 10 * sample);
+        }
+        trace.finish(99, currentCost(99), bestCost(99));
+        assertEquals(4, trace.size());
+        assertSampleOf(trace, 0, 70);
+        assertSampleOf(trace, 3, 99);
+        trace.finish(99, currentCost(99), bestCost(99));
+        assertSampleOf(trace, 2, 90);
+        assertSampleOf(trace, 3, 99);
+    }
+
+    @Test
+    void downsamplingKeepsTheWholeRunEvenlySpaced()
+    {
+        for (int capacity : new int[] {2, 8, 64})
+        {
+            for (long iterations : new long[] {1, 7, 8, 9, 1000, 100_000})
+            {
+                ConvergenceTrace trace = ConvergenceTrace.downsampling(capacity);
+                run(trace, iterations);
+                trace.finish(iterations - 1, currentCost(iterations - 1), bestCost(iterations - 1));
+                String run = capacity + " samples of " + iterations + " iterations";
+                assertTrue(trace.size() <= capacity, run);
+                assertTrue(iterations < capacity || trace.size() >= capacity / 2, run);
+                assertSampleOf(trace, 0, 0);
+                assertSampleOf(trace, trace.size() - 1, iterations - 1);
+                long spacing = trace.size() > 2 ? trace.getIteration(1) : 1;
+                assertEquals(0, spacing & (spacing - 1), run + ": spacing " + spacing + " is a power of two");
+                for (int sample = 1; sample < trace.size(); sample++)
+                {
+                    assertSampleOf(trace, sample, trace.getIteration(sample));
+                    assertTrue(trace.getElapsedNanos(sample) >= trace.getElapsedNanos(sample - 1), run);
+                    if (sample < trace.size() - 1)
+                    {
+                        assertEquals(spacing * sample, trace.getIteration(sample), run);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void startClearsTheTraceAndCopyKeepsIt()
+    {
+        ConvergenceTrace trace = ConvergenceTrace.downsampling(16);
+        run(trace, 500);
+        ConvergenceTrace copy = trace.copy();
+        int size = trace.size();
+        trace.start(System.nanoTime());
+        assertEquals(0, trace.size());
+        run(trace, 3);
+        assertEquals(3, trace.size());
+        assertSampleOf(trace, 1, 1);
+
+        assertEquals(size, copy.size());
+        assertSampleOf(copy, 0, 0);
+        assertSampleOf(copy, 1, 32);
+        assertThrows(IndexOutOfBoundsException.class, () -> copy.getIteration(size));
+        assertThrows(IndexOutOfBoundsException.class, () -> copy.getBestCost(-1));
+    }
+
+    @Test
+    void acceptanceRateIsTakenBetweenSamples() throws IOException
+    {
+        ConvergenceTrace trace = ConvergenceTrace.ringBuffer(3, 100);
+        for (long iteration = 0; iteration < 400; iteration++)
+        {
+            //every move is accepted for the first 200 iterations, then one in four
+            long accepted = iteration < 200 ? iteration : 200 + (iteration - 200) / 4;
+            boolean sampled = trace.sample(iteration, currentCost(iteration), bestCost(iteration), accepted,
+                    1000.0 / (iteration + 1));
+            assertEquals(iteration % 100 == 0, sampled, "iteration " + iteration);
+        }
+        assertEquals(3, trace.size());
+        assertSampleOf(trace, 0, 100);
+        assertEquals(1000.0 / 301, trace.getTemperature(2));
+        assertEquals(225, trace.getMovesAccepted(2));
+        assertEquals(1, trace.getAcceptanceRate(1));
+        assertEquals(0.25, trace.getAcceptanceRate(2));
+        assertEquals(100.0 / 100, trace.getAcceptanceRate(0));
+
+        ConvergenceTrace untracked = ConvergenceTrace.downsampling(4);
+        run(untracked, 10);
+        assertEquals(-1, untracked.getMovesAccepted(0));
+        assertTrue(Double.isNaN(untracked.getTemperature(0)));
+        assertTrue(Double.isNaN(untracked.getAcceptanceRate(1)));
+
+        StringBuilder csv = new StringBuilder();
+        trace.appendCsv(csv, "7");
+        String[] lines = csv.toString().split("\n");
+        assertEquals(3, lines.length);
+        String[] last = lines[2].split(",");
+        assertEquals(7, last.length);
+        assertEquals("7", last[0]);
+        assertEquals("300", last[2]);
+        assertEquals("225", last[5]);
+        assertEquals(1000.0 / 301, Double.parseDouble(last[6]));
+    }
+
+    @Test
+    void rejectsBadSizes()
+    {
+        assertThrows(IllegalArgumentException.class, () -> ConvergenceTrace.downsampling(1));
+        assertThrows(IllegalArgumentException.class, () -> ConvergenceTrace.ringBuffer(2, 0));
+    }
+}
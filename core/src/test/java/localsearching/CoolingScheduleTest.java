@@ -0,0 +1,119 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks each {@code CoolingSchedule} against the temperatures it documents, when it freezes, and that
+ *      {@code reset} starts it over.
+ *
+ **/
+
+class CoolingScheduleTest
+{
+    private static final double EPSILON = 1e-9;
+
+    private static void update(CoolingSchedule schedule, int moves, boolean worsening, boolean accepted)
+    {
+        for (int i = 0; i < moves; i++)
+        {
+            schedule.update(worsening, accepted);
+        }
+    }
+
+    @Test
+    void stepCoolsOncePerNonWorseningMove()
+    {
+        StepCoolingSchedule schedule = new StepCoolingSchedule(5);
+        assertEquals(5, schedule.getTemperature(), EPSILON);
+        update(schedule, 10, true, true);
+        assertEquals(5, schedule.getTemperature(), EPSILON);
+        update(schedule, 4, false, true);
+        assertEquals(1, schedule.getTemperature(), EPSILON);
+        assertFalse(schedule.isFrozen());
+        update(schedule, 1, false, false);
+        assertTrue(schedule.isFrozen());
+        schedule.reset();
+        assertEquals(5, schedule.getTemperature(), EPSILON);
+        assertFalse(schedule.isFrozen());
+    }
+
+    @Test
+    void geometricMultipliesByAlphaEveryStep()
+    {
+        GeometricCoolingSchedule schedule = new GeometricCoolingSchedule(100, 0.5, 3, 10);
+        update(schedule, 2, true, false);
+        assertEquals(100, schedule.getTemperature(), EPSILON);
+        update(schedule, 1, false, true);
+        assertEquals(50, schedule.getTemperature(), EPSILON);
+        update(schedule, 6, true, true);
+        assertEquals(12.5, schedule.getTemperature(), EPSILON);
+        assertFalse(schedule.isFrozen());
+        update(schedule, 3, true, true);
+        assertTrue(schedule.isFrozen());
+        schedule.reset();
+        assertEquals(100, schedule.getTemperature(), EPSILON);
+        assertThrows(IllegalArgumentException.class, () -> new GeometricCoolingSchedule(100, 1, 3, 10));
+        assertThrows(IllegalArgumentException.class, () -> new GeometricCoolingSchedule(100, 0, 3, 10));
+    }
+
+    @Test
+    void linearReachesZeroAfterItsMoves()
+    {
+        LinearCoolingSchedule schedule = new LinearCoolingSchedule(80, 8);
+        update(schedule, 2, true, false);
+        assertEquals(60, schedule.getTemperature(), EPSILON);
+        update(schedule, 5, false, true);
+        assertEquals(10, schedule.getTemperature(), EPSILON);
+        assertFalse(schedule.isFrozen());
+        update(schedule, 1, false, true);
+        assertEquals(0, schedule.getTemperature(), EPSILON);
+        assertTrue(schedule.isFrozen());
+        schedule.reset();
+        assertEquals(80, schedule.getTemperature(), EPSILON);
+    }
+
+    @Test
+    void logarithmicFollowsTheInverseLogAndNeverFreezes()
+    {
+        LogarithmicCoolingSchedule schedule = new LogarithmicCoolingSchedule(40, 10);
+        double previous = schedule.getTemperature();
+        assertEquals(40, previous, EPSILON);
+        for (int step = 1; step <= 1000; step++)
+        {
+            update(schedule, 10, step % 2 == 0, step % 3 == 0);
+            assertEquals(40 / Math.log(step + Math.E), schedule.getTemperature(), EPSILON, "step " + step);
+            assertTrue(schedule.getTemperature() < previous);
+            previous = schedule.getTemperature();
+            assertFalse(schedule.isFrozen());
+        }
+        schedule.reset();
+        assertEquals(40, schedule.getTemperature(), EPSILON);
+    }
+
+    @Test
+    void adaptiveSteersTowardItsTargetAcceptanceRate()
+    {
+        AdaptiveCoolingSchedule schedule = new AdaptiveCoolingSchedule(100, 0.5, 0.001, 0.5, 4);
+        update(schedule, 4, true, true);
+        assertEquals(90, schedule.getTemperature(), EPSILON, "every worsening move accepted cools");
+        update(schedule, 4, true, false);
+        assertEquals(94.5, schedule.getTemperature(), EPSILON, "every worsening move rejected heats");
+        update(schedule, 4, false, true);
+        assertEquals(94.5, schedule.getTemperature(), EPSILON, "no worsening moves leaves the temperature");
+        assertFalse(schedule.isFrozen());
+        update(schedule, 6 * 4, false, true);
+        assertTrue(schedule.isFrozen(), "the target halves every window: 0.5 / 2^9 < 0.001");
+        schedule.reset();
+        assertEquals(100, schedule.getTemperature(), EPSILON);
+        assertFalse(schedule.isFrozen());
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveCoolingSchedule(100, 0.5, 0.001, 1, 4));
+    }
+}
@@ -0,0 +1,120 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that {@code CostGraphFile} round-trips graphs through the binary format and TSPLIB {@code .atsp}
+ *      files cost for cost, and rejects files it cannot read.
+ *
+ **/
+
+class CostGraphFileTest
+{
+    @TempDir
+    Path directory;
+
+    private static void assertSameCosts(CostGraph expected, CostGraph actual)
+    {
+        assertEquals(expected.getCityNumber(), actual.getCityNumber());
+        for (int from = 0; from < expected.getCityNumber(); from++)
+        {
+            for (int to = 0; to < expected.getCityNumber(); to++)
+            {
+                assertEquals(expected.getCost(from, to), actual.getCost(from, to), "cost " + from + " -> " + to);
+            }
+        }
+    }
+
+    @Test
+    void binaryRoundTripsShortAndIntCosts() throws IOException
+    {
+        CostGraph graph = new CostGraphGenerator(1).generate(150);
+        Path shortFile = directory.resolve("short.lscg");
+        Path intFile = directory.resolve("int.lscg");
+        CostGraphFile.write(graph, shortFile);
+        CostGraphFile.write(graph, intFile, Integer.BYTES);
+
+        assertEquals(CostGraphFile.HEADER_BYTES + 150L * 150 * Short.BYTES, Files.size(shortFile));
+        assertEquals(CostGraphFile.HEADER_BYTES + 150L * 150 * Integer.BYTES, Files.size(intFile));
+        assertSameCosts(graph, CostGraphFile.map(shortFile));
+        assertSameCosts(graph, CostGraphFile.map(intFile));
+        assertEquals(150, CostGraphFile.readCityNumber(shortFile));
+    }
+
+    @Test
+    void binaryKeepsCostsTooLargeForAShort() throws IOException
+    {
+        FlatCostMatrix costs = new FlatCostMatrix(4);
+        for (int from = 0; from < 4; from++)
+        {
+            for (int to = 0; to < 4; to++)
+            {
+                costs.setCost(from, to, from == to ? -1 : 100_000 * (from + 1) + to);
+            }
+        }
+        CostGraph graph = new CostGraph(costs);
+        Path file = directory.resolve("large.lscg");
+        CostGraphFile.write(graph, file);
+        assertEquals(CostGraphFile.HEADER_BYTES + 16L * Integer.BYTES, Files.size(file));
+        assertSameCosts(graph, CostGraphFile.map(file));
+        assertThrows(IllegalArgumentException.class, () -> CostGraphFile.write(graph, file, Short.BYTES));
+    }
+
+    @Test
+    void readsTsplibFullMatrices() throws IOException
+    {
+        CostGraph graph = new CostGraphGenerator(2).generate(40);
+        Path file = directory.resolve("graph.atsp");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file)))
+        {
+            out.print("NAME : graph\r\nTYPE: ATSP\r\nCOMMENT: written by a test: 40 cities\r\nDIMENSION :  40 \r\n"
+                    + "EDGE_WEIGHT_TYPE: EXPLICIT\r\nEDGE_WEIGHT_FORMAT: FULL_MATRIX\r\nEDGE_WEIGHT_SECTION\r\n");
+            for (int from = 0; from < 40; from++)
+            {
+                for (int to = 0; to < 40; to++)
+                {
+                    //ragged lines and mixed whitespace, as TSPLIB files have
+                    out.print(from == to ? 100000000 : graph.getCost(from, to));
+                    out.print(to % 7 == 6 ? "\r\n  " : "\t ");
+                }
+            }
+            out.print("\nEOF\n");
+        }
+
+        assertSameCosts(graph, CostGraphFile.readAtsp(file, MatrixLayout.FLAT_SHORT));
+        assertSameCosts(graph, CostGraphFile.load(file, MatrixLayout.ARRAY));
+        assertEquals(40, CostGraphFile.readCityNumber(file));
+    }
+
+    @Test
+    void rejectsTruncatedAndForeignFiles() throws IOException
+    {
+        Path shortAtsp = directory.resolve("short.atsp");
+        Files.writeString(shortAtsp, "DIMENSION: 2\nEDGE_WEIGHT_FORMAT: FULL_MATRIX\nEDGE_WEIGHT_SECTION\n0 1 2\n");
+        assertThrows(IOException.class, () -> CostGraphFile.readAtsp(shortAtsp, MatrixLayout.FLAT_INT));
+
+        Path coordinates = directory.resolve("coordinates.atsp");
+        Files.writeString(coordinates, "DIMENSION: 2\nEDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n");
+        assertThrows(IOException.class, () -> CostGraphFile.readAtsp(coordinates, MatrixLayout.FLAT_INT));
+
+        assertThrows(IOException.class, () -> CostGraphFile.map(shortAtsp));
+
+        Path truncated = directory.resolve("truncated.lscg");
+        CostGraphFile.write(new CostGraphGenerator(3).generate(20), truncated);
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> CostGraphFile.map(truncated));
+    }
+}
@@ -0,0 +1,82 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that a {@code CostGraphGenerator} gives the same graph for the same seed whatever the number of threads
+ *      filling it and whatever the layout it is stored in.
+ *
+ **/
+
+class CostGraphGeneratorTest
+{
+    private static final int CITIES = 300;
+
+    private static long digest(CostGraph graph)
+    {
+        long digest = 1;
+        for (int from = 0; from < graph.getCityNumber(); from++)
+        {
+            for (int to = 0; to < graph.getCityNumber(); to++)
+            {
+                digest = digest * 31 + graph.getCost(from, to);
+            }
+        }
+        return digest;
+    }
+
+    private static long digestOn(int threads, CostGraphGenerator generator, MatrixLayout layout)
+            throws InterruptedException, ExecutionException
+    {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try
+        {
+            //parallel streams run in the pool of the task that starts them
+            return pool.submit(() -> digest(generator.generate(CITIES, layout))).get();
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void sameGraphForAnyThreadCountAndLayout() throws InterruptedException, ExecutionException
+    {
+        for (CostDistribution distribution : CostDistribution.values())
+        {
+            CostGraphGenerator generator = new CostGraphGenerator(42);
+            generator.setDistribution(distribution);
+            long expected = digestOn(1, generator, MatrixLayout.FLAT_INT);
+            assertEquals(expected, digestOn(4, generator, MatrixLayout.FLAT_INT), distribution + " on 4 threads");
+            assertEquals(expected, digestOn(3, generator, MatrixLayout.OFF_HEAP_SHORT), distribution + " off heap");
+            assertEquals(expected, digest(generator.generate(CITIES, MatrixLayout.ARRAY)), distribution + " arrays");
+        }
+    }
+
+    @Test
+    void seedsGiveDifferentGraphs()
+    {
+        assertNotEquals(digest(new CostGraphGenerator(1).generate(CITIES)),
+                digest(new CostGraphGenerator(2).generate(CITIES)));
+    }
+
+    @Test
+    void diagonalIsMinusOne()
+    {
+        CostGraph graph = new CostGraphGenerator(7).generate(CITIES);
+        for (int city = 0; city < CITIES; city++)
+        {
+            assertEquals(-1, graph.getCost(city, city));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that every {@code MatrixLayout} hands back the costs stored in it, and that the short layouts refuse
+ *      costs they cannot hold rather than truncating them.
+ *
+ **/
+
+class CostMatrixTest
+{
+    private static boolean isShort(MatrixLayout layout)
+    {
+        return layout == MatrixLayout.FLAT_SHORT || layout == MatrixLayout.OFF_HEAP_SHORT;
+    }
+
+    @Test
+    void everyLayoutRoundTripsCosts()
+    {
+        for (MatrixLayout layout : MatrixLayout.values())
+        {
+            int n = 37;
+            int largest = isShort(layout) ? Short.MAX_VALUE : Integer.MAX_VALUE;
+            CostMatrix costs = layout.create(n);
+            assertEquals(n, costs.getCityNumber(), layout.name());
+            for (int from = 0; from < n; from++)
+            {
+                for (int to = 0; to < n; to++)
+                {
+                    costs.setCost(from, to, from == to ? -1 : (from * 7919 + to * 104729) % largest);
+                }
+            }
+            costs.setCost(1, 2, largest);
+            for (int from = 0; from < n; from++)
+            {
+                for (int to = 0; to < n; to++)
+                {
+                    int expected = from == to ? -1 : from == 1 && to == 2 ? largest
+                            : (from * 7919 + to * 104729) % largest;
+                    assertEquals(expected, costs.getCost(from, to), layout + " cost " + from + " -> " + to);
+                }
+            }
+        }
+    }
+
+    @Test
+    void everyLayoutPricesToursTheSame()
+    {
+        int[] tour = new City(TestGraphs.random(25, 1), new SearchRandom(2)).getStartingTourArrangement();
+        int expected = TestGraphs.random(25, 1).calculateTourCost(tour);
+        for (MatrixLayout layout : MatrixLayout.values())
+        {
+            CostGraph graph = TestGraphs.random(25, 1, layout);
+            assertEquals(expected, graph.calculateTourCost(tour), layout.name());
+        }
+    }
+
+    @Test
+    void shortLayoutsRejectCostsTheyCannotHold()
+    {
+        for (MatrixLayout layout : MatrixLayout.values())
+        {
+            if (isShort(layout))
+            {
+                CostMatrix costs = layout.create(3);
+                assertThrows(IllegalArgumentException.class, () -> costs.setCost(0, 1, Short.MAX_VALUE + 1),
+                        layout.name());
+                assertThrows(IllegalArgumentException.class, () -> costs.setCost(0, 1, Short.MIN_VALUE - 1),
+                        layout.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that each {@code DescentStrategy} leaves the restart tour at a local optimum of its move generator, i.e.
+ *      that no move of the neighbourhood improves it, and that the search's best tour costs what it says.
+ *
+ **/
+
+class DescentTest
+{
+    private static final int CITIES = 14;
+
+    private static List<MoveGenerator> generators()
+    {
+        return List.of(new SwapMoveGenerator(), new OrOptMoveGenerator(), new SegmentInsertionMoveGenerator(4));
+    }
+
+    private static HillClimbing descend(City city, MoveGenerator generator, DescentStrategy strategy,
+                                        boolean dontLookBits)
+    {
+        HillClimbing search = new HillClimbing(city);
+        search.setMoveGenerator(generator);
+        search.setDescentStrategy(strategy);
+        search.setDontLookBits(dontLookBits);
+        search.getBestCostTour(city);
+        return search;
+    }
+
+    private static void assertLocalOptimum(CostGraph graph, int[] tour, MoveGenerator generator, String message)
+    {
+        int[] probe = tour.clone();
+        generator.bind(graph, probe);
+        generator.startNeighbourhood();
+        while (generator.nextMove())
+        {
+            assertTrue(generator.delta() >= 0, message + ": an improving move is left");
+        }
+    }
+
+    @Test
+    void descentsEndAtALocalOptimum()
+    {
+        for (DescentStrategy strategy : new DescentStrategy[] {DescentStrategy.FIRST_IMPROVEMENT,
+                DescentStrategy.STEEPEST_DESCENT})
+        {
+            for (MoveGenerator generator : generators())
+            {
+                for (long seed = 1; seed <= 5; seed++)
+                {
+                    CostGraph graph = TestGraphs.random(CITIES, seed);
+                    City city = new City(graph, new SearchRandom(seed));
+                    int startCity = city.getRestartedTourArrangement()[0];
+                    HillClimbing search = descend(city, generator, strategy, false);
+                    int[] tour = city.getRestartedTourArrangement();
+                    String message = strategy + " with " + generator + ", seed " + seed;
+                    assertLocalOptimum(graph, tour, generator.copy(), message);
+                    assertEquals(search.bestCost, graph.calculateTourCost(tour), message);
+                    assertArrayEquals(tour, search.bestTour, message);
+                    assertEquals(startCity, tour[0], message);
+                    int[] sorted = tour.clone();
+                    Arrays.sort(sorted);
+                    for (int i = 0; i < CITIES; i++)
+                    {
+                        assertEquals(i, sorted[i], message + ": not a permutation");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void dontLookBitsNeverWorsenTheTour()
+    {
+        for (MoveGenerator generator : generators())
+        {
+            CostGraph graph = TestGraphs.random(CITIES, 6);
+            City city = new City(graph, new SearchRandom(6));
+            int startingCost = graph.calculateTourCost(city.getRestartedTourArrangement());
+            HillClimbing search = descend(city, generator, DescentStrategy.STEEPEST_DESCENT, true);
+            assertTrue(search.bestCost <= startingCost, generator.toString());
+            assertEquals(search.bestCost, graph.calculateTourCost(search.bestTour), generator.toString());
+        }
+    }
+
+    @Test
+    void singlePassLeavesTheRestartTourAlone()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 7);
+        City city = new City(graph, new SearchRandom(7));
+        int[] restart = city.getRestartedTourArrangement().clone();
+        HillClimbing search = descend(city, new SwapMoveGenerator(), DescentStrategy.SINGLE_PASS, false);
+        assertArrayEquals(restart, city.getRestartedTourArrangement());
+        assertEquals(search.bestCost, graph.calculateTourCost(search.bestTour));
+    }
+}
@@ -0,0 +1,57 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks {@code ExpTable} against {@code Math.exp} within its documented relative error, and its behaviour at
+ *      and beyond the ends of the table.
+ *
+ **/
+
+class ExpTableTest
+{
+    @Test
+    void staysWithinTheDocumentedRelativeError()
+    {
+        SearchRandom random = new SearchRandom(1);
+        for (int i = 0; i < 200_000; i++)
+        {
+            double x = random.nextDouble() * ExpTable.MAX_EXPONENT;
+            double exact = Math.exp(-x);
+            double error = Math.abs(ExpTable.negativeExp(x) - exact) / exact;
+            assertTrue(error < 2e-6, "relative error " + error + " at " + x);
+        }
+    }
+
+    @Test
+    void isExactAtTableEntriesAndClampedOutsideIt()
+    {
+        for (int i = 0; i < ExpTable.MAX_EXPONENT * 256; i += 97)
+        {
+            double x = i / 256.0;
+            assertEquals(Math.exp(-x), ExpTable.negativeExp(x), Math.exp(-x) * 1e-15);
+        }
+        assertEquals(1, ExpTable.negativeExp(0));
+        assertEquals(1, ExpTable.negativeExp(-3));
+        assertEquals(0, ExpTable.negativeExp(ExpTable.MAX_EXPONENT));
+        assertEquals(0, ExpTable.negativeExp(1e9));
+    }
+
+    @Test
+    void neverIncreases()
+    {
+        double previous = 1;
+        for (double x = 0; x < ExpTable.MAX_EXPONENT + 1; x += 0.001)
+        {
+            double value = ExpTable.negativeExp(x);
+            assertTrue(value <= previous, "increased at " + x);
+            previous = value;
+        }
+    }
+}
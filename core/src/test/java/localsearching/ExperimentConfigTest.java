@@ -0,0 +1,224 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import localsearching.ExperimentConfig.Algorithm;
+import localsearching.ExperimentConfig.Configuration;
+import localsearching.ExperimentConfig.Neighbourhood;
+import localsearching.ExperimentConfig.Schedule;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that {@code ExperimentConfig} builds every combination of its lists, fills in its defaults, reads the
+ *      budget, and rejects configs it could not run.
+ *
+ **/
+
+class ExperimentConfigTest
+{
+    @TempDir
+    Path directory;
+
+    private static Properties properties(String... keysAndValues)
+    {
+        Properties properties = new Properties();
+        for (int i = 0; i < keysAndValues.length; i += 2)
+        {
+            properties.setProperty(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return properties;
+    }
+
+    @Test
+    void everyCombinationIsOneConfiguration()
+    {
+        ExperimentConfig config = ExperimentConfig.of(properties("cities", "8, 5", "algorithms",
+                "hill_climbing, SIMULATED_ANNEALING", "moves", "SWAP,or_opt", "candidates", "0, 3", "descents",
+                "FIRST_IMPROVEMENT, STEEPEST_DESCENT", "schedules", "STEP, LOGARITHMIC, GEOMETRIC", "iterationLimit",
+                "1000"));
+        List<Configuration> configurations = config.getConfigurations();
+        assertEquals(2 * (2 * 2 * 2 + 2 * 2 * 3), configurations.size());
+        assertEquals(new Configuration(8, Algorithm.HILL_CLIMBING, Neighbourhood.SWAP, 0, StartMode.RANDOM,
+                DescentStrategy.FIRST_IMPROVEMENT, null), configurations.get(0));
+        assertEquals(new Configuration(5, Algorithm.SIMULATED_ANNEALING, Neighbourhood.OR_OPT, 3, StartMode.RANDOM,
+                null, Schedule.GEOMETRIC), configurations.get(configurations.size() - 1));
+        for (Configuration configuration : configurations)
+        {
+            assertEquals(configuration.algorithm() == Algorithm.HILL_CLIMBING, configuration.descent() != null);
+            assertEquals(configuration.algorithm() == Algorithm.SIMULATED_ANNEALING, configuration.schedule() != null);
+        }
+        assertEquals(configurations.size(), configurations.stream().distinct().count());
+    }
+
+    @Test
+    void swapOnlySearchesAreOneConfigurationPerStartMode()
+    {
+        ExperimentConfig config = ExperimentConfig.of(properties("cities", "9", "algorithms",
+                "PARALLEL_TEMPERING, SIMULATED_ANNEALING, TABU", "moves", "SWAP, OR_OPT", "candidates", "0, 4",
+                "startModes", "RANDOM, GREEDY_EDGE", "iterationLimit", "1000"));
+        List<Configuration> configurations = config.getConfigurations();
+        assertEquals(2 + 2 * 2 * 2 + 2, configurations.size());
+        assertEquals(List.of(new Configuration(9, Algorithm.PARALLEL_TEMPERING, Neighbourhood.SWAP, 0,
+                StartMode.RANDOM, null, null), new Configuration(9, Algorithm.PARALLEL_TEMPERING, Neighbourhood.SWAP,
+                0, StartMode.GREEDY_EDGE, null, null)), configurations.subList(0, 2));
+        assertTrue(Algorithm.SIMULATED_ANNEALING.usesNeighbourhood());
+        assertFalse(Algorithm.PARALLEL_TEMPERING.usesNeighbourhood());
+        assertEquals(new Configuration(9, Algorithm.TABU, Neighbourhood.SWAP, 0, StartMode.GREEDY_EDGE, null, null),
+                configurations.get(configurations.size() - 1));
+        assertFalse(Algorithm.TABU.usesNeighbourhood());
+    }
+
+    @Test
+    void optionalKeysHaveTheirDefaults()
+    {
+        ExperimentConfig config = ExperimentConfig.of(properties("cities", "10", "algorithms", "HILL_CLIMBING",
+                "iterationLimit", "1000"));
+        assertEquals(List.of(new Configuration(10, Algorithm.HILL_CLIMBING, Neighbourhood.SWAP, 0, StartMode.RANDOM,
+                DescentStrategy.STEEPEST_DESCENT, null)), config.getConfigurations());
+        assertEquals(List.of(1L), config.getSeeds());
+        assertEquals(1, config.getGraphs());
+        assertEquals(1, config.getRepetitions());
+        assertEquals(20, config.getInitialTemperature());
+        assertEquals(Runtime.getRuntime().availableProcessors(), config.getThreads());
+        assertEquals(MatrixLayout.FLAT_INT, config.getLayout());
+        assertEquals(Paths.get("Experiment Data.csv"), config.getOutput());
+        assertEquals(RecordFormat.CSV, config.getFormat());
+        assertEquals(1000, config.getBudget().getIterationLimit());
+        assertEquals(Long.MAX_VALUE, config.getBudget().getTimeLimitNanos());
+        assertEquals(Long.MAX_VALUE, config.getBudget().getStagnationLimit());
+    }
+
+    @Test
+    void loadsAFile() throws IOException
+    {
+        Path file = directory.resolve("sweep.properties");
+        Files.writeString(file, String.join("\n",
+                "# a small sweep",
+                "cities = 12",
+                "algorithms = SIMULATED_ANNEALING",
+                "startModes = nearest_neighbour, GREEDY_EDGE",
+                "seeds = 3, 4, 5",
+                "graphs = 2",
+                "repetitions = 4",
+                "initialTemperature = 7.5",
+                "threads = 3",
+                "layout = flat_short",
+                "output = runs.bin",
+                "format = binary",
+                "timeLimitMillis = 2000",
+                "stagnationLimit = 50",
+                ""));
+        ExperimentConfig config = ExperimentConfig.load(file);
+        assertEquals(2, config.getConfigurations().size());
+        assertEquals(StartMode.GREEDY_EDGE, config.getConfigurations().get(1).startMode());
+        assertEquals(Schedule.STEP, config.getConfigurations().get(1).schedule());
+        assertEquals(List.of(3L, 4L, 5L), config.getSeeds());
+        assertEquals(2, config.getGraphs());
+        assertEquals(4, config.getRepetitions());
+        assertEquals(7.5, config.getInitialTemperature());
+        assertEquals(3, config.getThreads());
+        assertEquals(MatrixLayout.FLAT_SHORT, config.getLayout());
+        assertEquals(Paths.get("runs.bin"), config.getOutput());
+        assertEquals(RecordFormat.BINARY, config.getFormat());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2000), config.getBudget().getTimeLimitNanos());
+        assertEquals(Long.MAX_VALUE, config.getBudget().getIterationLimit());
+        assertEquals(50, config.getBudget().getStagnationLimit());
+    }
+
+    @Test
+    void readsTheExactSolverLimitAndTargetGap()
+    {
+        ExperimentConfig config = ExperimentConfig.of(properties("cities", "10", "algorithms", "HILL_CLIMBING",
+                "iterationLimit", "10"));
+        assertEquals(0, config.getExactUpTo());
+        config = ExperimentConfig.of(properties("cities", "10", "algorithms", "HILL_CLIMBING", "exactUpTo", "12",
+                "iterationLimit", "10"));
+        assertEquals(12, config.getExactUpTo());
+        assertTrue(config.getTargetGap() < 0);
+        config = ExperimentConfig.of(properties("cities", "10", "algorithms", "HILL_CLIMBING", "targetGap", "0.01",
+                "iterationLimit", "10"));
+        assertEquals(0.01, config.getTargetGap());
+    }
+
+    @Test
+    void readsTheGraphDistributionAndSeed()
+    {
+        ExperimentConfig config = ExperimentConfig.of(properties("cities", "10", "algorithms", "HILL_CLIMBING",
+                "distribution", "clustered", "graphSeed", "-17", "iterationLimit", "10"));
+        assertEquals(CostDistribution.CLUSTERED, config.getDistribution());
+        assertEquals(-17, config.getGraphSeed());
+        config = ExperimentConfig.of(properties("cities", "10", "algorithms", "HILL_CLIMBING", "iterationLimit", "10"));
+        assertEquals(CostDistribution.UNIFORM, config.getDistribution());
+    }
+
+    @Test
+    void instancesGiveTheCityCounts() throws IOException
+    {
+        Path small = directory.resolve("small.lscg");
+        Path large = directory.resolve("large.lscg");
+        Path alsoSmall = directory.resolve("also small.lscg");
+        CostGraphFile.write(TestGraphs.random(9, 1), small);
+        CostGraphFile.write(TestGraphs.random(14, 2), large);
+        CostGraphFile.write(TestGraphs.random(9, 3), alsoSmall);
+        ExperimentConfig config = ExperimentConfig.of(properties("instances", small + ", " + large + "," + alsoSmall,
+                "cities", "500", "algorithms", "HILL_CLIMBING", "iterationLimit", "10"));
+        assertEquals(List.of(small, large, alsoSmall), config.getInstances());
+        assertEquals(2, config.getConfigurations().size());
+        assertEquals(9, config.getConfigurations().get(0).cities());
+        assertEquals(14, config.getConfigurations().get(1).cities());
+        assertTrue(ExperimentConfig.of(properties("cities", "10", "algorithms", "HILL_CLIMBING", "iterationLimit",
+                "10")).getInstances().isEmpty());
+        assertRejected("bad instances", "instances", directory.resolve("missing.lscg").toString(), "algorithms",
+                "HILL_CLIMBING", "iterationLimit", "10");
+    }
+
+    private static void assertRejected(String message, String... keysAndValues)
+    {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ExperimentConfig.of(properties(keysAndValues)));
+        assertTrue(e.getMessage().startsWith(message), e.getMessage());
+    }
+
+    @Test
+    void rejectsConfigsItCannotRun()
+    {
+        assertRejected("missing cities", "algorithms", "HILL_CLIMBING", "iterationLimit", "10");
+        assertRejected("missing algorithms", "cities", "10", "iterationLimit", "10");
+        assertRejected("an experiment needs", "cities", "10", "algorithms", "HILL_CLIMBING");
+        assertRejected("bad moves: TWO_OPT", "cities", "10", "algorithms", "HILL_CLIMBING", "moves", "TWO_OPT",
+                "iterationLimit", "10");
+        assertRejected("bad cities: ten", "cities", "ten", "algorithms", "HILL_CLIMBING", "iterationLimit", "10");
+        assertRejected("seeds must list", "cities", "10", "algorithms", "HILL_CLIMBING", "seeds", " , ",
+                "iterationLimit", "10");
+        assertRejected("cities must be at least", "cities", "10, 1", "algorithms", "HILL_CLIMBING",
+                "iterationLimit", "10");
+        assertRejected("candidates must not be negative", "cities", "10", "algorithms", "HILL_CLIMBING",
+                "candidates", "-1", "iterationLimit", "10");
+        assertRejected("repetitions must be at least 1", "cities", "10", "algorithms", "HILL_CLIMBING",
+                "repetitions", "0", "iterationLimit", "10");
+        assertRejected("exactUpTo must be at most", "cities", "10", "algorithms", "HILL_CLIMBING", "exactUpTo",
+                Integer.toString(HeldKarp.MAX_CITIES + 1), "iterationLimit", "10");
+        assertRejected("cities must be at least 3", "cities", "10, 2", "algorithms", "SIMULATED_ANNEALING",
+                "iterationLimit", "10");
+        assertRejected("cities must be at least 3", "cities", "2", "algorithms", "HILL_CLIMBING", "moves", "OR_OPT",
+                "exactUpTo", "1", "iterationLimit", "10");
+        assertEquals(1, ExperimentConfig.of(properties("cities", "2", "algorithms", "SIMULATED_ANNEALING", "exactUpTo",
+                "2", "iterationLimit", "10")).getConfigurations().size());
+    }
+}
@@ -0,0 +1,124 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that an experiment with fixed graph and run seeds records the same runs every time it is run, and that
+ *      every recorded tour costs what its record says on the graph the runner generated.
+ *
+ **/
+
+class ExperimentRunnerTest
+{
+    private static final int CITIES = 12;
+    private static final long GRAPH_SEED = 5;
+    private static final int ITERATIONS = 20_000;
+
+    @TempDir
+    Path directory;
+
+    private List<RunRecord> run(String algorithm, String file) throws IOException
+    {
+        Properties properties = new Properties();
+        properties.setProperty("cities", Integer.toString(CITIES));
+        properties.setProperty("algorithms", algorithm);
+        properties.setProperty("startModes", "RANDOM, NEAREST_NEIGHBOUR");
+        properties.setProperty("seeds", "3, 4");
+        properties.setProperty("repetitions", "2");
+        properties.setProperty("iterationLimit", Integer.toString(ITERATIONS));
+        properties.setProperty("graphSeed", Long.toString(GRAPH_SEED));
+        ExperimentRunner runner = new ExperimentRunner(ExperimentConfig.of(properties));
+
+        Path output = directory.resolve(file);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try (ResultsWriter writer = new ResultsWriter(output, RecordFormat.BINARY))
+        {
+            runner.run(pool, writer);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+        List<RunRecord> records = new ArrayList<>(ResultsWriter.readBinary(output));
+        records.sort(Comparator.comparingInt(RunRecord::runNumber));
+        return records;
+    }
+
+    /**
+     * @return the graph the runner generates for {@code GRAPH_SEED}: the first graph seed drawn from it.
+     */
+    private static CostGraph generatedGraph()
+    {
+        CostGraphGenerator generator = new CostGraphGenerator(new SearchRandom(GRAPH_SEED).nextLong());
+        generator.setDistribution(CostDistribution.UNIFORM);
+        return generator.generate(CITIES, MatrixLayout.FLAT_INT);
+    }
+
+    private static void assertRepeatedRunsCostWhatTheySay(List<RunRecord> first, List<RunRecord> second)
+    {
+        CostGraph graph = generatedGraph();
+        assertEquals(2 * 2 * 2, first.size());
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++)
+        {
+            RunRecord run = first.get(i);
+            RunRecord repeated = second.get(i);
+            String name = "run " + run.runNumber();
+            assertEquals(i + 1, run.runNumber());
+            assertEquals(run.runNumber(), repeated.runNumber());
+            assertEquals(run.startingTour(), repeated.startingTour(), name);
+            assertEquals(run.bestTour(), repeated.bestTour(), name);
+            assertEquals(run.bestCost(), repeated.bestCost(), name);
+            assertEquals(run.executionTime(), repeated.executionTime(), name);
+            assertEquals(run.bestExecutionTime(), repeated.bestExecutionTime(), name);
+            assertEquals(run.annealingSchedule(), repeated.annealingSchedule(), name);
+            assertEquals(run.neighbourhood(), repeated.neighbourhood(), name);
+
+            int[] bestTour = run.bestTour().toArray();
+            int[] sorted = bestTour.clone();
+            Arrays.sort(sorted);
+            for (int city = 0; city < CITIES; city++)
+            {
+                assertEquals(city, sorted[city], name);
+            }
+            assertEquals(graph.calculateTourCost(run.startingTour().toArray()), run.startingCost(), name);
+            assertEquals(graph.calculateTourCost(bestTour), run.bestCost(), name);
+            assertTrue(run.bestCost() <= run.startingCost(), name);
+        }
+    }
+
+    @Test
+    void parallelTemperingRecordsTheSameRunsForTheSameSeeds() throws IOException
+    {
+        List<RunRecord> first = run("PARALLEL_TEMPERING", "first.bin");
+        List<RunRecord> second = run("PARALLEL_TEMPERING", "second.bin");
+        assertRepeatedRunsCostWhatTheySay(first, second);
+        for (RunRecord run : first)
+        {
+            assertEquals(ITERATIONS, run.executionTime(), "four replicas of 100 moves stop exactly at the limit");
+        }
+    }
+
+    @Test
+    void tabuSearchRecordsTheSameRunsForTheSameSeeds() throws IOException
+    {
+        assertRepeatedRunsCostWhatTheySay(run("TABU", "first.bin"), run("TABU", "second.bin"));
+    }
+}
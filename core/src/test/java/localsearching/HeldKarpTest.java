@@ -0,0 +1,171 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks {@code HeldKarp} and {@code HeldKarpSolver} against brute force over every tour of small graphs, the
+ *      {@code LowerBound}s against the optimum it finds, and that a solver stops once it reaches its target cost.
+ *
+ **/
+
+class HeldKarpTest
+{
+    /**
+     * @return the {@code int} cost of the cheapest tour of {@code graph}, by trying every tour that starts at city 0.
+     */
+    static int bruteForceOptimum(CostGraph graph)
+    {
+        int n = graph.getCityNumber();
+        int[] tour = new int[n];
+        for (int i = 0; i < n; i++)
+        {
+            tour[i] = i;
+        }
+        return cheapest(graph, tour, 1);
+    }
+
+    private static int cheapest(CostGraph graph, int[] tour, int fixed)
+    {
+        if (fixed == tour.length)
+        {
+            return graph.calculateTourCost(tour);
+        }
+        int best = Integer.MAX_VALUE;
+        for (int i = fixed; i < tour.length; i++)
+        {
+            City.swapInPlace(tour, fixed, i);
+            best = Math.min(best, cheapest(graph, tour, fixed + 1));
+            City.swapInPlace(tour, fixed, i);
+        }
+        return best;
+    }
+
+    /**
+     * @return the {@code int} cost of the cheapest assignment of a successor to every city, other than itself.
+     */
+    private static int bruteForceAssignment(CostGraph graph, int from, boolean[] taken)
+    {
+        if (from == graph.getCityNumber())
+        {
+            return 0;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int to = 0; to < graph.getCityNumber(); to++)
+        {
+            if (to != from && !taken[to])
+            {
+                taken[to] = true;
+                int rest = bruteForceAssignment(graph, from + 1, taken);
+                if (rest != Integer.MAX_VALUE)
+                {
+                    best = Math.min(best, graph.getCost(from, to) + rest);
+                }
+                taken[to] = false;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    void matchesBruteForceUpToEightCities()
+    {
+        for (int n = 2; n <= 8; n++)
+        {
+            for (long seed = 1; seed <= 3; seed++)
+            {
+                CostGraph graph = TestGraphs.random(n, seed * 100 + n);
+                HeldKarp exact = new HeldKarp(graph);
+                int[] tour = exact.solve();
+                int optimum = bruteForceOptimum(graph);
+                assertEquals(optimum, exact.getOptimalCost(), n + " cities, seed " + seed);
+                assertEquals(optimum, graph.calculateTourCost(tour), "cost of the returned tour");
+                assertEquals(0, tour[0]);
+                int[] sorted = tour.clone();
+                Arrays.sort(sorted);
+                for (int i = 0; i < n; i++)
+                {
+                    assertEquals(i, sorted[i], "not a permutation " + Arrays.toString(tour));
+                }
+            }
+        }
+    }
+
+    @Test
+    void solverReturnsTheOptimumUnlessStopped()
+    {
+        CostGraph graph = TestGraphs.random(8, 9);
+        HeldKarpSolver solver = new HeldKarpSolver();
+        Solution solution = solver.solve(graph, SearchBudget.unlimited());
+        assertEquals(bruteForceOptimum(graph), solution.cost());
+        assertEquals(solution.cost(), graph.calculateTourCost(solution.tour().toArray()));
+        assertEquals(solution.cost(), solver.getRecorder().getRecords().get(0).bestCost());
+
+        HeldKarpSolver cancelled = new HeldKarpSolver();
+        cancelled.cancel();
+        assertNull(cancelled.solve(graph, SearchBudget.unlimited()));
+        assertNull(new HeldKarp(graph).solve(() -> true));
+    }
+
+    @Test
+    void lowerBoundsDoNotExceedTheOptimum()
+    {
+        for (int n = 2; n <= 10; n++)
+        {
+            for (long seed = 1; seed <= 5; seed++)
+            {
+                CostGraph graph = TestGraphs.random(n, seed * 100 + n);
+                HeldKarp exact = new HeldKarp(graph);
+                exact.solve();
+                int assignment = LowerBound.assignment(graph);
+                int reduction = LowerBound.reduction(graph);
+                String graphName = n + " cities, seed " + seed;
+                assertTrue(assignment <= exact.getOptimalCost(), graphName + ": assignment above optimum");
+                assertTrue(reduction <= assignment, graphName + ": reduction above assignment");
+                if (n <= 7)
+                {
+                    assertEquals(bruteForceAssignment(graph, 0, new boolean[n]), assignment, graphName);
+                }
+            }
+        }
+    }
+
+    @Test
+    void solversStopAtTheTargetCost()
+    {
+        assertEquals(1010, LowerBound.targetCost(1000, 0.01));
+        assertEquals(1000, LowerBound.targetCost(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> LowerBound.targetCost(1000, -0.5));
+
+        CostGraph graph = TestGraphs.random(9, 4);
+        int optimum = bruteForceOptimum(graph);
+        HillClimbingSolver solver = new HillClimbingSolver(5);
+        solver.setTargetCost(LowerBound.targetCost(optimum, 0.05));
+        Solution solution = solver.solve(graph, SearchBudget.unlimited().withIterationLimit(50_000_000));
+        assertTrue(solution.cost() <= LowerBound.targetCost(optimum, 0.05));
+        assertTrue(solver.getRecorder().getRecords().get(0).executionTime() < 50_000_000);
+
+        HillClimbing search = new HillClimbing(new City(graph, new SearchRandom(6)));
+        search.setTargetCost(optimum);
+        search.runHillClimbingSearch();
+        assertEquals(optimum, search.bestCost);
+    }
+
+    @Test
+    void rejectsGraphsItCannotSolve()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new HeldKarp(TestGraphs.random(1, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HeldKarp(TestGraphs.random(HeldKarp.MAX_CITIES + 1, 1)));
+        assertThrows(IllegalStateException.class, () -> new HeldKarp(TestGraphs.random(5, 1)).getOptimalCost());
+    }
+}
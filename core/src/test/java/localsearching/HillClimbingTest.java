@@ -0,0 +1,85 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that parallel hill climbing records the same run for a given seed and worker count, whichever executor
+ *      runs the workers, and that the tour it reports costs what it says.
+ *
+ **/
+
+class HillClimbingTest
+{
+    private static final int CITIES = 9;
+
+    private static ExecutorService oneThread;
+    private static ExecutorService threeThreads;
+
+    @BeforeAll
+    static void startExecutors()
+    {
+        oneThread = Executors.newSingleThreadExecutor();
+        threeThreads = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterAll
+    static void stopExecutors()
+    {
+        oneThread.shutdown();
+        threeThreads.shutdown();
+    }
+
+    private static HillClimbing climb(CostGraph graph, ExecutorService executor, int workerCount, long seed)
+    {
+        HillClimbing search = new HillClimbing(new City(graph, new SearchRandom(1)));
+        search.runParallelHillClimbingSearch(executor, workerCount, seed);
+        return search;
+    }
+
+    @Test
+    void sameSeedAndWorkerCountGiveTheSameRun()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 3);
+        for (int workerCount : new int[] {1, 3, 4})
+        {
+            HillClimbing serial = climb(graph, oneThread, workerCount, 17);
+            HillClimbing parallel = climb(graph, threeThreads, workerCount, 17);
+            String workers = workerCount + " workers";
+            assertEquals(serial.bestCost, parallel.bestCost, workers);
+            assertArrayEquals(serial.bestTour, parallel.bestTour, workers);
+            assertEquals(serial.executionNumberOfBestFound, parallel.executionNumberOfBestFound, workers);
+            assertEquals(serial.totalExecutionNumber, parallel.totalExecutionNumber, workers);
+        }
+    }
+
+    @Test
+    void bestTourCostsTheBestCost()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 4);
+        HillClimbing search = climb(graph, threeThreads, 3, 5);
+        int startingCost = graph.calculateTourCost(new City(graph, new SearchRandom(1)).getStartingTourArrangement());
+        assertEquals(search.bestCost, graph.calculateTourCost(search.bestTour));
+        assertTrue(search.bestCost <= startingCost);
+    }
+
+    @Test
+    void rejectsWorkerCountsOutsideTheRestarts()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 5);
+        assertThrows(IllegalArgumentException.class, () -> climb(graph, oneThread, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> climb(graph, oneThread, 15001, 1));
+    }
+}
@@ -0,0 +1,94 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks every {@code MoveGenerator}'s O(1) delta against a full recomputation of the tour cost, over the whole
+ *      enumerated neighbourhood and over random moves, with and without candidate lists, that undo restores the tour,
+ *      and that every generator rejects tours too small to have a move.
+ *
+ **/
+
+class MoveGeneratorTest
+{
+    private static final int CITIES = 12;
+
+    private static List<MoveGenerator> generators()
+    {
+        return List.of(new SwapMoveGenerator(), new SwapMoveGenerator(4), new OrOptMoveGenerator(),
+                new OrOptMoveGenerator(4), new SegmentInsertionMoveGenerator(5),
+                new SegmentInsertionMoveGenerator(5, 4));
+    }
+
+    @Test
+    void enumeratedDeltasMatchRecomputedCosts()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 11);
+        for (MoveGenerator generator : generators())
+        {
+            int[] tour = new City(graph, new SearchRandom(3)).getCurrentTourArrangement().clone();
+            int[] original = tour.clone();
+            int cost = graph.calculateTourCost(tour);
+            generator.bind(graph, tour);
+            generator.startNeighbourhood();
+            int moves = 0;
+            while (generator.nextMove())
+            {
+                int delta = generator.delta();
+                generator.apply();
+                assertEquals(cost + delta, graph.calculateTourCost(tour), generator + " move " + moves);
+                generator.undo();
+                assertArrayEquals(original, tour, generator + " undo of move " + moves);
+                moves++;
+            }
+            //candidate neighbourhoods skip the candidates that are the city itself or the start city
+            assertTrue(moves > 0 && moves <= generator.getNeighbourhoodSize(), generator + " neighbourhood size");
+        }
+    }
+
+    @Test
+    void randomDeltasMatchRecomputedCosts()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 12);
+        for (MoveGenerator generator : generators())
+        {
+            int[] tour = new City(graph, new SearchRandom(4)).getCurrentTourArrangement().clone();
+            int cost = graph.calculateTourCost(tour);
+            int startCity = tour[0];
+            SearchRandom random = new SearchRandom(5);
+            generator.bind(graph, tour);
+            for (int i = 0; i < 2000; i++)
+            {
+                generator.randomMove(random);
+                int delta = generator.delta();
+                generator.apply();
+                cost += delta;
+                assertEquals(cost, graph.calculateTourCost(tour), generator + " random move " + i);
+                assertEquals(startCity, tour[0], generator + " moved the start city");
+            }
+        }
+    }
+
+    @Test
+    void generatorsRejectTwoCityTours()
+    {
+        CostGraph graph = TestGraphs.random(2, 13);
+        for (MoveGenerator generator : new MoveGenerator[] {new SwapMoveGenerator(), new SwapMoveGenerator(1),
+                new OrOptMoveGenerator(), new OrOptMoveGenerator(1)})
+        {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> generator.bind(graph, new int[] {0, 1}), generator.toString());
+            assertTrue(e.getMessage().contains("at least 3 cities"), e.getMessage());
+        }
+    }
+}
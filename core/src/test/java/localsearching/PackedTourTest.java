@@ -0,0 +1,67 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that {@code PackedTour} round-trips tours of every bit width, in memory and through a buffer.
+ *
+ **/
+
+class PackedTourTest
+{
+    private static int[] shuffledTour(int n, SearchRandom random)
+    {
+        int[] tour = new int[n];
+        for (int i = 0; i < n; i++)
+        {
+            tour[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--)
+        {
+            City.swapInPlace(tour, i, random.nextInt(i + 1));
+        }
+        return tour;
+    }
+
+    @Test
+    void roundTripsToursOfEveryWidth()
+    {
+        for (int n : new int[] {1, 2, 3, 17, 64, 65, 1000, 70000})
+        {
+            int[] tour = shuffledTour(n, new SearchRandom(n));
+            PackedTour packed = PackedTour.of(tour);
+            assertEquals(n, packed.length());
+            assertArrayEquals(tour, packed.toArray(), n + " cities");
+            for (int i = 0; i < n; i += Math.max(1, n / 50))
+            {
+                assertEquals(tour[i], packed.get(i));
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(packed.getEncodedSize()).order(ByteOrder.LITTLE_ENDIAN);
+            packed.writeTo(buffer);
+            assertEquals(packed.getEncodedSize(), buffer.position());
+            buffer.flip();
+            PackedTour read = PackedTour.readFrom(buffer);
+            assertEquals(packed, read);
+            assertArrayEquals(tour, read.toArray());
+        }
+    }
+
+    @Test
+    void equalityFollowsTheTour()
+    {
+        assertEquals(PackedTour.of(new int[] {2, 0, 1}), PackedTour.of(new int[] {2, 0, 1}));
+        assertEquals(PackedTour.of(new int[] {2, 0, 1}).hashCode(), PackedTour.of(new int[] {2, 0, 1}).hashCode());
+        assertFalse(PackedTour.of(new int[] {2, 0, 1}).equals(PackedTour.of(new int[] {2, 1, 0})));
+    }
+}
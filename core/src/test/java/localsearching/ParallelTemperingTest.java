@@ -0,0 +1,164 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that parallel tempering, on its own or as a {@code Solver}, repeats the same run for a given seed
+ *      whichever executor sweeps the replicas, that the best tour it reports and records costs what it says, and that
+ *      it leaves the random stream of the caller's {@code City} alone.
+ *
+ **/
+
+class ParallelTemperingTest
+{
+    private static final int CITIES = 15;
+
+    private static ExecutorService oneThread;
+    private static ExecutorService threeThreads;
+
+    @BeforeAll
+    static void startExecutors()
+    {
+        oneThread = Executors.newSingleThreadExecutor();
+        threeThreads = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterAll
+    static void stopExecutors()
+    {
+        oneThread.shutdown();
+        threeThreads.shutdown();
+    }
+
+    private static ParallelTempering temper(City city, ExecutorService executor, long seed)
+    {
+        ParallelTempering search = new ParallelTempering(city, 4, 5, 200);
+        search.setSweepLength(500);
+        search.setBudget(SearchBudget.unlimited().withIterationLimit(100_000));
+        search.runTemperingSearch(executor, seed);
+        return search;
+    }
+
+    @Test
+    void sameSeedGivesTheSameRunOnAnyExecutor()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 1);
+        ParallelTempering serial = temper(new City(graph, new SearchRandom(2)), oneThread, 9);
+        ParallelTempering parallel = temper(new City(graph, new SearchRandom(2)), threeThreads, 9);
+        assertEquals(serial.currentBestCost, parallel.currentBestCost);
+        assertArrayEquals(serial.currentBestTour, parallel.currentBestTour);
+        assertEquals(serial.executionNumberOfBestFound, parallel.executionNumberOfBestFound);
+        assertEquals(serial.totalExecutionNumber, parallel.totalExecutionNumber);
+        assertEquals(serial.exchangesAccepted, parallel.exchangesAccepted);
+        assertTrue(serial.exchangesAccepted > 0);
+    }
+
+    @Test
+    void bestTourCostsTheBestCost()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 2);
+        City city = new City(graph, new SearchRandom(3));
+        int startingCost = graph.calculateTourCost(city.getStartingTourArrangement());
+        ParallelTempering search = temper(city, threeThreads, 4);
+        assertEquals(search.currentBestCost, graph.calculateTourCost(search.currentBestTour));
+        assertTrue(search.currentBestCost < startingCost);
+        assertEquals(100_000, search.totalExecutionNumber);
+        assertTrue(search.executionNumberOfBestFound < search.totalExecutionNumber);
+    }
+
+    @Test
+    void recordsTheWholeSearchAsOneRun()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 5);
+        City city = new City(graph, new SearchRandom(6));
+        ParallelTempering search = temper(city, threeThreads, 7);
+        List<RunRecord> records = search.getRecorder().getRecords();
+        assertEquals(1, records.size());
+        RunRecord run = records.get(0);
+        assertArrayEquals(city.getStartingTourArrangement(), run.startingTour().toArray());
+        assertEquals(graph.calculateTourCost(city.getStartingTourArrangement()), run.startingCost());
+        assertArrayEquals(search.currentBestTour, run.bestTour().toArray());
+        assertEquals(graph.calculateTourCost(run.bestTour().toArray()), run.bestCost());
+        assertEquals(search.totalExecutionNumber, run.executionTime());
+        assertEquals(search.executionNumberOfBestFound, run.bestExecutionTime());
+
+        ParallelTempering again = temper(new City(graph, new SearchRandom(6)), oneThread, 7);
+        RunRecord repeated = again.getRecorder().getRecords().get(0);
+        assertEquals(run.bestTour(), repeated.bestTour());
+        assertEquals(run.bestCost(), repeated.bestCost());
+        assertEquals(run.bestExecutionTime(), repeated.bestExecutionTime());
+        assertEquals(run.annealingSchedule(), repeated.annealingSchedule());
+    }
+
+    private static ParallelTemperingSolver solver(ExecutorService executor)
+    {
+        ParallelTemperingSolver solver = new ParallelTemperingSolver(11);
+        solver.setExecutor(executor);
+        solver.setLadder(4, 5, 200);
+        solver.setSweepLength(500);
+        return solver;
+    }
+
+    @Test
+    void solverRecordsTheSameRunForASeedOnAnyExecutor()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 8);
+        SearchBudget budget = SearchBudget.unlimited().withIterationLimit(100_000);
+        ParallelTemperingSolver serial = solver(oneThread);
+        ParallelTemperingSolver parallel = solver(threeThreads);
+        Solution solution = serial.solve(graph, budget);
+        parallel.solve(graph, budget);
+
+        RunRecord run = serial.getRecorder().getRecords().get(0);
+        RunRecord repeated = parallel.getRecorder().getRecords().get(0);
+        assertEquals(run.startingTour(), repeated.startingTour());
+        assertEquals(run.bestTour(), repeated.bestTour());
+        assertEquals(run.bestCost(), repeated.bestCost());
+        assertEquals(run.bestExecutionTime(), repeated.bestExecutionTime());
+        assertEquals(100_000, run.executionTime());
+        assertEquals(100_000, repeated.executionTime());
+
+        assertEquals(graph.calculateTourCost(run.bestTour().toArray()), run.bestCost());
+        assertTrue(run.bestCost() < run.startingCost());
+        assertEquals(run.bestTour(), solution.tour());
+        assertEquals(run.bestCost(), solution.cost());
+        assertEquals(run.bestExecutionTime(), solution.iteration());
+        assertThrows(IllegalArgumentException.class, () -> serial.setLadder(1, 5, 200));
+    }
+
+    @Test
+    void leavesTheCallersRandomStreamAlone()
+    {
+        CostGraph graph = TestGraphs.random(CITIES, 3);
+        City city = new City(graph, new SearchRandom(5));
+        temper(city, oneThread, 6);
+        City untouched = new City(graph, new SearchRandom(5));
+        for (int i = 0; i < 10; i++)
+        {
+            assertEquals(untouched.getRandom().nextLong(), city.getRandom().nextLong());
+        }
+    }
+
+    @Test
+    void rejectsBadLadders()
+    {
+        City city = new City(TestGraphs.random(CITIES, 4), new SearchRandom(1));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelTempering(city, 1, 5, 200));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelTempering(city, 4, 0, 200));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelTempering(city, 4, 200, 200));
+    }
+}
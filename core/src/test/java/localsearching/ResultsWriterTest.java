@@ -0,0 +1,232 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that {@code ResultsWriter} writes every queued record in order in each {@code RecordFormat}, that
+ *      {@code readBinary} reads back exactly what was written, metrics included and traces left out, and that
+ *      appending keeps a single CSV header.
+ *
+ **/
+
+class ResultsWriterTest
+{
+    @TempDir
+    Path directory;
+
+    private static RunRecord record(int runNumber, int cityNumber, String schedule, String neighbourhood)
+    {
+        SearchRandom random = new SearchRandom(runNumber);
+        int[] startingTour = new int[cityNumber];
+        for (int i = 0; i < cityNumber; i++)
+        {
+            startingTour[i] = i;
+        }
+        int[] bestTour = startingTour.clone();
+        random.shuffle(bestTour, 1, cityNumber);
+        long executionTime = 1L << 33 | runNumber;
+        int restarts = runNumber % 7;
+        SearchMetrics metrics = runNumber % 3 == 0 ? null : SearchMetrics.finished(1_000_000L * runNumber,
+                1000L * runNumber, executionTime, 10L * runNumber, runNumber, restarts);
+        return new RunRecord(runNumber, PackedTour.of(startingTour), 1000 + runNumber, PackedTour.of(bestTour),
+                500 + runNumber, executionTime, runNumber, restarts, schedule, neighbourhood, metrics, null);
+    }
+
+    /**
+     * {@code SearchMetrics} has no {@code equals}, and the latencies are not written, so records are compared
+     * field by field.
+     */
+    private static void assertSameRuns(List<RunRecord> expected, List<RunRecord> actual)
+    {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            RunRecord written = expected.get(i);
+            RunRecord read = actual.get(i);
+            String run = "run " + written.runNumber();
+            assertEquals(written.runNumber(), read.runNumber(), run);
+            assertArrayEquals(written.startingTour().toArray(), read.startingTour().toArray(), run);
+            assertEquals(written.startingCost(), read.startingCost(), run);
+            assertArrayEquals(written.bestTour().toArray(), read.bestTour().toArray(), run);
+            assertEquals(written.bestCost(), read.bestCost(), run);
+            assertEquals(written.executionTime(), read.executionTime(), run);
+            assertEquals(written.bestExecutionTime(), read.bestExecutionTime(), run);
+            assertEquals(written.restarts(), read.restarts(), run);
+            assertEquals(written.annealingSchedule(), read.annealingSchedule(), run);
+            assertEquals(written.neighbourhood(), read.neighbourhood(), run);
+            assertNull(read.trace(), run);
+            if (written.metrics() == null)
+            {
+                assertNull(read.metrics(), run);
+                continue;
+            }
+            assertEquals(written.metrics().getElapsedNanos(), read.metrics().getElapsedNanos(), run);
+            assertEquals(written.metrics().getTimeToBestNanos(), read.metrics().getTimeToBestNanos(), run);
+            assertEquals(written.metrics().getMovesEvaluated(), read.metrics().getMovesEvaluated(), run);
+            assertEquals(written.metrics().getMovesAccepted(), read.metrics().getMovesAccepted(), run);
+            assertEquals(written.metrics().getImprovements(), read.metrics().getImprovements(), run);
+            assertEquals(written.metrics().getRestarts(), read.metrics().getRestarts(), run);
+        }
+    }
+
+    @Test
+    void binaryRoundTripsEveryField() throws IOException
+    {
+        List<RunRecord> written = new ArrayList<>();
+        written.add(record(1, 5, null, null));
+        written.add(record(2, 1, "Geometric \"T0\" = 1.5, α = 0.99", ""));
+        written.add(record(3, 70000, null, "Or-opt, steepest"));
+        for (int run = 4; run <= 3 * ResultsWriter.MAX_BATCH; run++)
+        {
+            written.add(record(run, 2 + run % 40, run % 2 == 0 ? "Step" : null, "Swap"));
+        }
+        Path file = directory.resolve("runs.bin");
+        try (ResultsWriter writer = new ResultsWriter(file, RecordFormat.BINARY))
+        {
+            for (RunRecord record : written)
+            {
+                writer.write(record);
+            }
+        }
+        assertSameRuns(written, ResultsWriter.readBinary(file));
+    }
+
+    @Test
+    void appendingKeepsEarlierRecords() throws IOException
+    {
+        Path file = directory.resolve("runs.bin");
+        try (ResultsWriter writer = new ResultsWriter(file, RecordFormat.BINARY))
+        {
+            writer.write(record(1, 10, null, "Swap"));
+        }
+        try (ResultsWriter writer = new ResultsWriter(file, RecordFormat.BINARY))
+        {
+            writer.write(record(2, 10, "Step", null));
+        }
+        assertSameRuns(List.of(record(1, 10, null, "Swap"), record(2, 10, "Step", null)),
+                ResultsWriter.readBinary(file));
+    }
+
+    @Test
+    void csvWritesOneHeaderAndQuotesStrings() throws IOException
+    {
+        Path file = directory.resolve("runs.csv");
+        RunRecord first = new RunRecord(1, PackedTour.of(new int[] {0, 1, 2}), 30, PackedTour.of(new int[] {0, 2, 1}),
+                20, 9, 4, 2, null, "say \"swap\"", null, null);
+        RunRecord second = new RunRecord(2, PackedTour.of(new int[] {0, 1}), 10, PackedTour.of(new int[] {0, 1}), 10,
+                3000, 0, 0, "Step", null, SearchMetrics.finished(2_000_000, 500, 3000, 40, 1, 0), null);
+        try (ResultsWriter writer = new ResultsWriter(file, RecordFormat.CSV))
+        {
+            writer.write(first);
+        }
+        try (ResultsWriter writer = new ResultsWriter(file, RecordFormat.CSV))
+        {
+            writer.write(second);
+        }
+        String header = "run,startingCost,bestCost,executionTime,bestExecutionTime,restarts,"
+                + "annealingSchedule,neighbourhood,startingTour,bestTour,"
+                + "elapsedNanos,timeToBestNanos,movesAccepted,improvements,movesPerSecond";
+        assertEquals(List.of(header, "1,30,20,9,4,2,,\"say \"\"swap\"\"\",0 1 2,0 2 1,,,,,",
+                "2,10,10,3000,0,0,\"Step\",,0 1,0 1,2000000,500,40,1,1500000"), Files.readAllLines(file));
+    }
+
+    @Test
+    void jsonLinesEscapesStrings() throws IOException
+    {
+        Path file = directory.resolve("runs.jsonl");
+        try (ResultsWriter writer = new ResultsWriter(file, RecordFormat.JSON_LINES))
+        {
+            writer.write(new RunRecord(3, PackedTour.of(new int[] {1, 0}), 8, PackedTour.of(new int[] {0, 1}), 8, 5,
+                    0, 0, "a\\b\tc", null, null, null));
+            writer.write(new RunRecord(4, PackedTour.of(new int[] {0}), 0, PackedTour.of(new int[] {0}), 0, 7, 0, 0,
+                    null, "Swap", SearchMetrics.finished(1000, 0, 7, 7, 0, 0), null));
+        }
+        assertEquals(List.of("{\"run\":3,\"startingCost\":8,\"bestCost\":8,\"executionTime\":5,"
+                + "\"bestExecutionTime\":0,\"restarts\":0,\"annealingSchedule\":\"a\\\\b\\u0009c\","
+                + "\"neighbourhood\":null,\"startingTour\":[1,0],\"bestTour\":[0,1]}",
+                "{\"run\":4,\"startingCost\":0,\"bestCost\":0,\"executionTime\":7,\"bestExecutionTime\":0,"
+                + "\"restarts\":0,\"annealingSchedule\":null,\"neighbourhood\":\"Swap\",\"startingTour\":[0],"
+                + "\"bestTour\":[0],\"elapsedNanos\":1000,\"timeToBestNanos\":0,\"movesAccepted\":7,"
+                + "\"improvements\":0,\"movesPerSecond\":7000000}"), Files.readAllLines(file));
+    }
+
+    @Test
+    void recordsFromManyThreadsAreAllWritten() throws Exception
+    {
+        Path file = directory.resolve("runs.bin");
+        int threads = 4;
+        int perThread = 2000;
+        try (ResultsWriter writer = new ResultsWriter(file, RecordFormat.BINARY))
+        {
+            Thread[] writers = new Thread[threads];
+            for (int t = 0; t < threads; t++)
+            {
+                int first = t * perThread;
+                writers[t] = new Thread(() ->
+                {
+                    for (int run = first; run < first + perThread; run++)
+                    {
+                        writer.write(record(run, 8, null, null));
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread thread : writers)
+            {
+                thread.join();
+            }
+        }
+        List<RunRecord> read = ResultsWriter.readBinary(file);
+        assertEquals(threads * perThread, read.size());
+        int[] next = new int[threads];
+        for (int t = 0; t < threads; t++)
+        {
+            next[t] = t * perThread;
+        }
+        for (RunRecord record : read)
+        {
+            int t = record.runNumber() / perThread;
+            assertEquals(next[t]++, record.runNumber(), "each thread's records stay in order");
+        }
+    }
+
+    @Test
+    void resultsStreamEveryAddedRecord() throws IOException
+    {
+        Path file = directory.resolve("runs.bin");
+        Results results = new Results(true, new City(TestGraphs.random(6, 1), new SearchRandom(1)));
+        try (ResultsWriter writer = new ResultsWriter(file, RecordFormat.BINARY))
+        {
+            results.setWriter(writer);
+            for (int run = 1; run <= 5; run++)
+            {
+                results.addRecord(record(run, 6, null, "Swap"));
+            }
+        }
+        assertSameRuns(results.getRecords(), ResultsWriter.readBinary(file));
+    }
+
+    @Test
+    void rejectsWritesAfterClose() throws IOException
+    {
+        ResultsWriter writer = new ResultsWriter(directory.resolve("runs.bin"), RecordFormat.BINARY);
+        writer.close();
+        writer.close();
+        assertThrows(IllegalStateException.class, () -> writer.write(record(1, 4, null, null)));
+    }
+}
@@ -0,0 +1,91 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that a seeded {@code SearchRandom}, the streams split from it and the tours a {@code City} draws from
+ *      it repeat exactly for the same seed.
+ *
+ **/
+
+class SearchRandomTest
+{
+    private static long[] draw(SearchRandom random, int count)
+    {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++)
+        {
+            values[i] = random.nextLong() ^ random.nextInt(1000) ^ Double.doubleToLongBits(random.nextDouble());
+        }
+        return values;
+    }
+
+    @Test
+    void sameSeedGivesTheSameStream()
+    {
+        assertArrayEquals(draw(new SearchRandom(42), 100), draw(new SearchRandom(42), 100));
+        assertFalse(Arrays.equals(draw(new SearchRandom(42), 100), draw(new SearchRandom(43), 100)));
+    }
+
+    @Test
+    void splitsInTheSameOrderGiveTheSameStreams()
+    {
+        SearchRandom first = new SearchRandom(7);
+        SearchRandom second = new SearchRandom(7);
+        for (int i = 0; i < 4; i++)
+        {
+            assertArrayEquals(draw(first.split(), 20), draw(second.split(), 20), "split " + i);
+        }
+        assertArrayEquals(draw(first, 20), draw(second, 20));
+    }
+
+    @Test
+    void shuffleIsARepeatablePermutationOfTheRange()
+    {
+        int[] first = new int[50];
+        int[] second = new int[50];
+        for (int i = 0; i < 50; i++)
+        {
+            first[i] = i;
+            second[i] = i;
+        }
+        new SearchRandom(3).shuffle(first, 5, 45);
+        new SearchRandom(3).shuffle(second, 5, 45);
+        assertArrayEquals(first, second);
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals(i, first[i]);
+            assertEquals(45 + i, first[45 + i]);
+        }
+        int[] sorted = first.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < 50; i++)
+        {
+            assertEquals(i, sorted[i]);
+        }
+    }
+
+    @Test
+    void seededCitiesDrawTheSameTours()
+    {
+        CostGraph graph = TestGraphs.random(30, 1);
+        City first = new City(graph, new SearchRandom(11));
+        City second = new City(graph, new SearchRandom(11));
+        assertArrayEquals(first.getStartingTourArrangement(), second.getStartingTourArrangement());
+        for (int i = 0; i < 10; i++)
+        {
+            first.generateRandomRestartTour();
+            second.generateRandomRestartTour();
+            assertArrayEquals(first.getRestartedTourArrangement(), second.getRestartedTourArrangement());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that both {@code Solver}s stop within one check of their iteration budget, repeat the same solve for
+ *      the same seed, stop when cancelled from another thread, and call the progress listener no more often than
+ *      asked.
+ *
+ **/
+
+class SolverTest
+{
+    private static final long LIMIT = 50_000;
+
+    private static AnnealingSolver slowAnnealing(long seed)
+    {
+        AnnealingSolver solver = new AnnealingSolver(seed);
+        solver.setCoolingSchedules(() -> new GeometricCoolingSchedule(1000, 0.99, 1000, 0.001));
+        return solver;
+    }
+
+    private static void assertCostsWhatItSays(CostGraph graph, Solution solution)
+    {
+        assertNotNull(solution);
+        assertEquals(graph.calculateTourCost(solution.tour().toArray()), solution.cost());
+    }
+
+    @Test
+    void hillClimbingStopsWithinOneCheckOfItsBudget()
+    {
+        CostGraph graph = TestGraphs.random(40, 1);
+        HillClimbingSolver solver = new HillClimbingSolver(2);
+        Solution solution = solver.solve(graph, SearchBudget.unlimited().withIterationLimit(LIMIT));
+        assertCostsWhatItSays(graph, solution);
+        RunRecord run = solver.getRecorder().getRecords().get(0);
+        assertTrue(run.executionTime() >= LIMIT && run.executionTime() <= LIMIT + 4096, "ran " + run.executionTime());
+        assertEquals(run.bestCost(), solution.cost());
+        assertEquals(run.bestExecutionTime(), solution.iteration());
+        assertTrue(run.restarts() > 1);
+        assertEquals(solution, solver.getBestSoFar());
+    }
+
+    @Test
+    void annealingStopsAtTheFirstCheckPastItsBudget()
+    {
+        CostGraph graph = TestGraphs.random(40, 3);
+        AnnealingSolver solver = slowAnnealing(4);
+        Solution solution = solver.solve(graph, SearchBudget.unlimited().withIterationLimit(LIMIT));
+        assertCostsWhatItSays(graph, solution);
+        RunRecord run = solver.getRecorder().getRecords().get(0);
+        assertEquals((LIMIT + 255) / 256 * 256, run.executionTime());
+        assertEquals(run.bestCost(), solution.cost());
+        assertEquals(run.bestExecutionTime(), solution.iteration());
+    }
+
+    @Test
+    void sameSeedGivesTheSameSolution()
+    {
+        CostGraph graph = TestGraphs.random(30, 5);
+        SearchBudget budget = SearchBudget.unlimited().withIterationLimit(LIMIT);
+        Solution first = new HillClimbingSolver(6).solve(graph, budget);
+        Solution second = new HillClimbingSolver(6).solve(graph, budget);
+        assertArrayEquals(first.tour().toArray(), second.tour().toArray());
+        assertEquals(first.iteration(), second.iteration());
+
+        first = slowAnnealing(7).solve(graph, budget);
+        second = slowAnnealing(7).solve(graph, budget);
+        assertArrayEquals(first.tour().toArray(), second.tour().toArray());
+        assertEquals(first.iteration(), second.iteration());
+    }
+
+    @Test
+    void cancelStopsAnUnlimitedSolve() throws Exception
+    {
+        CostGraph graph = TestGraphs.random(60, 8);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            for (AbstractSolver solver : new AbstractSolver[] {new HillClimbingSolver(9), slowAnnealing(9)})
+            {
+                Future<Solution> solve = executor.submit(() -> solver.solve(graph, SearchBudget.unlimited()));
+                while (solver.getBestSoFar() == null)
+                {
+                    Thread.sleep(1);
+                }
+                assertCostsWhatItSays(graph, solver.getBestSoFar());
+                solver.cancel();
+                Solution solution = solve.get(30, TimeUnit.SECONDS);
+                assertTrue(solver.isCancelled());
+                assertCostsWhatItSays(graph, solution);
+                assertTrue(solution.cost() <= solver.getBestSoFar().cost());
+
+                solution = executor.submit(() -> solver.solve(graph, SearchBudget.unlimited()))
+                        .get(30, TimeUnit.SECONDS);
+                assertCostsWhatItSays(graph, solution);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void progressIsReportedAtMostOncePerInterval()
+    {
+        CostGraph graph = TestGraphs.random(40, 10);
+        List<long[]> calls = new ArrayList<>();
+        HillClimbingSolver solver = new HillClimbingSolver(11);
+        solver.setProgressListener((best, iterations, elapsedNanos) ->
+        {
+            assertCostsWhatItSays(graph, best);
+            calls.add(new long[] {iterations, elapsedNanos});
+        }, 20, TimeUnit.MILLISECONDS);
+        solver.solve(graph, SearchBudget.unlimited().withTimeLimit(200, TimeUnit.MILLISECONDS));
+        assertTrue(calls.size() >= 2 && calls.size() <= 11, calls.size() + " calls");
+        for (int i = 1; i < calls.size(); i++)
+        {
+            assertTrue(calls.get(i)[0] >= calls.get(i - 1)[0]);
+            assertTrue(calls.get(i)[1] - calls.get(i - 1)[1] >= TimeUnit.MILLISECONDS.toNanos(20));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Comparator;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks {@code SpatialGrid.nearest} against a brute-force sort of every other point, on uniform, clustered,
+ *      lattice, collinear and duplicated points, with and without a wind, and the {@code CandidateLists} and
+ *      nearest-neighbour tours of a {@code CoordinateCostMatrix}, which are built from the grid, against the same
+ *      brute force.
+ *
+ **/
+
+class SpatialGridTest
+{
+    private static final int POINTS = 400;
+
+    private static double[][] layouts(long seed)
+    {
+        SearchRandom random = new SearchRandom(seed);
+        double[][] layouts = new double[10][POINTS];
+        for (int i = 0; i < POINTS; i++)
+        {
+            layouts[0][i] = random.nextDouble() * 10_000;                  //uniform
+            layouts[1][i] = random.nextDouble() * 10_000;
+            int cluster = random.nextInt(5);                                //five tight clusters
+            layouts[2][i] = cluster * 20_000 + random.nextDouble() * 300;
+            layouts[3][i] = (cluster % 2) * 20_000 + random.nextDouble() * 300;
+            layouts[4][i] = (i % 20) * 50;                                  //a lattice, full of ties
+            layouts[5][i] = (i / 20) * 50;
+            layouts[6][i] = random.nextDouble() * 10_000;                   //a line
+            layouts[7][i] = 42;
+            layouts[8][i] = (i % 7) * 1000;                                 //seven points, many times over
+            layouts[9][i] = (i % 7) * 300;
+        }
+        return layouts;
+    }
+
+    private static void gridNearest(SpatialGrid grid, CoordinateCostMatrix matrix, int point, double minRatio,
+                                    IntPredicate include, int[] list, int[] costs)
+    {
+        grid.nearest(point, matrix::getCost, minRatio, include, list, costs);
+    }
+
+    private static int[] bruteForceNearest(CostMatrix matrix, int point, int k, boolean outgoing,
+                                           IntPredicate include)
+    {
+        Comparator<Integer> byCost = Comparator.comparingInt(other -> outgoing ? matrix.getCost(point, other)
+                : matrix.getCost(other, point));
+        return IntStream.range(0, matrix.getCityNumber()).filter(other -> other != point && include.test(other))
+                .boxed().sorted(byCost.thenComparingInt(other -> other)).limit(k).mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Test
+    void nearestMatchesBruteForce()
+    {
+        double[][] layouts = layouts(1);
+        for (int layout = 0; layout < layouts.length; layout += 2)
+        {
+            for (double asymmetry : new double[] {0, 0.4})
+            {
+                CoordinateCostMatrix matrix = new CoordinateCostMatrix(layouts[layout], layouts[layout + 1],
+                        asymmetry, 1.0);
+                SpatialGrid grid = new SpatialGrid(layouts[layout], layouts[layout + 1]);
+                for (int k : new int[] {1, 8, 40})
+                {
+                    for (int point = 0; point < POINTS; point += 13)
+                    {
+                        int[] list = new int[k];
+                        int[] costs = new int[k];
+                        gridNearest(grid, matrix, point, 1 - asymmetry, null, list, costs);
+                        String where = "layout " + layout / 2 + ", a " + asymmetry + ", k " + k + ", point " + point;
+                        assertArrayEquals(bruteForceNearest(matrix, point, k, true, other -> true), list, where);
+                        for (int rank = 0; rank < k; rank++)
+                        {
+                            assertEquals(matrix.getCost(point, list[rank]), costs[rank], where);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void nearestOnlyFindsIncludedPoints()
+    {
+        double[][] layouts = layouts(2);
+        CoordinateCostMatrix matrix = new CoordinateCostMatrix(layouts[0], layouts[1]);
+        SpatialGrid grid = new SpatialGrid(layouts[0], layouts[1]);
+        IntPredicate rare = other -> other % 97 == 5;
+        for (int point = 0; point < POINTS; point += 11)
+        {
+            int[] list = new int[3];
+            gridNearest(grid, matrix, point, 1, rare, list, new int[3]);
+            assertArrayEquals(bruteForceNearest(matrix, point, 3, true, rare), list, "point " + point);
+        }
+    }
+
+    @Test
+    void findsEveryPointWhenThereAreFewerThanAsked()
+    {
+        double[] x = {0, 10, 20, 30};
+        double[] y = {0, 0, 5, 5};
+        CoordinateCostMatrix matrix = new CoordinateCostMatrix(x, y);
+        int[] list = {-7, -7, -7, -7, -7, -7};
+        gridNearest(new SpatialGrid(x, y), matrix, 1, 1, null, list, new int[6]);
+        assertArrayEquals(new int[] {0, 2, 3, -7, -7, -7}, list);
+    }
+
+    @Test
+    void candidateListsOnCoordinatesMatchBruteForce()
+    {
+        double[][] layouts = layouts(3);
+        for (int layout = 0; layout < layouts.length; layout += 2)
+        {
+            CoordinateCostMatrix matrix = new CoordinateCostMatrix(layouts[layout], layouts[layout + 1], 0.3, 2.0);
+            CandidateLists lists = new CostGraph(matrix).getCandidateLists(6);
+            for (int city = 0; city < POINTS; city += 7)
+            {
+                int[] outgoing = bruteForceNearest(matrix, city, 6, true, other -> true);
+                int[] incoming = bruteForceNearest(matrix, city, 6, false, other -> true);
+                for (int rank = 0; rank < 6; rank++)
+                {
+                    String where = "layout " + layout / 2 + ", city " + city + ", rank " + rank;
+                    assertEquals(outgoing[rank], lists.outgoing(city, rank), "outgoing, " + where);
+                    assertEquals(incoming[rank], lists.incoming(city, rank), "incoming, " + where);
+                }
+            }
+        }
+    }
+
+    @Test
+    void nearestNeighbourToursOnCoordinatesTakeTheCheapestCity()
+    {
+        double[][] layouts = layouts(4);
+        for (int layout = 0; layout < layouts.length; layout += 2)
+        {
+            CostGraph graph = new CostGraph(new CoordinateCostMatrix(layouts[layout], layouts[layout + 1], 0.2, 0.5));
+            int[] tour = new int[POINTS];
+            new TourConstruction(graph).build(StartMode.NEAREST_NEIGHBOUR, new SearchRandom(layout), tour);
+            boolean[] visited = new boolean[POINTS];
+            visited[tour[0]] = true;
+            for (int i = 1; i < POINTS; i++)
+            {
+                int cheapest = Integer.MAX_VALUE;
+                for (int city = 0; city < POINTS; city++)
+                {
+                    if (!visited[city])
+                    {
+                        cheapest = Math.min(cheapest, graph.getCost(tour[i - 1], city));
+                    }
+                }
+                assertFalse(visited[tour[i]], "layout " + layout / 2 + ", position " + i + " revisits");
+                assertEquals(cheapest, graph.getCost(tour[i - 1], tour[i]), "layout " + layout / 2 + ", position " + i);
+                visited[tour[i]] = true;
+            }
+        }
+    }
+
+    @Test
+    void coordinateCostsAreRoundedDistancesAgainstTheWind()
+    {
+        CoordinateCostMatrix still = new CoordinateCostMatrix(new double[] {0, 3, 3}, new double[] {0, 4, 0});
+        assertEquals(5, still.getCost(0, 1));
+        assertEquals(5, still.getCost(1, 0));
+        assertEquals(-1, still.getCost(2, 2));
+        CoordinateCostMatrix windy = new CoordinateCostMatrix(new double[] {0, 100}, new double[] {0, 0}, 0.5, 0);
+        assertEquals(50, windy.getCost(0, 1));
+        assertEquals(150, windy.getCost(1, 0));
+        assertThrows(UnsupportedOperationException.class, () -> still.setCost(0, 1, 7));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CoordinateCostMatrix(new double[] {0}, new double[] {0}, 1, 0));
+    }
+}
@@ -0,0 +1,79 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that tabu search never reports a best tour worse than the one it started from, that the visited set
+ *      keeps it from going back to a tour it has seen even without a tabu list, and that a solver stops it part way
+ *      through a neighbourhood.
+ *
+ **/
+
+class TabuSearchTest
+{
+    @Test
+    void bestCostNeverExceedsTheStartingCost()
+    {
+        for (int n : new int[] {3, 5, 8, 13, 30})
+        {
+            for (long seed = 1; seed <= 3; seed++)
+            {
+                CostGraph graph = TestGraphs.random(n, seed);
+                City city = new City(graph, new SearchRandom(seed));
+                int startingCost = graph.calculateTourCost(city.getStartingTourArrangement());
+                TabuSearch search = new TabuSearch(city);
+                search.setConvergenceTrace(ConvergenceTrace.downsampling(256));
+                search.setBudget(SearchBudget.unlimited().withIterationLimit(20_000));
+                search.runTabuSearch();
+
+                String name = n + " cities, seed " + seed;
+                RunRecord run = search.getRecorder().getRecords().get(0);
+                assertEquals(startingCost, run.startingCost(), name);
+                assertTrue(run.bestCost() <= startingCost, name);
+                assertEquals(graph.calculateTourCost(run.bestTour().toArray()), run.bestCost(), name);
+                int previousBest = startingCost;
+                for (int i = 0; i < run.trace().size(); i++)
+                {
+                    int best = run.trace().getBestCost(i);
+                    assertTrue(best <= previousBest, name + ", sample " + i);
+                    assertTrue(run.trace().getCurrentCost(i) >= best, name + ", sample " + i);
+                    previousBest = best;
+                }
+            }
+        }
+    }
+
+    @Test
+    void skipsRevisitsWithoutATabuList()
+    {
+        CostGraph graph = TestGraphs.random(6, 4);
+        TabuSearch search = new TabuSearch(new City(graph, new SearchRandom(4)));
+        search.setTenure(0);
+        search.setBudget(SearchBudget.unlimited().withIterationLimit(1_000_000));
+        search.runTabuSearch();
+
+        RunRecord run = search.getRecorder().getRecords().get(0);
+        assertTrue(search.getRevisitsSkipped() > 0);
+        assertTrue(run.neighbourhood().endsWith(search.getRevisitsSkipped() + " revisits skipped"));
+        //only 5! tours start at city 0, and every accepted swap moves to one not seen before
+        assertTrue(run.metrics().getMovesAccepted() < 120, "accepted " + run.metrics().getMovesAccepted());
+        assertTrue(run.executionTime() < 1_000_000, "ran until the budget instead of running out of tours");
+    }
+
+    @Test
+    void solverStopsWithinANeighbourhood()
+    {
+        TabuSolver solver = new TabuSolver(6);
+        Solution solution = solver.solve(TestGraphs.random(300, 5), SearchBudget.unlimited().withIterationLimit(5000));
+        RunRecord run = solver.getRecorder().getRecords().get(0);
+        //a neighbourhood of 300 cities is 299 * 298 / 2 swaps, and the solver is asked every 4096 of them
+        assertEquals(8192, run.executionTime());
+        assertEquals(run.startingCost(), solution.cost());
+    }
+}
@@ -0,0 +1,36 @@
+package localsearching;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Seeded random cost graphs for the tests, with the costs and -1 diagonal of {@code CostGraph(int)} but the same
+ *      graph every time for the same seed.
+ *
+ **/
+
+final class TestGraphs
+{
+    private TestGraphs()
+    {
+    }
+
+    static CostGraph random(int cityNumber, long seed)
+    {
+        return random(cityNumber, seed, MatrixLayout.FLAT_INT);
+    }
+
+    static CostGraph random(int cityNumber, long seed, MatrixLayout layout)
+    {
+        SearchRandom random = new SearchRandom(seed);
+        CostMatrix costs = layout.create(cityNumber);
+        for (int from = 0; from < cityNumber; from++)
+        {
+            for (int to = 0; to < cityNumber; to++)
+            {
+                costs.setCost(from, to, from == to ? -1 : 100 + random.nextInt(2401));
+            }
+        }
+        return new CostGraph(costs);
+    }
+}
@@ -0,0 +1,154 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that every construction heuristic builds a permutation of the cities, on graphs both smaller and
+ *      larger than the candidate lists, that nearest neighbour matches a brute-force build, and that constructed
+ *      restart tours keep the starting city at index 0.
+ *
+ **/
+
+class TourConstructionTest
+{
+    private static final StartMode[] CONSTRUCTED = {StartMode.NEAREST_NEIGHBOUR, StartMode.GREEDY_EDGE,
+            StartMode.RANDOMIZED_NEAREST_NEIGHBOUR};
+
+    private static void assertPermutation(int[] tour, int cityNumber, String message)
+    {
+        assertEquals(cityNumber, tour.length, message);
+        int[] sorted = tour.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < cityNumber; i++)
+        {
+            assertEquals(i, sorted[i], message + ": not a permutation " + Arrays.toString(tour));
+        }
+    }
+
+    /**
+     * A graph whose off-diagonal costs are all different, so the nearest city is never a tie.
+     */
+    private static CostGraph distinctGraph(int cityNumber, long seed)
+    {
+        int[] order = new int[cityNumber * cityNumber];
+        for (int i = 0; i < order.length; i++)
+        {
+            order[i] = i;
+        }
+        new SearchRandom(seed).shuffle(order, 0, order.length);
+        FlatCostMatrix costs = new FlatCostMatrix(cityNumber);
+        for (int from = 0; from < cityNumber; from++)
+        {
+            for (int to = 0; to < cityNumber; to++)
+            {
+                costs.setCost(from, to, from == to ? -1 : 100 + order[from * cityNumber + to]);
+            }
+        }
+        return new CostGraph(costs);
+    }
+
+    @Test
+    void everyHeuristicBuildsAPermutation()
+    {
+        for (int n : new int[] {2, 3, 8, 11, 12, 60, 300})
+        {
+            CostGraph graph = TestGraphs.random(n, n);
+            TourConstruction construction = new TourConstruction(graph);
+            SearchRandom random = new SearchRandom(n);
+            for (StartMode mode : CONSTRUCTED)
+            {
+                for (int build = 0; build < 3; build++)
+                {
+                    int[] tour = new int[n];
+                    construction.build(mode, random, tour);
+                    assertPermutation(tour, n, mode + " on " + n + " cities");
+                }
+            }
+        }
+    }
+
+    @Test
+    void nearestNeighbourMatchesBruteForce()
+    {
+        for (int n : new int[] {9, 40, 150})
+        {
+            CostGraph graph = distinctGraph(n, n);
+            int[] tour = new int[n];
+            new TourConstruction(graph).build(StartMode.NEAREST_NEIGHBOUR, new SearchRandom(n), tour);
+
+            boolean[] visited = new boolean[n];
+            visited[tour[0]] = true;
+            for (int i = 1; i < n; i++)
+            {
+                int nearest = -1;
+                for (int city = 0; city < n; city++)
+                {
+                    if (!visited[city] && (nearest < 0 || graph.getCost(tour[i - 1], city)
+                            < graph.getCost(tour[i - 1], nearest)))
+                    {
+                        nearest = city;
+                    }
+                }
+                assertEquals(nearest, tour[i], n + " cities, position " + i);
+                visited[nearest] = true;
+            }
+        }
+    }
+
+    @Test
+    void greedyEdgeIsTheSameEveryTime()
+    {
+        CostGraph graph = TestGraphs.random(80, 1);
+        int[] first = new int[80];
+        int[] second = new int[80];
+        new TourConstruction(graph).build(StartMode.GREEDY_EDGE, new SearchRandom(1), first);
+        new TourConstruction(graph).build(StartMode.GREEDY_EDGE, new SearchRandom(2), second);
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void constructedRestartsKeepTheStartingCity()
+    {
+        CostGraph graph = TestGraphs.random(50, 2);
+        for (StartMode mode : StartMode.values())
+        {
+            City city = new City(graph, new SearchRandom(3), mode);
+            assertPermutation(city.getStartingTourArrangement(), 50, mode + " start");
+            int startCity = city.getStartingTourArrangement()[0];
+            city.setRestartMode(mode);
+            for (int restart = 0; restart < 5; restart++)
+            {
+                city.generateRandomRestartTour();
+                int[] tour = city.getRestartedTourArrangement();
+                assertPermutation(tour, 50, mode + " restart");
+                assertEquals(startCity, tour[0], mode + " restart");
+                assertEquals(graph.calculateTourCost(tour), city.getRestartedTourCost(), mode + " restart");
+            }
+        }
+    }
+
+    @Test
+    void rotationKeepsTheTourAndItsCost()
+    {
+        CostGraph graph = TestGraphs.random(20, 4);
+        int[] tour = new City(graph, new SearchRandom(5)).getStartingTourArrangement().clone();
+        int[] rotated = tour.clone();
+        TourConstruction.rotateToFront(rotated, tour[7]);
+        for (int i = 0; i < 20; i++)
+        {
+            assertEquals(tour[(i + 7) % 20], rotated[i]);
+        }
+        assertEquals(graph.calculateTourCost(tour), graph.calculateTourCost(rotated));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TourConstruction(graph).build(StartMode.RANDOM, new SearchRandom(1), new int[20]));
+    }
+}
@@ -0,0 +1,89 @@
+package localsearching;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *      Briana Collins brcollins@alaska.edu
+ *      Pamela Myers pamyers@alaska.edu
+ *
+ *      Checks that {@code VisitedTourSet} always keeps its most recent {@code capacity} hashes and evicts older
+ *      ones a generation at a time.
+ *
+ **/
+
+class VisitedTourSetTest
+{
+    private static final int CAPACITY = 100;
+
+    private static long hash(int i)
+    {
+        return i * 0x9E3779B97F4A7C15L;
+    }
+
+    @Test
+    void detectsRepeats()
+    {
+        VisitedTourSet visited = new VisitedTourSet(CAPACITY);
+        assertTrue(visited.add(hash(1)));
+        assertFalse(visited.add(hash(1)));
+        assertTrue(visited.contains(hash(1)));
+        assertFalse(visited.contains(hash(2)));
+        assertTrue(visited.add(0));
+        assertTrue(visited.contains(0), "hash 0 is stored like any other");
+    }
+
+    @Test
+    void keepsTheMostRecentCapacityHashes()
+    {
+        VisitedTourSet visited = new VisitedTourSet(CAPACITY);
+        for (int i = 0; i < 10 * CAPACITY; i++)
+        {
+            assertTrue(visited.add(hash(i)));
+            for (int back = 0; back < CAPACITY && back <= i; back++)
+            {
+                assertTrue(visited.contains(hash(i - back)), "hash " + (i - back) + " after adding " + i);
+            }
+        }
+    }
+
+    @Test
+    void evictsAGenerationAtATime()
+    {
+        VisitedTourSet visited = new VisitedTourSet(CAPACITY);
+        for (int i = 0; i < 2 * CAPACITY; i++)
+        {
+            visited.add(hash(i));
+        }
+        //the first generation is now the previous table and still held
+        assertTrue(visited.contains(hash(0)));
+        visited.add(hash(2 * CAPACITY));
+        //starting a third generation clears the first
+        for (int i = 0; i < CAPACITY; i++)
+        {
+            assertFalse(visited.contains(hash(i)), "hash " + i + " should have been evicted");
+        }
+        for (int i = CAPACITY; i <= 2 * CAPACITY; i++)
+        {
+            assertTrue(visited.contains(hash(i)));
+        }
+        assertTrue(visited.add(hash(0)), "an evicted hash can be added again");
+    }
+
+    @Test
+    void clearForgetsEverything()
+    {
+        VisitedTourSet visited = new VisitedTourSet(CAPACITY);
+        for (int i = 0; i < CAPACITY + 10; i++)
+        {
+            visited.add(hash(i));
+        }
+        visited.clear();
+        for (int i = 0; i < CAPACITY + 10; i++)
+        {
+            assertFalse(visited.contains(hash(i)));
+        }
+    }
+}